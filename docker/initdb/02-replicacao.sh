@@ -0,0 +1,5 @@
+#!/bin/sh
+set -e
+
+# Allow streaming replication for the optional read replica (docker compose --profile replica)
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
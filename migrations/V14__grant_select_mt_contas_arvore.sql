@@ -0,0 +1,8 @@
+-- Migration: V14__grant_select_mt_contas_arvore.sql
+-- Permite que a aplicação leia a árvore de contas materializada (V12) para
+-- consolidar saldos por SQL, em vez de percorrer as coleções das entidades.
+
+SET search_path = public;
+
+GRANT SELECT ON public.mt_contas_arvore TO core_contas_manage;
+GRANT SELECT ON public.mt_contas_arvore TO core_lancamentos_manage;
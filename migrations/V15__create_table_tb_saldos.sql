@@ -0,0 +1,146 @@
+-- V15: Saldos por conta e status (tb_saldos)
+-- Objetivo: manter, na mesma transação dos lançamentos, o saldo contábil consolidado
+-- de cada conta, para que a leitura de saldos seja O(1) por conta.
+-- Observações:
+-- - saldo segue a convenção contábil usada no backend: créditos - débitos.
+-- - Cada conta acumula os lançamentos próprios e os de todas as suas inferiores
+--   (ancestrais obtidos de mt_contas_arvore.ids_superiores).
+-- - quantidade conta apenas os lançamentos diretos da conta (usada para regras de edição/exclusão).
+-- - A tabela é escrita exclusivamente pelos gatilhos abaixo (SECURITY DEFINER); a aplicação só lê.
+
+SET search_path = public;
+
+CREATE TABLE IF NOT EXISTS public.tb_saldos (
+    id_conta integer NOT NULL,
+    status varchar(50) NOT NULL,
+    saldo numeric(18,2) NOT NULL DEFAULT 0,
+    quantidade bigint NOT NULL DEFAULT 0,
+
+    CONSTRAINT tb_saldos_pkey PRIMARY KEY (id_conta, status),
+    CONSTRAINT tb_saldos_conta_fk FOREIGN KEY (id_conta)
+        REFERENCES public.tb_contas (id) MATCH SIMPLE
+        ON UPDATE RESTRICT
+        ON DELETE CASCADE,
+    CONSTRAINT chk_tb_saldos_status_values CHECK (status IN ('PREVISTO','EFETIVO','CANCELADO'))
+);
+
+GRANT SELECT ON TABLE public.tb_saldos TO core_contas_manage;
+GRANT SELECT ON TABLE public.tb_saldos TO core_lancamentos_manage;
+
+-- Recalcula a tabela inteira a partir de tb_lancamentos (carga inicial e manutenção)
+CREATE OR REPLACE FUNCTION public.fn_recalcular_tb_saldos()
+RETURNS void
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    DELETE FROM public.tb_saldos;
+
+    INSERT INTO public.tb_saldos (id_conta, status, saldo, quantidade)
+    WITH movimentos AS (
+        SELECT l.id_conta_credito AS id_conta, l.status, l.valor
+          FROM public.tb_lancamentos l
+        UNION ALL
+        SELECT l.id_conta_debito AS id_conta, l.status, -l.valor
+          FROM public.tb_lancamentos l
+    ), por_conta AS (
+        SELECT m.id_conta, m.status, SUM(m.valor) AS saldo, COUNT(*) AS quantidade
+          FROM movimentos m
+         GROUP BY m.id_conta, m.status
+    )
+    SELECT x.id_conta,
+           p.status,
+           SUM(p.saldo),
+           COALESCE(SUM(p.quantidade) FILTER (WHERE x.id_conta = p.id_conta), 0)
+      FROM por_conta p
+      JOIN public.mt_contas_arvore a ON a.id = p.id_conta
+     CROSS JOIN LATERAL unnest(a.ids_superiores || a.id) AS x(id_conta)
+     GROUP BY x.id_conta, p.status;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_recalcular_tb_saldos() OWNER TO CURRENT_USER;
+
+-- Gatilho de linha: aplica o estorno da versão anterior (OLD) e a versão nova (NEW)
+-- do lançamento na conta e em todas as suas superiores.
+-- Cobre inserção, exclusão, troca de status (ex.: PREVISTO -> EFETIVO), troca de conta e de valor.
+CREATE OR REPLACE FUNCTION public.fn_tg_atualizar_tb_saldos()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_old boolean := TG_OP IN ('UPDATE', 'DELETE');
+    v_new boolean := TG_OP IN ('INSERT', 'UPDATE');
+BEGIN
+    -- Alterações que não afetam saldos (ex.: descrição, data) não tocam tb_saldos
+    IF TG_OP = 'UPDATE'
+       AND NEW.valor IS NOT DISTINCT FROM OLD.valor
+       AND NEW.status IS NOT DISTINCT FROM OLD.status
+       AND NEW.id_conta_credito IS NOT DISTINCT FROM OLD.id_conta_credito
+       AND NEW.id_conta_debito IS NOT DISTINCT FROM OLD.id_conta_debito THEN
+        RETURN NULL;
+    END IF;
+
+    -- Um único upsert agrupado por (conta, status): evita atualizar a mesma linha duas vezes
+    -- no mesmo comando e trava as linhas sempre na mesma ordem (reduz deadlocks).
+    INSERT INTO public.tb_saldos AS s (id_conta, status, saldo, quantidade)
+    SELECT x.id_conta,
+           d.status,
+           SUM(d.valor),
+           SUM(CASE WHEN x.id_conta = d.id_conta THEN d.quantidade ELSE 0 END)
+      FROM (
+            SELECT OLD.id_conta_credito, OLD.status, -OLD.valor, -1 WHERE v_old
+            UNION ALL
+            SELECT OLD.id_conta_debito, OLD.status, OLD.valor, -1 WHERE v_old
+            UNION ALL
+            SELECT NEW.id_conta_credito, NEW.status, NEW.valor, 1 WHERE v_new
+            UNION ALL
+            SELECT NEW.id_conta_debito, NEW.status, -NEW.valor, 1 WHERE v_new
+           ) AS d(id_conta, status, valor, quantidade)
+      JOIN public.mt_contas_arvore a ON a.id = d.id_conta
+     CROSS JOIN LATERAL unnest(a.ids_superiores || a.id) AS x(id_conta)
+     GROUP BY x.id_conta, d.status
+     ORDER BY x.id_conta, d.status
+    ON CONFLICT (id_conta, status) DO UPDATE
+       SET saldo = s.saldo + EXCLUDED.saldo,
+           quantidade = s.quantidade + EXCLUDED.quantidade;
+
+    RETURN NULL; -- AFTER triggers ignoram o retorno
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_atualizar_tb_saldos() OWNER TO CURRENT_USER;
+
+-- Gatilho comum (não deferido): o saldo fica correto já dentro da transação do lançamento
+DROP TRIGGER IF EXISTS tg_after_atualizar_tb_saldos ON public.tb_lancamentos;
+CREATE TRIGGER tg_after_atualizar_tb_saldos
+    AFTER INSERT OR UPDATE OR DELETE ON public.tb_lancamentos
+    FOR EACH ROW
+    EXECUTE FUNCTION public.fn_tg_atualizar_tb_saldos();
+
+-- TRUNCATE não dispara gatilhos de linha: zera os saldos junto
+CREATE OR REPLACE FUNCTION public.fn_tg_truncar_tb_saldos()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    DELETE FROM public.tb_saldos;
+    RETURN NULL;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_truncar_tb_saldos() OWNER TO CURRENT_USER;
+
+DROP TRIGGER IF EXISTS tg_after_truncar_tb_saldos ON public.tb_lancamentos;
+CREATE TRIGGER tg_after_truncar_tb_saldos
+    AFTER TRUNCATE ON public.tb_lancamentos
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_truncar_tb_saldos();
+
+-- Carga inicial
+SELECT public.fn_recalcular_tb_saldos();
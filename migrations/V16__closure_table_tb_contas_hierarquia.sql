@@ -0,0 +1,228 @@
+-- V16: Hierarquia de contas incremental (tabela de fechamento)
+-- Objetivo: substituir a materialized view mt_contas_arvore, reconstruída por inteiro a cada
+-- comando em tb_contas (inclusive edições de descrição), por uma tabela de fechamento
+-- (closure table) mantida linha a linha.
+-- Observações:
+-- - tb_contas_hierarquia guarda um par (superior, inferior) para cada ancestral de cada conta,
+--   incluindo a própria conta com profundidade 0.
+-- - id_superior e sequencia são imutáveis em tb_contas (V3): só a inserção gera linhas novas;
+--   a exclusão é propagada por ON DELETE CASCADE; atualizações não tocam a hierarquia.
+-- - Código e ordem no plano passam a ser derivados da hierarquia (sequências dos ancestrais).
+
+SET search_path = public;
+
+CREATE TABLE IF NOT EXISTS public.tb_contas_hierarquia (
+    id_superior integer NOT NULL,
+    id_inferior integer NOT NULL,
+    profundidade integer NOT NULL,
+
+    CONSTRAINT tb_contas_hierarquia_pkey PRIMARY KEY (id_superior, id_inferior),
+    CONSTRAINT tb_contas_hierarquia_superior_fk FOREIGN KEY (id_superior)
+        REFERENCES public.tb_contas (id) MATCH SIMPLE
+        ON UPDATE RESTRICT
+        ON DELETE CASCADE,
+    CONSTRAINT tb_contas_hierarquia_inferior_fk FOREIGN KEY (id_inferior)
+        REFERENCES public.tb_contas (id) MATCH SIMPLE
+        ON UPDATE RESTRICT
+        ON DELETE CASCADE,
+    CONSTRAINT chk_tb_contas_hierarquia_profundidade CHECK (profundidade >= 0)
+);
+
+-- Ancestrais de uma conta (rollups e montagem de código/caminho)
+CREATE INDEX IF NOT EXISTS ix_tb_contas_hierarquia_inferior
+    ON public.tb_contas_hierarquia (id_inferior, profundidade) INCLUDE (id_superior);
+
+GRANT SELECT ON TABLE public.tb_contas_hierarquia TO core_contas_manage;
+GRANT SELECT ON TABLE public.tb_contas_hierarquia TO core_lancamentos_manage;
+
+-- Carga inicial a partir da árvore atual
+INSERT INTO public.tb_contas_hierarquia (id_superior, id_inferior, profundidade)
+WITH RECURSIVE q AS (
+    SELECT c.id AS id_superior, c.id AS id_inferior, 0 AS profundidade
+      FROM public.tb_contas c
+    UNION ALL
+    SELECT q.id_superior, c.id, q.profundidade + 1
+      FROM q
+      JOIN public.tb_contas c ON c.id_superior = q.id_inferior
+)
+SELECT id_superior, id_inferior, profundidade FROM q
+ON CONFLICT ON CONSTRAINT tb_contas_hierarquia_pkey DO NOTHING;
+
+-- Inserção de conta: copia os ancestrais da superior (profundidade + 1) e adiciona a própria conta
+CREATE OR REPLACE FUNCTION public.fn_tg_inserir_tb_contas_hierarquia()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    INSERT INTO public.tb_contas_hierarquia (id_superior, id_inferior, profundidade)
+    SELECT NEW.id, NEW.id, 0
+    UNION ALL
+    SELECT h.id_superior, NEW.id, h.profundidade + 1
+      FROM public.tb_contas_hierarquia h
+     WHERE h.id_inferior = NEW.id_superior;
+
+    RETURN NULL; -- AFTER triggers ignoram o retorno
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_inserir_tb_contas_hierarquia() OWNER TO CURRENT_USER;
+
+DROP TRIGGER IF EXISTS tg_after_inserir_tb_contas_hierarquia ON public.tb_contas;
+CREATE TRIGGER tg_after_inserir_tb_contas_hierarquia
+    AFTER INSERT ON public.tb_contas
+    FOR EACH ROW
+    EXECUTE FUNCTION public.fn_tg_inserir_tb_contas_hierarquia();
+
+-- Remove a materialized view e o refresh completo por comando
+DROP TRIGGER IF EXISTS trg_refresh_mt_contas_arvore ON public.tb_contas;
+DROP FUNCTION IF EXISTS public.refresh_mt_contas_arvore();
+DROP VIEW IF EXISTS public.vw_movimento_diario;
+DROP VIEW IF EXISTS public.vw_contas_mapeamento;
+
+-- Saldos (V15): ancestrais passam a vir de tb_contas_hierarquia
+CREATE OR REPLACE FUNCTION public.fn_recalcular_tb_saldos()
+RETURNS void
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    DELETE FROM public.tb_saldos;
+
+    INSERT INTO public.tb_saldos (id_conta, status, saldo, quantidade)
+    WITH movimentos AS (
+        SELECT l.id_conta_credito AS id_conta, l.status, l.valor
+          FROM public.tb_lancamentos l
+        UNION ALL
+        SELECT l.id_conta_debito AS id_conta, l.status, -l.valor
+          FROM public.tb_lancamentos l
+    ), por_conta AS (
+        SELECT m.id_conta, m.status, SUM(m.valor) AS saldo, COUNT(*) AS quantidade
+          FROM movimentos m
+         GROUP BY m.id_conta, m.status
+    )
+    SELECT h.id_superior,
+           p.status,
+           SUM(p.saldo),
+           COALESCE(SUM(p.quantidade) FILTER (WHERE h.profundidade = 0), 0)
+      FROM por_conta p
+      JOIN public.tb_contas_hierarquia h ON h.id_inferior = p.id_conta
+     GROUP BY h.id_superior, p.status;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_recalcular_tb_saldos() OWNER TO CURRENT_USER;
+
+CREATE OR REPLACE FUNCTION public.fn_tg_atualizar_tb_saldos()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_old boolean := TG_OP IN ('UPDATE', 'DELETE');
+    v_new boolean := TG_OP IN ('INSERT', 'UPDATE');
+BEGIN
+    -- Alterações que não afetam saldos (ex.: descrição, data) não tocam tb_saldos
+    IF TG_OP = 'UPDATE'
+       AND NEW.valor IS NOT DISTINCT FROM OLD.valor
+       AND NEW.status IS NOT DISTINCT FROM OLD.status
+       AND NEW.id_conta_credito IS NOT DISTINCT FROM OLD.id_conta_credito
+       AND NEW.id_conta_debito IS NOT DISTINCT FROM OLD.id_conta_debito THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO public.tb_saldos AS s (id_conta, status, saldo, quantidade)
+    SELECT h.id_superior,
+           d.status,
+           SUM(d.valor),
+           SUM(CASE WHEN h.profundidade = 0 THEN d.quantidade ELSE 0 END)
+      FROM (
+            SELECT OLD.id_conta_credito, OLD.status, -OLD.valor, -1 WHERE v_old
+            UNION ALL
+            SELECT OLD.id_conta_debito, OLD.status, OLD.valor, -1 WHERE v_old
+            UNION ALL
+            SELECT NEW.id_conta_credito, NEW.status, NEW.valor, 1 WHERE v_new
+            UNION ALL
+            SELECT NEW.id_conta_debito, NEW.status, -NEW.valor, 1 WHERE v_new
+           ) AS d(id_conta, status, valor, quantidade)
+      JOIN public.tb_contas_hierarquia h ON h.id_inferior = d.id_conta
+     GROUP BY h.id_superior, d.status
+     ORDER BY h.id_superior, d.status
+    ON CONFLICT (id_conta, status) DO UPDATE
+       SET saldo = s.saldo + EXCLUDED.saldo,
+           quantidade = s.quantidade + EXCLUDED.quantidade;
+
+    RETURN NULL; -- AFTER triggers ignoram o retorno
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_atualizar_tb_saldos() OWNER TO CURRENT_USER;
+
+DROP MATERIALIZED VIEW IF EXISTS public.mt_contas_arvore;
+
+-- View de mapeamento entre contas sintéticas e analíticas
+CREATE VIEW public.vw_contas_mapeamento AS
+SELECT
+  h.id_superior AS id_conta_sintetica,
+  h.id_inferior AS id_conta_analitica
+FROM public.tb_contas_hierarquia h
+INNER JOIN public.tb_contas c ON c.id = h.id_inferior
+WHERE c.analitica
+  AND h.profundidade > 0;
+
+-- View de movimento diário (direto + indireto via hierarquia de contas)
+-- Sem ORDER BY: filtros por conta/data do chamador chegam até tb_lancamentos
+CREATE VIEW public.vw_movimento_diario AS
+WITH q AS (
+ SELECT tb_lancamentos.id_conta_credito AS id_conta,
+  tb_lancamentos.data_competencia,
+  tb_lancamentos.status,
+  tb_lancamentos.valor AS credito,
+  0::numeric(14,2) AS debito
+ FROM tb_lancamentos
+ UNION ALL
+ SELECT tb_lancamentos.id_conta_debito AS id_conta,
+  tb_lancamentos.data_competencia,
+  tb_lancamentos.status,
+  0::numeric(14,2) AS credito,
+  tb_lancamentos.valor AS debito
+ FROM tb_lancamentos
+),
+movimento_diario_direto AS (
+ SELECT id_conta,
+   status,
+   data_competencia,
+   sum(credito) AS credito,
+   sum(debito) AS debito
+  FROM q
+ GROUP BY id_conta, status, data_competencia
+),
+movimento_diario_indireto AS (
+ SELECT
+   h.id_superior AS id_conta,
+   m.status,
+   m.data_competencia,
+   SUM(m.credito) AS credito,
+   SUM(m.debito) AS debito
+ FROM movimento_diario_direto m
+ JOIN public.tb_contas_hierarquia h
+   ON h.id_inferior = m.id_conta
+  AND h.profundidade > 0
+ GROUP BY
+   h.id_superior,
+   m.status,
+   m.data_competencia
+)
+SELECT
+ id_conta, status, data_competencia, credito, debito
+FROM movimento_diario_direto
+UNION ALL
+SELECT
+ id_conta, status, data_competencia, credito, debito
+FROM movimento_diario_indireto;
+
+GRANT SELECT ON public.vw_contas_mapeamento TO core_contas_manage;
+GRANT SELECT ON public.vw_movimento_diario TO core_lancamentos_manage;
@@ -0,0 +1,226 @@
+-- V17: Saldos de fechamento mensal (tb_saldos_mensais)
+-- Objetivo: permitir que extratos e saldos de abertura partam do fechamento mais próximo em vez
+-- de repassar todo o histórico da conta.
+-- Observações:
+-- - saldo é o saldo contábil (créditos - débitos) acumulado até a competência (inclusive),
+--   por status, consolidando a conta e todas as suas inferiores (tb_contas_hierarquia).
+-- - competencia é sempre o último dia do mês. Só há linhas para meses fechados em que a conta
+--   teve movimento; meses sem movimento não precisam de ponto de controle.
+-- - Lançamentos retroativos ajustam os fechamentos já gravados a partir da sua data (gatilho);
+--   fn_gerar_saldos_mensais() grava os meses fechados ainda ausentes (agendado pela aplicação).
+-- - fn_saldo_anterior(conta, status, data) = fechamento anterior à data + movimento desde então.
+
+SET search_path = public;
+
+CREATE TABLE IF NOT EXISTS public.tb_saldos_mensais (
+    id_conta integer NOT NULL,
+    status varchar(50) NOT NULL,
+    competencia date NOT NULL,
+    saldo numeric(18,2) NOT NULL,
+
+    CONSTRAINT tb_saldos_mensais_pkey PRIMARY KEY (id_conta, status, competencia),
+    CONSTRAINT tb_saldos_mensais_conta_fk FOREIGN KEY (id_conta)
+        REFERENCES public.tb_contas (id) MATCH SIMPLE
+        ON UPDATE RESTRICT
+        ON DELETE CASCADE,
+    CONSTRAINT chk_tb_saldos_mensais_status_values CHECK (status IN ('PREVISTO','EFETIVO','CANCELADO')),
+    CONSTRAINT chk_tb_saldos_mensais_fim_mes CHECK (competencia = (date_trunc('month', competencia) + interval '1 month - 1 day')::date)
+);
+
+GRANT SELECT ON TABLE public.tb_saldos_mensais TO core_contas_manage;
+GRANT SELECT ON TABLE public.tb_saldos_mensais TO core_lancamentos_manage;
+
+-- Índices de cobertura para somar o movimento de uma conta/status em um intervalo de datas
+CREATE INDEX IF NOT EXISTS ix_tb_lancamentos_credito_status_data
+    ON public.tb_lancamentos (id_conta_credito, status, data_competencia, id) INCLUDE (valor);
+CREATE INDEX IF NOT EXISTS ix_tb_lancamentos_debito_status_data
+    ON public.tb_lancamentos (id_conta_debito, status, data_competencia, id) INCLUDE (valor);
+
+-- Grava os fechamentos dos meses já encerrados posteriores ao último fechamento de cada conta/status
+CREATE OR REPLACE FUNCTION public.fn_gerar_saldos_mensais()
+RETURNS integer
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_limite date := (date_trunc('month', current_date) - interval '1 day')::date;
+    v_linhas integer;
+BEGIN
+    -- Bloqueia escritas concorrentes (o gatilho de ajuste usa ROW EXCLUSIVE) para que os
+    -- fechamentos gravados aqui não percam lançamentos confirmados durante o cálculo
+    LOCK TABLE public.tb_saldos_mensais IN SHARE ROW EXCLUSIVE MODE;
+
+    INSERT INTO public.tb_saldos_mensais (id_conta, status, competencia, saldo)
+    WITH ultimo AS (
+        SELECT DISTINCT ON (sm.id_conta, sm.status) sm.id_conta, sm.status, sm.competencia, sm.saldo
+          FROM public.tb_saldos_mensais sm
+         ORDER BY sm.id_conta, sm.status, sm.competencia DESC
+    ), movimentos AS (
+        SELECT l.id_conta_credito AS id_conta, l.status, l.data_competencia, l.valor
+          FROM public.tb_lancamentos l
+         WHERE l.data_competencia <= v_limite
+        UNION ALL
+        SELECT l.id_conta_debito AS id_conta, l.status, l.data_competencia, -l.valor
+          FROM public.tb_lancamentos l
+         WHERE l.data_competencia <= v_limite
+    ), mensal AS (
+        SELECT h.id_superior AS id_conta,
+               m.status,
+               (date_trunc('month', m.data_competencia) + interval '1 month - 1 day')::date AS competencia,
+               SUM(m.valor) AS valor
+          FROM movimentos m
+          JOIN public.tb_contas_hierarquia h ON h.id_inferior = m.id_conta
+          LEFT JOIN ultimo u ON u.id_conta = h.id_superior AND u.status = m.status
+         WHERE u.competencia IS NULL OR m.data_competencia > u.competencia
+         GROUP BY 1, 2, 3
+    )
+    SELECT ms.id_conta,
+           ms.status,
+           ms.competencia,
+           COALESCE(u.saldo, 0)
+             + SUM(ms.valor) OVER (PARTITION BY ms.id_conta, ms.status ORDER BY ms.competencia)
+      FROM mensal ms
+      LEFT JOIN ultimo u ON u.id_conta = ms.id_conta AND u.status = ms.status
+    ON CONFLICT ON CONSTRAINT tb_saldos_mensais_pkey DO NOTHING;
+
+    GET DIAGNOSTICS v_linhas = ROW_COUNT;
+    RETURN v_linhas;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_gerar_saldos_mensais() OWNER TO CURRENT_USER;
+
+-- Gatilho de linha: ajusta os fechamentos existentes a partir da data do lançamento
+-- (estorno de OLD e aplicação de NEW), na conta e em todas as suas superiores
+CREATE OR REPLACE FUNCTION public.fn_tg_atualizar_tb_saldos_mensais()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_old boolean := TG_OP IN ('UPDATE', 'DELETE');
+    v_new boolean := TG_OP IN ('INSERT', 'UPDATE');
+BEGIN
+    IF TG_OP = 'UPDATE'
+       AND NEW.valor IS NOT DISTINCT FROM OLD.valor
+       AND NEW.status IS NOT DISTINCT FROM OLD.status
+       AND NEW.data_competencia IS NOT DISTINCT FROM OLD.data_competencia
+       AND NEW.id_conta_credito IS NOT DISTINCT FROM OLD.id_conta_credito
+       AND NEW.id_conta_debito IS NOT DISTINCT FROM OLD.id_conta_debito THEN
+        RETURN NULL;
+    END IF;
+
+    -- Agrupa por fechamento: o mesmo fechamento pode receber mais de um ajuste
+    WITH ajustes AS (
+        SELECT sm.id_conta, sm.status, sm.competencia, SUM(d.valor) AS valor
+          FROM (
+                SELECT OLD.id_conta_credito, OLD.status, OLD.data_competencia, -OLD.valor WHERE v_old
+                UNION ALL
+                SELECT OLD.id_conta_debito, OLD.status, OLD.data_competencia, OLD.valor WHERE v_old
+                UNION ALL
+                SELECT NEW.id_conta_credito, NEW.status, NEW.data_competencia, NEW.valor WHERE v_new
+                UNION ALL
+                SELECT NEW.id_conta_debito, NEW.status, NEW.data_competencia, -NEW.valor WHERE v_new
+               ) AS d(id_conta, status, data_competencia, valor)
+          JOIN public.tb_contas_hierarquia h ON h.id_inferior = d.id_conta
+          JOIN public.tb_saldos_mensais sm
+            ON sm.id_conta = h.id_superior
+           AND sm.status = d.status
+           AND sm.competencia >= d.data_competencia
+         GROUP BY sm.id_conta, sm.status, sm.competencia
+    )
+    UPDATE public.tb_saldos_mensais sm
+       SET saldo = sm.saldo + a.valor
+      FROM ajustes a
+     WHERE sm.id_conta = a.id_conta
+       AND sm.status = a.status
+       AND sm.competencia = a.competencia
+       AND a.valor <> 0;
+
+    RETURN NULL; -- AFTER triggers ignoram o retorno
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_atualizar_tb_saldos_mensais() OWNER TO CURRENT_USER;
+
+DROP TRIGGER IF EXISTS tg_after_atualizar_tb_saldos_mensais ON public.tb_lancamentos;
+CREATE TRIGGER tg_after_atualizar_tb_saldos_mensais
+    AFTER INSERT OR UPDATE OR DELETE ON public.tb_lancamentos
+    FOR EACH ROW
+    EXECUTE FUNCTION public.fn_tg_atualizar_tb_saldos_mensais();
+
+-- TRUNCATE de lançamentos invalida todos os fechamentos
+CREATE OR REPLACE FUNCTION public.fn_tg_truncar_tb_saldos_mensais()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    DELETE FROM public.tb_saldos_mensais;
+    RETURN NULL;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_truncar_tb_saldos_mensais() OWNER TO CURRENT_USER;
+
+DROP TRIGGER IF EXISTS tg_after_truncar_tb_saldos_mensais ON public.tb_lancamentos;
+CREATE TRIGGER tg_after_truncar_tb_saldos_mensais
+    AFTER TRUNCATE ON public.tb_lancamentos
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_truncar_tb_saldos_mensais();
+
+-- Saldo contábil de uma conta (com inferiores) para um status, considerando os lançamentos
+-- com data de competência anterior a p_data
+CREATE OR REPLACE FUNCTION public.fn_saldo_anterior(p_id_conta integer, p_status varchar, p_data date)
+RETURNS numeric
+LANGUAGE plpgsql
+STABLE
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_competencia date;
+    v_saldo numeric;
+    v_movimento numeric;
+BEGIN
+    SELECT sm.competencia, sm.saldo
+      INTO v_competencia, v_saldo
+      FROM public.tb_saldos_mensais sm
+     WHERE sm.id_conta = p_id_conta
+       AND sm.status = p_status
+       AND sm.competencia < p_data
+     ORDER BY sm.competencia DESC
+     LIMIT 1;
+
+    -- Sem fechamento anterior: soma desde o início
+    v_competencia := COALESCE(v_competencia, '-infinity'::date);
+    v_saldo := COALESCE(v_saldo, 0);
+
+    SELECT COALESCE(SUM(m.valor), 0)
+      INTO v_movimento
+      FROM (
+            SELECT l.valor
+              FROM public.tb_contas_hierarquia h
+              JOIN public.tb_lancamentos l ON l.id_conta_credito = h.id_inferior
+             WHERE h.id_superior = p_id_conta
+               AND l.status = p_status
+               AND l.data_competencia > v_competencia
+               AND l.data_competencia < p_data
+            UNION ALL
+            SELECT -l.valor
+              FROM public.tb_contas_hierarquia h
+              JOIN public.tb_lancamentos l ON l.id_conta_debito = h.id_inferior
+             WHERE h.id_superior = p_id_conta
+               AND l.status = p_status
+               AND l.data_competencia > v_competencia
+               AND l.data_competencia < p_data
+           ) m;
+
+    RETURN v_saldo + v_movimento;
+END
+$BODY$;
+
+-- Carga inicial
+SELECT public.fn_gerar_saldos_mensais();
@@ -0,0 +1,45 @@
+-- V18: Movimento diário consultável por conta/intervalo (vw_movimento_diario)
+-- Objetivo: permitir o extrato diário de contas sintéticas sem agregar o livro inteiro.
+-- Observações:
+-- - A versão anterior agregava todos os lançamentos em um CTE usado duas vezes (direto e
+--   indireto), que o planejador materializa antes de aplicar o filtro por conta.
+-- - Agora a view parte de tb_contas_hierarquia (inclusive profundidade 0, a própria conta) e
+--   agrupa por (conta, status, data). Filtros em id_conta, status e data_competencia são colunas
+--   de agrupamento e chegam até tb_lancamentos: as inferiores saem da PK da hierarquia e os
+--   lançamentos dos índices (conta, status, data) da V17, sem ler o restante do livro.
+-- - Mesmas colunas e mesmo resultado da versão anterior (direto + indireto somados por dia).
+
+SET search_path = public;
+
+DROP VIEW IF EXISTS public.vw_movimento_diario;
+
+CREATE VIEW public.vw_movimento_diario AS
+SELECT
+  h.id_superior AS id_conta,
+  m.status,
+  m.data_competencia,
+  SUM(m.credito) AS credito,
+  SUM(m.debito) AS debito
+FROM public.tb_contas_hierarquia h
+JOIN (
+  SELECT l.id_conta_credito AS id_conta,
+    l.status,
+    l.data_competencia,
+    l.valor AS credito,
+    0::numeric(14,2) AS debito
+  FROM public.tb_lancamentos l
+  UNION ALL
+  SELECT l.id_conta_debito AS id_conta,
+    l.status,
+    l.data_competencia,
+    0::numeric(14,2) AS credito,
+    l.valor AS debito
+  FROM public.tb_lancamentos l
+) m ON m.id_conta = h.id_inferior
+GROUP BY
+  h.id_superior,
+  m.status,
+  m.data_competencia;
+
+GRANT SELECT ON public.vw_movimento_diario TO core_lancamentos_manage;
+GRANT SELECT ON public.vw_movimento_diario TO core_contas_manage;
@@ -0,0 +1,10 @@
+-- V19: Sequência de lançamentos reservada em blocos
+-- Objetivo: permitir que a aplicação reserve 50 ids por chamada à sequência (otimizador
+-- pooled do Hibernate), habilitando inserções em lote (JDBC batch) na importação de extratos.
+-- Observações:
+-- - O incremento precisa ser igual ao allocationSize de Lancamento.id.
+-- - Cada nextval é o limite superior do bloco reservado pela aplicação; inserções feitas
+--   direto no banco (DEFAULT nextval) consomem um bloco inteiro e não colidem com os ids
+--   já reservados. Os ids deixam de ser contíguos, mas continuam crescentes por bloco.
+
+ALTER SEQUENCE public.tb_lancamentos_id_seq INCREMENT BY 50;
@@ -0,0 +1,10 @@
+-- V20: Índice de tb_lancamentos por (data_competencia, id)
+-- Objetivo: permitir que a exportação do livro percorra os lançamentos na ordem cronológica
+-- direto pelo índice, entregando as primeiras linhas sem ordenar a tabela inteira.
+-- Observações:
+-- - A exportação lê por cursor (fetch size limitado); com cursor o planejador favorece planos
+--   de início rápido (cursor_tuple_fraction), que usam este índice.
+-- - Filtros por intervalo de datas também passam a usar o índice.
+
+CREATE INDEX IF NOT EXISTS ix_tb_lancamentos_data_id
+    ON public.tb_lancamentos (data_competencia, id);
@@ -0,0 +1,62 @@
+-- V21: Marcas de alteração para ETag da API
+-- Objetivo: permitir que a API responda 304 (Not Modified) com uma única consulta indexada,
+-- sem recalcular saldos nem serializar o conteúdo.
+-- Observações:
+-- - A marca de cada tabela é o maior updated_at (inserções e edições) ou o momento da última
+--   exclusão, o que for maior. max(updated_at) é resolvido pelos índices abaixo.
+-- - Exclusões não deixam updated_at para trás: um gatilho de comando (FOR EACH STATEMENT)
+--   registra o horário em tb_marcas_exclusao, escrita apenas pelo gatilho (SECURITY DEFINER).
+-- - updated_at usa o horário de início da transação (now()); a marca é um indicador de
+--   mudança, não uma ordem de commit.
+
+SET search_path = public;
+
+CREATE INDEX IF NOT EXISTS ix_tb_contas_updated_at
+    ON public.tb_contas (updated_at);
+CREATE INDEX IF NOT EXISTS ix_tb_lancamentos_updated_at
+    ON public.tb_lancamentos (updated_at);
+
+CREATE TABLE IF NOT EXISTS public.tb_marcas_exclusao (
+    tabela varchar(63) NOT NULL,
+    excluido_em timestamptz NOT NULL DEFAULT now(),
+
+    CONSTRAINT tb_marcas_exclusao_pkey PRIMARY KEY (tabela)
+);
+
+INSERT INTO public.tb_marcas_exclusao (tabela)
+VALUES ('tb_contas'), ('tb_lancamentos')
+ON CONFLICT (tabela) DO NOTHING;
+
+GRANT SELECT ON TABLE public.tb_marcas_exclusao TO core_contas_manage;
+GRANT SELECT ON TABLE public.tb_marcas_exclusao TO core_lancamentos_manage;
+
+-- Gatilho de comando: uma atualização por DELETE, independente da quantidade de linhas
+CREATE OR REPLACE FUNCTION public.fn_tg_marcar_exclusao()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    UPDATE public.tb_marcas_exclusao
+       SET excluido_em = GREATEST(excluido_em, clock_timestamp())
+     WHERE tabela = TG_TABLE_NAME;
+    RETURN NULL;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_marcar_exclusao() OWNER TO CURRENT_USER;
+
+DROP TRIGGER IF EXISTS tg_after_delete_marcar_exclusao ON public.tb_contas;
+CREATE TRIGGER tg_after_delete_marcar_exclusao
+    AFTER DELETE
+    ON public.tb_contas
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_marcar_exclusao();
+
+DROP TRIGGER IF EXISTS tg_after_delete_marcar_exclusao ON public.tb_lancamentos;
+CREATE TRIGGER tg_after_delete_marcar_exclusao
+    AFTER DELETE
+    ON public.tb_lancamentos
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_marcar_exclusao();
@@ -0,0 +1,248 @@
+-- V22: Lançamentos recorrentes (tb_recorrencias)
+-- Objetivo: guardar regras de recorrência e materializar os lançamentos PREVISTO futuros em lote,
+-- até um horizonte informado pela aplicação, em vez de um lançamento manual por ocorrência.
+-- Observações:
+-- - frequencia/dia:
+--   * MENSAL: dia do mês (1-31); em meses mais curtos, o último dia do mês.
+--   * SEMANAL: dia da semana ISO (1 = segunda ... 7 = domingo).
+--   * DIA_UTIL: n-ésimo dia útil do mês (1-23), de segunda a sexta, sem considerar feriados.
+--   intervalo repete a cada N meses/semanas. O fim é data_fim, quantidade de ocorrências, ambos ou nenhum.
+-- - Cada ocorrência é numerada a partir de data_inicio (1, 2, ...) e gravada em
+--   tb_lancamentos.ocorrencia; o índice único (id_recorrencia, ocorrencia) torna a geração
+--   idempotente (ON CONFLICT DO NOTHING), mesmo com execuções concorrentes.
+-- - gerado_ate é a marca d'água da regra: a geração diária só calcula datas posteriores a ela.
+-- - fn_gerar_lancamentos_recorrentes(horizonte, regra) é um único INSERT ... SELECT para todas as
+--   regras; regras cujas contas não podem receber o lançamento (inativas, sintéticas ou sem
+--   aceitar o movimento oposto) são puladas sem avançar a marca, em vez de abortar o lote.
+-- - fn_regerar_lancamentos_recorrentes(regra, horizonte), após alterar uma regra: remove os
+--   PREVISTO futuros gerados por ela (os confirmados, cancelados e passados ficam) e gera de novo.
+-- - Os ids vêm do DEFAULT de tb_lancamentos.id: com INCREMENT 50 (V19) cada nextval no banco
+--   reserva um bloco de 50 para o pool do Hibernate; as lacunas são esperadas.
+
+SET search_path = public;
+
+CREATE TABLE IF NOT EXISTS public.tb_recorrencias (
+
+    id serial NOT NULL,
+    descricao text NOT NULL,
+    valor numeric(14,2) NOT NULL,
+
+    id_conta_credito integer NOT NULL,
+    id_conta_debito integer NOT NULL,
+
+    frequencia varchar(20) NOT NULL,
+    intervalo integer NOT NULL DEFAULT 1,
+    dia integer NOT NULL,
+    data_inicio date NOT NULL,
+    data_fim date,
+    quantidade integer,
+
+    ativa boolean NOT NULL DEFAULT true,
+    gerado_ate date,
+
+    created_at timestamptz NOT NULL DEFAULT NOW(),
+    updated_at timestamptz NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT tb_recorrencias_pkey PRIMARY KEY (id),
+    CONSTRAINT tb_recorrencias_descricao_check CHECK (descricao <> ''::text),
+    CONSTRAINT tb_recorrencias_valor_check CHECK (valor > 0),
+    CONSTRAINT tb_recorrencias_contas_distintas CHECK (id_conta_credito <> id_conta_debito),
+    CONSTRAINT chk_tb_recorrencias_frequencia_values CHECK (frequencia IN ('MENSAL','SEMANAL','DIA_UTIL')),
+    CONSTRAINT chk_tb_recorrencias_intervalo CHECK (intervalo >= 1),
+    CONSTRAINT chk_tb_recorrencias_dia CHECK (
+        (frequencia = 'MENSAL' AND dia BETWEEN 1 AND 31)
+        OR (frequencia = 'SEMANAL' AND dia BETWEEN 1 AND 7)
+        OR (frequencia = 'DIA_UTIL' AND dia BETWEEN 1 AND 23)),
+    CONSTRAINT chk_tb_recorrencias_data_fim CHECK (data_fim IS NULL OR data_fim >= data_inicio),
+    CONSTRAINT chk_tb_recorrencias_quantidade CHECK (quantidade IS NULL OR quantidade >= 1),
+    CONSTRAINT tb_recorrencias_conta_credito_fk FOREIGN KEY (id_conta_credito)
+        REFERENCES public.tb_contas (id) MATCH SIMPLE
+        ON UPDATE RESTRICT
+        ON DELETE RESTRICT,
+    CONSTRAINT tb_recorrencias_conta_debito_fk FOREIGN KEY (id_conta_debito)
+        REFERENCES public.tb_contas (id) MATCH SIMPLE
+        ON UPDATE RESTRICT
+        ON DELETE RESTRICT
+);
+
+CREATE INDEX IF NOT EXISTS ix_tb_recorrencias_conta_credito ON public.tb_recorrencias (id_conta_credito);
+CREATE INDEX IF NOT EXISTS ix_tb_recorrencias_conta_debito  ON public.tb_recorrencias (id_conta_debito);
+
+DROP TRIGGER IF EXISTS tg_before_update_audit ON public.tb_recorrencias;
+
+CREATE TRIGGER tg_before_update_audit
+    BEFORE UPDATE
+    ON public.tb_recorrencias
+    FOR EACH ROW
+    EXECUTE FUNCTION public.fn_tg_update_audit();
+
+GRANT SELECT, INSERT, UPDATE, DELETE
+    ON TABLE public.tb_recorrencias
+    TO core_lancamentos_manage;
+
+GRANT SELECT, USAGE
+    ON SEQUENCE public.tb_recorrencias_id_seq
+    TO core_lancamentos_manage;
+
+GRANT SELECT ON TABLE public.tb_recorrencias TO core_contas_manage;
+
+-- Origem dos lançamentos gerados. RESTRICT: uma regra com histórico é encerrada (ativa = false),
+-- não excluída; SET NULL atualizaria lançamentos de contas inativas, bloqueados por V8
+ALTER TABLE public.tb_lancamentos
+    ADD COLUMN IF NOT EXISTS id_recorrencia integer,
+    ADD COLUMN IF NOT EXISTS ocorrencia integer;
+
+ALTER TABLE public.tb_lancamentos
+    DROP CONSTRAINT IF EXISTS tb_lancamentos_recorrencia_fk;
+ALTER TABLE public.tb_lancamentos
+    ADD CONSTRAINT tb_lancamentos_recorrencia_fk FOREIGN KEY (id_recorrencia)
+        REFERENCES public.tb_recorrencias (id) MATCH SIMPLE
+        ON UPDATE RESTRICT
+        ON DELETE RESTRICT;
+
+ALTER TABLE public.tb_lancamentos
+    DROP CONSTRAINT IF EXISTS chk_tb_lancamentos_ocorrencia;
+ALTER TABLE public.tb_lancamentos
+    ADD CONSTRAINT chk_tb_lancamentos_ocorrencia CHECK ((id_recorrencia IS NULL) = (ocorrencia IS NULL));
+
+-- Uma linha por ocorrência: chave da idempotência e acesso aos lançamentos de uma regra
+CREATE UNIQUE INDEX IF NOT EXISTS ux_tb_lancamentos_recorrencia_ocorrencia
+    ON public.tb_lancamentos (id_recorrencia, ocorrencia)
+    WHERE id_recorrencia IS NOT NULL;
+
+-- Datas da regra entre p_inicio e p_ate (inclusive), numeradas a partir de p_inicio
+CREATE OR REPLACE FUNCTION public.fn_datas_recorrencia(
+    p_frequencia varchar,
+    p_intervalo integer,
+    p_dia integer,
+    p_inicio date,
+    p_ate date)
+RETURNS TABLE (ocorrencia integer, data date)
+LANGUAGE sql
+IMMUTABLE
+SET search_path = pg_catalog, public
+AS $BODY$
+    SELECT CAST(row_number() OVER (ORDER BY x.data) AS integer), x.data
+      FROM (
+            -- MENSAL: o dia pedido ou o último dia do mês, o que vier antes
+            SELECT LEAST(m.mes::date + (p_dia - 1),
+                         (m.mes + interval '1 month - 1 day')::date) AS data
+              FROM generate_series(date_trunc('month', p_inicio::timestamp), p_ate::timestamp,
+                                   make_interval(months => p_intervalo)) AS m(mes)
+             WHERE p_frequencia = 'MENSAL'
+            UNION ALL
+            -- SEMANAL: a partir do primeiro dia da semana pedido em p_inicio ou depois
+            SELECT s.dia::date
+              FROM generate_series((p_inicio + (p_dia - extract(isodow FROM p_inicio)::integer + 7) % 7)::timestamp,
+                                   p_ate::timestamp,
+                                   make_interval(weeks => p_intervalo)) AS s(dia)
+             WHERE p_frequencia = 'SEMANAL'
+            UNION ALL
+            -- DIA_UTIL: n-ésimo dia de segunda a sexta do mês (meses sem o n-ésimo dia útil são pulados)
+            SELECT u.data
+              FROM generate_series(date_trunc('month', p_inicio::timestamp), p_ate::timestamp,
+                                   make_interval(months => p_intervalo)) AS m(mes)
+             CROSS JOIN LATERAL (
+                    SELECT d.dia::date AS data
+                      FROM generate_series(m.mes, m.mes + interval '1 month - 1 day', interval '1 day') AS d(dia)
+                     WHERE extract(isodow FROM d.dia) < 6
+                     ORDER BY d.dia
+                    OFFSET p_dia - 1
+                     LIMIT 1
+                   ) u
+             WHERE p_frequencia = 'DIA_UTIL'
+           ) x
+     WHERE x.data BETWEEN p_inicio AND p_ate
+$BODY$;
+
+ALTER FUNCTION public.fn_datas_recorrencia(varchar, integer, integer, date, date) OWNER TO CURRENT_USER;
+
+-- Gera os lançamentos das regras ativas (ou só de p_id_recorrencia) até p_horizonte;
+-- retorna a quantidade de lançamentos inseridos
+CREATE OR REPLACE FUNCTION public.fn_gerar_lancamentos_recorrentes(
+    p_horizonte date,
+    p_id_recorrencia integer DEFAULT NULL)
+RETURNS integer
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_linhas integer;
+BEGIN
+    WITH elegiveis AS (
+        -- Regras com datas pendentes até o horizonte, cujas contas aceitam o lançamento
+        -- (mesmas regras de V6, mais conta ativa, verificada pela aplicação nos manuais)
+        SELECT r.id, r.descricao, r.valor, r.id_conta_credito, r.id_conta_debito,
+               r.frequencia, r.intervalo, r.dia, r.data_inicio, r.quantidade,
+               COALESCE(r.gerado_ate, r.data_inicio - 1) AS gerado_ate,
+               LEAST(p_horizonte, r.data_fim) AS ate
+          FROM public.tb_recorrencias r
+          JOIN public.tb_contas cc ON cc.id = r.id_conta_credito
+          JOIN public.tb_contas cd ON cd.id = r.id_conta_debito
+         WHERE r.ativa
+           AND (p_id_recorrencia IS NULL OR r.id = p_id_recorrencia)
+           AND COALESCE(r.gerado_ate, r.data_inicio - 1) < LEAST(p_horizonte, r.data_fim)
+           AND cc.ativa AND cd.ativa
+           AND cc.analitica AND cd.analitica
+           AND (cc.credora OR cc.aceita_movimento_oposto)
+           AND (NOT cd.credora OR cd.aceita_movimento_oposto)
+           FOR UPDATE OF r
+    ), marcadas AS (
+        UPDATE public.tb_recorrencias r
+           SET gerado_ate = e.ate
+          FROM elegiveis e
+         WHERE r.id = e.id
+    ), inseridos AS (
+        INSERT INTO public.tb_lancamentos (descricao, valor, data_competencia, id_conta_credito,
+                                           id_conta_debito, status, id_recorrencia, ocorrencia)
+        SELECT e.descricao, e.valor, d.data, e.id_conta_credito, e.id_conta_debito,
+               'PREVISTO', e.id, d.ocorrencia
+          FROM elegiveis e
+         CROSS JOIN LATERAL public.fn_datas_recorrencia(e.frequencia, e.intervalo, e.dia,
+                                                        e.data_inicio, e.ate) d
+         WHERE d.data > e.gerado_ate
+           AND (e.quantidade IS NULL OR d.ocorrencia <= e.quantidade)
+        ON CONFLICT (id_recorrencia, ocorrencia) WHERE id_recorrencia IS NOT NULL DO NOTHING
+        RETURNING 1
+    )
+    SELECT count(*) INTO v_linhas FROM inseridos;
+
+    RETURN v_linhas;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_gerar_lancamentos_recorrentes(date, integer) OWNER TO CURRENT_USER;
+
+-- Refaz os lançamentos futuros de uma regra alterada: um DELETE e um INSERT da regra, sem
+-- tocar nos lançamentos já confirmados, cancelados ou passados
+CREATE OR REPLACE FUNCTION public.fn_regerar_lancamentos_recorrentes(
+    p_id_recorrencia integer,
+    p_horizonte date)
+RETURNS integer
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    PERFORM 1 FROM public.tb_recorrencias r WHERE r.id = p_id_recorrencia FOR UPDATE;
+
+    -- Lançamentos de contas inativas são imutáveis (V8) e ficam como estão
+    DELETE FROM public.tb_lancamentos l
+     USING public.tb_contas cc, public.tb_contas cd
+     WHERE l.id_recorrencia = p_id_recorrencia
+       AND l.status = 'PREVISTO'
+       AND l.data_competencia >= current_date
+       AND cc.id = l.id_conta_credito AND cc.ativa
+       AND cd.id = l.id_conta_debito AND cd.ativa;
+
+    UPDATE public.tb_recorrencias
+       SET gerado_ate = current_date - 1
+     WHERE id = p_id_recorrencia
+       AND gerado_ate >= current_date;
+
+    RETURN public.fn_gerar_lancamentos_recorrentes(p_horizonte, p_id_recorrencia);
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_regerar_lancamentos_recorrentes(integer, date) OWNER TO CURRENT_USER;
@@ -0,0 +1,82 @@
+-- V23: Contador de alterações por tabela para o ETag da API
+-- Objetivo: substituir a marca da V21 (maior updated_at ou última exclusão) por um contador que
+-- muda a cada commit que altera tb_contas ou tb_lancamentos.
+-- Observações:
+-- - updated_at é o início da transação (now()): uma transação iniciada antes e confirmada depois
+--   de outra não elevava o máximo, e clientes com o ETag da segunda recebiam 304 para sempre.
+-- - Gatilhos de comando (FOR EACH STATEMENT) em INSERT, UPDATE, DELETE e TRUNCATE incrementam
+--   tb_marcas_alteracao.versao da tabela: um incremento por comando, independente da quantidade
+--   de linhas.
+-- - O UPDATE trava a linha da tabela até o fim da transação, então escritas concorrentes na mesma
+--   tabela confirmam em fila e cada commit publica um valor maior que o anterior. É o mesmo custo
+--   que exclusões já tinham em tb_marcas_exclusao (V21), agora para toda escrita.
+-- - tb_marcas_exclusao e os índices de updated_at existiam só para a marca anterior e são removidos.
+
+SET search_path = public;
+
+CREATE TABLE IF NOT EXISTS public.tb_marcas_alteracao (
+    tabela varchar(63) NOT NULL,
+    versao bigint NOT NULL DEFAULT 0,
+
+    CONSTRAINT tb_marcas_alteracao_pkey PRIMARY KEY (tabela)
+);
+
+INSERT INTO public.tb_marcas_alteracao (tabela)
+VALUES ('tb_contas'), ('tb_lancamentos')
+ON CONFLICT (tabela) DO NOTHING;
+
+GRANT SELECT ON TABLE public.tb_marcas_alteracao TO core_contas_manage;
+GRANT SELECT ON TABLE public.tb_marcas_alteracao TO core_lancamentos_manage;
+
+-- Gatilho de comando; escrita em tb_marcas_alteracao apenas por aqui (SECURITY DEFINER)
+CREATE OR REPLACE FUNCTION public.fn_tg_contar_alteracao()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    UPDATE public.tb_marcas_alteracao
+       SET versao = versao + 1
+     WHERE tabela = TG_TABLE_NAME;
+    RETURN NULL;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_contar_alteracao() OWNER TO CURRENT_USER;
+
+DROP TRIGGER IF EXISTS tg_after_contar_alteracao ON public.tb_contas;
+CREATE TRIGGER tg_after_contar_alteracao
+    AFTER INSERT OR UPDATE OR DELETE
+    ON public.tb_contas
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_contar_alteracao();
+
+DROP TRIGGER IF EXISTS tg_after_truncate_contar_alteracao ON public.tb_contas;
+CREATE TRIGGER tg_after_truncate_contar_alteracao
+    AFTER TRUNCATE
+    ON public.tb_contas
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_contar_alteracao();
+
+DROP TRIGGER IF EXISTS tg_after_contar_alteracao ON public.tb_lancamentos;
+CREATE TRIGGER tg_after_contar_alteracao
+    AFTER INSERT OR UPDATE OR DELETE
+    ON public.tb_lancamentos
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_contar_alteracao();
+
+DROP TRIGGER IF EXISTS tg_after_truncate_contar_alteracao ON public.tb_lancamentos;
+CREATE TRIGGER tg_after_truncate_contar_alteracao
+    AFTER TRUNCATE
+    ON public.tb_lancamentos
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION public.fn_tg_contar_alteracao();
+
+-- Marca anterior (V21)
+DROP TRIGGER IF EXISTS tg_after_delete_marcar_exclusao ON public.tb_contas;
+DROP TRIGGER IF EXISTS tg_after_delete_marcar_exclusao ON public.tb_lancamentos;
+DROP FUNCTION IF EXISTS public.fn_tg_marcar_exclusao();
+DROP TABLE IF EXISTS public.tb_marcas_exclusao;
+DROP INDEX IF EXISTS public.ix_tb_contas_updated_at;
+DROP INDEX IF EXISTS public.ix_tb_lancamentos_updated_at;
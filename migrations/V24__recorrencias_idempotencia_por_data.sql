@@ -0,0 +1,93 @@
+-- V24: Idempotência dos lançamentos recorrentes pela data
+-- Objetivo: impedir que a regeração de uma regra alterada descarte ocorrências novas.
+-- Observações:
+-- - Na V22 a chave era (id_recorrencia, ocorrencia), com a ocorrência numerada a partir da
+--   data_inicio, frequência e intervalo atuais da regra. fn_regerar_lancamentos_recorrentes
+--   mantém os lançamentos passados, confirmados e cancelados com a numeração antiga; depois de
+--   mudar o formato da regra (data_inicio adiante, SEMANAL para MENSAL, ...), ocorrências novas
+--   recebiam números já usados por essas linhas e eram descartadas pelo ON CONFLICT, enquanto
+--   gerado_ate avançava sobre elas e a lacuna nunca era preenchida.
+-- - A chave passa a ser (id_recorrencia, data_competencia): uma regra tem no máximo um
+--   lançamento por data, e uma data já ocupada por uma linha mantida é exatamente a ocorrência
+--   que não deve ser gerada de novo. ocorrencia continua sendo a posição da data na forma
+--   atual da regra (limite de quantidade), sem unicidade.
+-- - Um lançamento gerado cuja data foi editada pelo usuário deixa a data original livre: uma
+--   regeração posterior da regra pode gerar de novo aquela ocorrência.
+
+SET search_path = public;
+
+-- Uma regeração na V22 pode ter gerado um PREVISTO na mesma data de uma linha mantida;
+-- fica a linha confirmada (ou a mais antiga). Contas inativas são imutáveis (V8)
+DELETE FROM public.tb_lancamentos l
+ USING public.tb_lancamentos o, public.tb_contas cc, public.tb_contas cd
+ WHERE l.id_recorrencia IS NOT NULL
+   AND l.status = 'PREVISTO'
+   AND o.id_recorrencia = l.id_recorrencia
+   AND o.data_competencia = l.data_competencia
+   AND o.id <> l.id
+   AND (o.status <> 'PREVISTO' OR o.id < l.id)
+   AND cc.id = l.id_conta_credito AND cc.ativa
+   AND cd.id = l.id_conta_debito AND cd.ativa;
+
+DROP INDEX IF EXISTS public.ux_tb_lancamentos_recorrencia_ocorrencia;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_tb_lancamentos_recorrencia_data
+    ON public.tb_lancamentos (id_recorrencia, data_competencia)
+    WHERE id_recorrencia IS NOT NULL;
+
+-- Gera os lançamentos das regras ativas (ou só de p_id_recorrencia) até p_horizonte;
+-- retorna a quantidade de lançamentos inseridos
+CREATE OR REPLACE FUNCTION public.fn_gerar_lancamentos_recorrentes(
+    p_horizonte date,
+    p_id_recorrencia integer DEFAULT NULL)
+RETURNS integer
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_linhas integer;
+BEGIN
+    WITH elegiveis AS (
+        -- Regras com datas pendentes até o horizonte, cujas contas aceitam o lançamento
+        -- (mesmas regras de V6, mais conta ativa, verificada pela aplicação nos manuais)
+        SELECT r.id, r.descricao, r.valor, r.id_conta_credito, r.id_conta_debito,
+               r.frequencia, r.intervalo, r.dia, r.data_inicio, r.quantidade,
+               COALESCE(r.gerado_ate, r.data_inicio - 1) AS gerado_ate,
+               LEAST(p_horizonte, r.data_fim) AS ate
+          FROM public.tb_recorrencias r
+          JOIN public.tb_contas cc ON cc.id = r.id_conta_credito
+          JOIN public.tb_contas cd ON cd.id = r.id_conta_debito
+         WHERE r.ativa
+           AND (p_id_recorrencia IS NULL OR r.id = p_id_recorrencia)
+           AND COALESCE(r.gerado_ate, r.data_inicio - 1) < LEAST(p_horizonte, r.data_fim)
+           AND cc.ativa AND cd.ativa
+           AND cc.analitica AND cd.analitica
+           AND (cc.credora OR cc.aceita_movimento_oposto)
+           AND (NOT cd.credora OR cd.aceita_movimento_oposto)
+           FOR UPDATE OF r
+    ), marcadas AS (
+        UPDATE public.tb_recorrencias r
+           SET gerado_ate = e.ate
+          FROM elegiveis e
+         WHERE r.id = e.id
+    ), inseridos AS (
+        INSERT INTO public.tb_lancamentos (descricao, valor, data_competencia, id_conta_credito,
+                                           id_conta_debito, status, id_recorrencia, ocorrencia)
+        SELECT e.descricao, e.valor, d.data, e.id_conta_credito, e.id_conta_debito,
+               'PREVISTO', e.id, d.ocorrencia
+          FROM elegiveis e
+         CROSS JOIN LATERAL public.fn_datas_recorrencia(e.frequencia, e.intervalo, e.dia,
+                                                        e.data_inicio, e.ate) d
+         WHERE d.data > e.gerado_ate
+           AND (e.quantidade IS NULL OR d.ocorrencia <= e.quantidade)
+        ON CONFLICT (id_recorrencia, data_competencia) WHERE id_recorrencia IS NOT NULL DO NOTHING
+        RETURNING 1
+    )
+    SELECT count(*) INTO v_linhas FROM inseridos;
+
+    RETURN v_linhas;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_gerar_lancamentos_recorrentes(date, integer) OWNER TO CURRENT_USER;
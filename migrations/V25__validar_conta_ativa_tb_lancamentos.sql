@@ -0,0 +1,85 @@
+-- V25: Conta ativa validada no banco para lançamentos inseridos ou alterados
+-- Objetivo: tornar a regra de conta ativa independente da fotografia do plano em memória.
+-- Observações:
+-- - V6 deixava a checagem de "ativa" para o backend, e V8 só olha as contas antigas (OLD) em
+--   UPDATE/DELETE. A aplicação valida na fotografia do plano (PlanoContasSnapshot), que é
+--   local a cada instância e pode estar atrasada; sem a regra no banco, um lançamento podia
+--   ser gravado em conta inativada por outra instância.
+-- - A regra vale apenas para o registro NEW de INSERT/UPDATE: lançamentos históricos de contas
+--   inativadas continuam válidos, como pretendia V6.
+-- - As contas são lidas FOR SHARE no gatilho (avaliado no commit), o que fecha a corrida com
+--   uma inativação concorrente; o bloqueio dura só até o commit e não afeta outros lançamentos
+--   nas mesmas contas (FOR SHARE é compatível entre si).
+
+SET search_path = public;
+
+CREATE OR REPLACE FUNCTION public.fn_tg_ct_validate_tb_lancamentos_business()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    -- Crédito
+    v_cre_analitica boolean;
+    v_cre_credora boolean;
+    v_cre_aceita_oposto boolean;
+    v_cre_ativa boolean;
+    -- Débito
+    v_deb_analitica boolean;
+    v_deb_credora boolean;
+    v_deb_aceita_oposto boolean;
+    v_deb_ativa boolean;
+BEGIN
+    IF TG_OP IN ('INSERT','UPDATE') THEN
+        -- 1) contas distintas
+        IF NEW.id_conta_credito = NEW.id_conta_debito THEN
+            RAISE EXCEPTION 'id_conta_credito e id_conta_debito devem ser diferentes' USING ERRCODE = '45000';
+        END IF;
+
+        -- 2) carregar atributos das contas
+        -- FOR SHARE: uma inativação concorrente espera o commit deste lançamento (e a regra 3
+        -- de V7 passa a enxergá-lo) ou, se confirmada antes, é lida aqui
+        SELECT c.analitica, c.credora, c.aceita_movimento_oposto, c.ativa
+          INTO v_cre_analitica, v_cre_credora, v_cre_aceita_oposto, v_cre_ativa
+          FROM public.tb_contas c WHERE c.id = NEW.id_conta_credito
+           FOR SHARE;
+
+        SELECT c.analitica, c.credora, c.aceita_movimento_oposto, c.ativa
+          INTO v_deb_analitica, v_deb_credora, v_deb_aceita_oposto, v_deb_ativa
+          FROM public.tb_contas c WHERE c.id = NEW.id_conta_debito
+           FOR SHARE;
+
+        -- Defensive checks (FK deve garantir existência)
+        IF v_cre_analitica IS NULL OR v_deb_analitica IS NULL THEN
+            RAISE EXCEPTION 'Contas inexistentes para o lançamento' USING ERRCODE = '23503';
+        END IF;
+
+        -- 2) analíticas
+        IF NOT v_cre_analitica OR NOT v_deb_analitica THEN
+            RAISE EXCEPTION 'Somente contas analíticas podem ser usadas em lançamentos' USING ERRCODE = '45000';
+        END IF;
+
+        -- 3) ativas: só no lançamento inserido ou alterado, o histórico de contas já inativas fica
+        -- como está (V8 já impede alterar lançamentos que as envolvem)
+        IF NOT v_cre_ativa OR NOT v_deb_ativa THEN
+            RAISE EXCEPTION 'Contas inativas não podem receber lançamentos' USING ERRCODE = '45000';
+        END IF;
+
+        -- 4) movimento oposto
+        -- Crédito em conta "não credora" é movimento oposto e requer permissão
+        IF v_cre_credora IS DISTINCT FROM TRUE AND v_cre_aceita_oposto IS DISTINCT FROM TRUE THEN
+            RAISE EXCEPTION 'Conta de crédito não aceita movimento oposto' USING ERRCODE = '45000';
+        END IF;
+
+        -- Débito em conta "credora" é movimento oposto e requer permissão
+        IF v_deb_credora IS DISTINCT FROM FALSE AND v_deb_aceita_oposto IS DISTINCT FROM TRUE THEN
+            RAISE EXCEPTION 'Conta de débito não aceita movimento oposto' USING ERRCODE = '45000';
+        END IF;
+    END IF;
+
+    RETURN NULL; -- AFTER/CONSTRAINT trigger ignora o retorno
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_ct_validate_tb_lancamentos_business() OWNER TO CURRENT_USER;
@@ -0,0 +1,165 @@
+-- V26: Páginas do extrato como funções parametrizadas pela direção
+-- Objetivo: manter em um único lugar o SQL das páginas do extrato (conta analítica) e do
+-- movimento diário (conta sintética), hoje repetido em LancamentoRepository para cada ordem.
+-- Observações:
+-- - fn_extrato_conta e fn_movimento_diario_conta recebem p_crescente e devolvem as mesmas
+--   colunas das consultas anteriores; o saldo parte de fn_saldo_anterior (V17) no dia mais
+--   antigo da página somado a p_saldo_inicial.
+-- - A direção só muda o operador do cursor e o sentido do ORDER BY. Um ORDER BY com CASE
+--   impediria a leitura pelos índices (conta, status, data) da V17 e ordenaria o histórico
+--   inteiro da conta; por isso a consulta é montada com format() a partir de palavras fixas
+--   (nunca de entrada do usuário) e executada com os valores em USING, planejada a cada chamada.
+
+SET search_path = public;
+
+-- Página do extrato de uma conta analítica em ordem de (data, id), com cursor exclusivo.
+-- Os dias da página são lidos por inteiro apenas para os totais diários
+CREATE OR REPLACE FUNCTION public.fn_extrato_conta(
+    p_id_conta integer,
+    p_status varchar,
+    p_data_inicial date,
+    p_data_final date,
+    p_cursor_data date,
+    p_cursor_id bigint,
+    p_limite integer,
+    p_saldo_inicial numeric,
+    p_crescente boolean)
+RETURNS TABLE (
+    id_lancamento bigint,
+    data_competencia date,
+    descricao text,
+    valor numeric,
+    id_contrapartida integer,
+    sentido text,
+    saldo numeric,
+    total_dia numeric,
+    saldo_fim_dia numeric)
+LANGUAGE plpgsql
+STABLE
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_cursor text := CASE WHEN p_crescente THEN '>' ELSE '<' END;
+    v_ordem text := CASE WHEN p_crescente THEN 'ASC' ELSE 'DESC' END;
+BEGIN
+    RETURN QUERY EXECUTE format($SQL$
+        WITH pagina AS (
+            SELECT x.id, x.data_competencia
+              FROM (
+                    SELECT l.id, l.data_competencia
+                      FROM public.tb_lancamentos l
+                     WHERE l.id_conta_credito = $1
+                       AND l.status = $2
+                       AND l.data_competencia BETWEEN $3 AND $4
+                       AND (l.data_competencia, l.id) %1$s ($5, $6)
+                    UNION ALL
+                    SELECT l.id, l.data_competencia
+                      FROM public.tb_lancamentos l
+                     WHERE l.id_conta_debito = $1
+                       AND l.status = $2
+                       AND l.data_competencia BETWEEN $3 AND $4
+                       AND (l.data_competencia, l.id) %1$s ($5, $6)
+                   ) x
+             ORDER BY x.data_competencia %2$s, x.id %2$s
+             LIMIT $7
+        ), dias AS (
+            SELECT DISTINCT p.data_competencia FROM pagina p
+        ), movimentos_dias AS (
+            SELECT l.id, l.data_competencia, l.descricao, l.valor,
+                   l.id_conta_debito AS id_contrapartida, 'CREDITO'::text AS sentido
+              FROM dias d
+              JOIN public.tb_lancamentos l
+                ON l.id_conta_credito = $1
+               AND l.status = $2
+               AND l.data_competencia = d.data_competencia
+            UNION ALL
+            SELECT l.id, l.data_competencia, l.descricao, -l.valor,
+                   l.id_conta_credito AS id_contrapartida, 'DEBITO'::text AS sentido
+              FROM dias d
+              JOIN public.tb_lancamentos l
+                ON l.id_conta_debito = $1
+               AND l.status = $2
+               AND l.data_competencia = d.data_competencia
+        ), acumulado AS (
+            SELECT m.*,
+                   SUM(m.valor) OVER (PARTITION BY m.data_competencia ORDER BY m.id) AS acumulado_dia,
+                   SUM(m.valor) OVER (PARTITION BY m.data_competencia) AS total_dia
+              FROM movimentos_dias m
+        ), inicio AS (
+            SELECT $8 + public.fn_saldo_anterior($1, $2, MIN(d.data_competencia)) AS saldo
+              FROM dias d
+        ), saldos_dia AS (
+            SELECT t.data_competencia,
+                   i.saldo + SUM(t.total_dia) OVER (ORDER BY t.data_competencia) - t.total_dia AS saldo_inicio_dia
+              FROM (SELECT DISTINCT a.data_competencia, a.total_dia FROM acumulado a) t
+             CROSS JOIN inicio i
+        )
+        SELECT a.id,
+               a.data_competencia,
+               a.descricao,
+               a.valor,
+               a.id_contrapartida,
+               a.sentido,
+               s.saldo_inicio_dia + a.acumulado_dia,
+               a.total_dia,
+               s.saldo_inicio_dia + a.total_dia
+          FROM acumulado a
+          JOIN pagina p ON p.id = a.id
+          JOIN saldos_dia s ON s.data_competencia = a.data_competencia
+         ORDER BY a.data_competencia %2$s, a.id %2$s
+        $SQL$, v_cursor, v_ordem)
+    USING p_id_conta, p_status, p_data_inicial, p_data_final,
+          p_cursor_data, p_cursor_id, p_limite, p_saldo_inicial;
+END
+$BODY$;
+
+-- Movimento diário de uma conta (com inferiores) em ordem de data, com cursor exclusivo.
+-- Conta, status e datas chegam até tb_lancamentos pela view (V18)
+CREATE OR REPLACE FUNCTION public.fn_movimento_diario_conta(
+    p_id_conta integer,
+    p_status varchar,
+    p_data_inicial date,
+    p_data_final date,
+    p_cursor_data date,
+    p_limite integer,
+    p_saldo_inicial numeric,
+    p_crescente boolean)
+RETURNS TABLE (
+    data_competencia date,
+    credito numeric,
+    debito numeric,
+    saldo_fim_dia numeric)
+LANGUAGE plpgsql
+STABLE
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_cursor text := CASE WHEN p_crescente THEN '>' ELSE '<' END;
+    v_ordem text := CASE WHEN p_crescente THEN 'ASC' ELSE 'DESC' END;
+BEGIN
+    RETURN QUERY EXECUTE format($SQL$
+        WITH pagina AS (
+            SELECT v.data_competencia, v.credito, v.debito
+              FROM public.vw_movimento_diario v
+             WHERE v.id_conta = $1
+               AND v.status = $2
+               AND v.data_competencia BETWEEN $3 AND $4
+               AND v.data_competencia %1$s $5
+             ORDER BY v.data_competencia %2$s
+             LIMIT $6
+        ), inicio AS (
+            SELECT $7 + public.fn_saldo_anterior($1, $2, MIN(p.data_competencia)) AS saldo
+              FROM pagina p
+        )
+        SELECT p.data_competencia,
+               p.credito,
+               p.debito,
+               i.saldo + SUM(p.credito - p.debito) OVER (ORDER BY p.data_competencia)
+          FROM pagina p
+         CROSS JOIN inicio i
+         ORDER BY p.data_competencia %2$s
+        $SQL$, v_cursor, v_ordem)
+    USING p_id_conta, p_status, p_data_inicial, p_data_final,
+          p_cursor_data, p_limite, p_saldo_inicial;
+END
+$BODY$;
@@ -0,0 +1,146 @@
+-- V27: Ordem dos lançamentos dentro do dia no extrato (entradas antes das saídas)
+-- Objetivo: restaurar a ordem intradiária do extrato anterior à paginação por cursor, que
+-- define o saldo corrido exibido em cada linha.
+-- Observações:
+-- - Até a V26 fn_extrato_conta ordenava o dia só por id. O extrato original (em Java) punha
+--   as entradas da conta (sentido natural: créditos em contas credoras, débitos em devedoras)
+--   antes das saídas e depois ordenava por id; a ordem crescente volta a ser
+--   (data, ordem, id), com ordem 0 para entradas e 1 para saídas, e a decrescente o inverso.
+-- - O cursor continua sendo (data, id): a ordem da linha do cursor é lida do próprio
+--   lançamento. Como a ordem é constante em cada ramo (crédito ou débito), a comparação com
+--   (data, ordem, id) vira uma comparação (data, id) com o id do cursor ajustado por ramo: o
+--   ramo cuja ordem ainda não foi lida no dia do cursor recebe o dia inteiro, o ramo já lido
+--   nenhuma linha do dia. Assim a página segue lida pelos índices (conta, status, data, id).
+-- - Se o lançamento do cursor deixou de existir (ou mudou de data) entre uma página e outra,
+--   vale a comparação (data, id) sem ajuste.
+
+SET search_path = public;
+
+CREATE OR REPLACE FUNCTION public.fn_extrato_conta(
+    p_id_conta integer,
+    p_status varchar,
+    p_data_inicial date,
+    p_data_final date,
+    p_cursor_data date,
+    p_cursor_id bigint,
+    p_limite integer,
+    p_saldo_inicial numeric,
+    p_crescente boolean)
+RETURNS TABLE (
+    id_lancamento bigint,
+    data_competencia date,
+    descricao text,
+    valor numeric,
+    id_contrapartida integer,
+    sentido text,
+    saldo numeric,
+    total_dia numeric,
+    saldo_fim_dia numeric)
+LANGUAGE plpgsql
+STABLE
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_cursor text := CASE WHEN p_crescente THEN '>' ELSE '<' END;
+    v_ordem text := CASE WHEN p_crescente THEN 'ASC' ELSE 'DESC' END;
+    v_ordem_credito integer;
+    v_ordem_cursor integer;
+    v_id_credito bigint := p_cursor_id;
+    v_id_debito bigint := p_cursor_id;
+    v_dia_inteiro bigint := CASE WHEN p_crescente THEN '-9223372036854775808'::bigint ELSE 9223372036854775807 END;
+    v_dia_lido bigint := CASE WHEN p_crescente THEN 9223372036854775807 ELSE '-9223372036854775808'::bigint END;
+BEGIN
+    -- Créditos são entradas nas contas credoras
+    SELECT CASE WHEN c.credora THEN 0 ELSE 1 END
+      INTO v_ordem_credito
+      FROM public.tb_contas c
+     WHERE c.id = p_id_conta;
+
+    SELECT CASE WHEN l.id_conta_credito = p_id_conta THEN v_ordem_credito ELSE 1 - v_ordem_credito END
+      INTO v_ordem_cursor
+      FROM public.tb_lancamentos l
+     WHERE l.id = p_cursor_id
+       AND l.data_competencia = p_cursor_data;
+
+    -- Dia do cursor: o ramo com ordem adiante na leitura ainda está inteiro, o outro já foi lido
+    IF v_ordem_cursor IS NOT NULL AND v_ordem_cursor <> v_ordem_credito THEN
+        IF (v_ordem_credito > v_ordem_cursor) = p_crescente THEN
+            v_id_credito := v_dia_inteiro;
+            v_id_debito := v_dia_lido;
+        ELSE
+            v_id_credito := v_dia_lido;
+            v_id_debito := v_dia_inteiro;
+        END IF;
+    END IF;
+
+    RETURN QUERY EXECUTE format($SQL$
+        WITH pagina AS (
+            SELECT x.id, x.data_competencia
+              FROM (
+                    SELECT l.id, l.data_competencia, $9 AS ordem
+                      FROM public.tb_lancamentos l
+                     WHERE l.id_conta_credito = $1
+                       AND l.status = $2
+                       AND l.data_competencia BETWEEN $3 AND $4
+                       AND (l.data_competencia, l.id) %1$s ($5, $6)
+                    UNION ALL
+                    SELECT l.id, l.data_competencia, 1 - $9 AS ordem
+                      FROM public.tb_lancamentos l
+                     WHERE l.id_conta_debito = $1
+                       AND l.status = $2
+                       AND l.data_competencia BETWEEN $3 AND $4
+                       AND (l.data_competencia, l.id) %1$s ($5, $10)
+                   ) x
+             ORDER BY x.data_competencia %2$s, x.ordem %2$s, x.id %2$s
+             LIMIT $7
+        ), dias AS (
+            SELECT DISTINCT p.data_competencia FROM pagina p
+        ), movimentos_dias AS (
+            SELECT l.id, l.data_competencia, l.descricao, l.valor,
+                   l.id_conta_debito AS id_contrapartida, 'CREDITO'::text AS sentido, $9 AS ordem
+              FROM dias d
+              JOIN public.tb_lancamentos l
+                ON l.id_conta_credito = $1
+               AND l.status = $2
+               AND l.data_competencia = d.data_competencia
+            UNION ALL
+            SELECT l.id, l.data_competencia, l.descricao, -l.valor,
+                   l.id_conta_credito AS id_contrapartida, 'DEBITO'::text AS sentido, 1 - $9 AS ordem
+              FROM dias d
+              JOIN public.tb_lancamentos l
+                ON l.id_conta_debito = $1
+               AND l.status = $2
+               AND l.data_competencia = d.data_competencia
+        ), acumulado AS (
+            SELECT m.*,
+                   SUM(m.valor) OVER (PARTITION BY m.data_competencia ORDER BY m.ordem, m.id) AS acumulado_dia,
+                   SUM(m.valor) OVER (PARTITION BY m.data_competencia) AS total_dia
+              FROM movimentos_dias m
+        ), inicio AS (
+            SELECT $8 + public.fn_saldo_anterior($1, $2, MIN(d.data_competencia)) AS saldo
+              FROM dias d
+        ), saldos_dia AS (
+            SELECT t.data_competencia,
+                   i.saldo + SUM(t.total_dia) OVER (ORDER BY t.data_competencia) - t.total_dia AS saldo_inicio_dia
+              FROM (SELECT DISTINCT a.data_competencia, a.total_dia FROM acumulado a) t
+             CROSS JOIN inicio i
+        )
+        SELECT a.id,
+               a.data_competencia,
+               a.descricao,
+               a.valor,
+               a.id_contrapartida,
+               a.sentido,
+               s.saldo_inicio_dia + a.acumulado_dia,
+               a.total_dia,
+               s.saldo_inicio_dia + a.total_dia
+          FROM acumulado a
+          JOIN pagina p ON p.id = a.id
+          JOIN saldos_dia s ON s.data_competencia = a.data_competencia
+         ORDER BY a.data_competencia %2$s, a.ordem %2$s, a.id %2$s
+        $SQL$, v_cursor, v_ordem)
+    USING p_id_conta, p_status, p_data_inicial, p_data_final,
+          p_cursor_data, v_id_credito, p_limite, p_saldo_inicial,
+          v_ordem_credito, v_id_debito;
+END
+$BODY$;
@@ -0,0 +1,102 @@
+-- V28: Saldos consolidados derivados na leitura (vw_saldos)
+-- Objetivo: tirar a linha da conta raiz do caminho de todas as escritas em tb_lancamentos.
+-- Observações:
+-- - Até aqui (V15/V16) o gatilho de tb_saldos aplicava cada lançamento na conta e em todas as
+--   superiores até a raiz do plano. Escritas concorrentes (importação de extratos, geração de
+--   recorrências) enfileiravam no lock da mesma linha (raiz, status) até o commit.
+-- - tb_saldos passa a guardar só os lançamentos próprios de cada conta: o gatilho toca apenas
+--   as contas de crédito e de débito do lançamento.
+-- - O saldo consolidado (conta + inferiores) vem de vw_saldos, somando tb_saldos pela
+--   tb_contas_hierarquia. O filtro por id_conta é coluna de agrupamento e chega à PK da
+--   hierarquia (id_superior, ...): a leitura de uma conta soma só as linhas das suas inferiores.
+-- - quantidade continua contando apenas os lançamentos diretos da conta.
+
+SET search_path = public;
+
+-- Recalcula a tabela inteira a partir de tb_lancamentos, só com os lançamentos próprios
+CREATE OR REPLACE FUNCTION public.fn_recalcular_tb_saldos()
+RETURNS void
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+BEGIN
+    DELETE FROM public.tb_saldos;
+
+    INSERT INTO public.tb_saldos (id_conta, status, saldo, quantidade)
+    SELECT m.id_conta, m.status, SUM(m.valor), COUNT(*)
+      FROM (
+            SELECT l.id_conta_credito AS id_conta, l.status, l.valor
+              FROM public.tb_lancamentos l
+            UNION ALL
+            SELECT l.id_conta_debito AS id_conta, l.status, -l.valor
+              FROM public.tb_lancamentos l
+           ) m
+     GROUP BY m.id_conta, m.status;
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_recalcular_tb_saldos() OWNER TO CURRENT_USER;
+
+-- Gatilho de linha: estorno de OLD e aplicação de NEW apenas nas contas do lançamento
+CREATE OR REPLACE FUNCTION public.fn_tg_atualizar_tb_saldos()
+RETURNS trigger
+LANGUAGE plpgsql
+SECURITY DEFINER
+SET search_path = pg_catalog, public
+AS $BODY$
+DECLARE
+    v_old boolean := TG_OP IN ('UPDATE', 'DELETE');
+    v_new boolean := TG_OP IN ('INSERT', 'UPDATE');
+BEGIN
+    -- Alterações que não afetam saldos (ex.: descrição, data) não tocam tb_saldos
+    IF TG_OP = 'UPDATE'
+       AND NEW.valor IS NOT DISTINCT FROM OLD.valor
+       AND NEW.status IS NOT DISTINCT FROM OLD.status
+       AND NEW.id_conta_credito IS NOT DISTINCT FROM OLD.id_conta_credito
+       AND NEW.id_conta_debito IS NOT DISTINCT FROM OLD.id_conta_debito THEN
+        RETURN NULL;
+    END IF;
+
+    -- Agrupado por (conta, status) e na mesma ordem em todas as escritas (reduz deadlocks)
+    INSERT INTO public.tb_saldos AS s (id_conta, status, saldo, quantidade)
+    SELECT d.id_conta, d.status, SUM(d.valor), SUM(d.quantidade)
+      FROM (
+            SELECT OLD.id_conta_credito, OLD.status, -OLD.valor, -1 WHERE v_old
+            UNION ALL
+            SELECT OLD.id_conta_debito, OLD.status, OLD.valor, -1 WHERE v_old
+            UNION ALL
+            SELECT NEW.id_conta_credito, NEW.status, NEW.valor, 1 WHERE v_new
+            UNION ALL
+            SELECT NEW.id_conta_debito, NEW.status, -NEW.valor, 1 WHERE v_new
+           ) AS d(id_conta, status, valor, quantidade)
+     GROUP BY d.id_conta, d.status
+     ORDER BY d.id_conta, d.status
+    ON CONFLICT (id_conta, status) DO UPDATE
+       SET saldo = s.saldo + EXCLUDED.saldo,
+           quantidade = s.quantidade + EXCLUDED.quantidade;
+
+    RETURN NULL; -- AFTER triggers ignoram o retorno
+END
+$BODY$;
+
+ALTER FUNCTION public.fn_tg_atualizar_tb_saldos() OWNER TO CURRENT_USER;
+
+-- Saldo da conta e de todas as suas inferiores (profundidade 0 é a própria conta)
+CREATE OR REPLACE VIEW public.vw_saldos AS
+SELECT
+  h.id_superior AS id_conta,
+  s.status,
+  SUM(s.saldo)::numeric(18,2) AS saldo,
+  COALESCE(SUM(s.quantidade) FILTER (WHERE h.profundidade = 0), 0)::bigint AS quantidade
+FROM public.tb_contas_hierarquia h
+JOIN public.tb_saldos s ON s.id_conta = h.id_inferior
+GROUP BY
+  h.id_superior,
+  s.status;
+
+GRANT SELECT ON public.vw_saldos TO core_contas_manage;
+GRANT SELECT ON public.vw_saldos TO core_lancamentos_manage;
+
+-- Regrava tb_saldos sem os totais das superiores
+SELECT public.fn_recalcular_tb_saldos();
@@ -0,0 +1,340 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de carga HTTP para a aplicação já em execução (ver perf/README.md).
+ * <p>
+ * Cada cliente executa, em laço, operações sorteadas segundo os pesos abaixo e
+ * registra a latência de cada uma. As amostras do aquecimento são descartadas.
+ * Ao final imprime p50/p95/p99/máximo e vazão por operação e grava o mesmo
+ * relatório em CSV.
+ * <p>
+ * Execução (Java 17+, sem compilação): {@code java perf/CargaHttp.java --clientes 16 --duracao 120}
+ */
+public class CargaHttp {
+
+    enum Operacao {
+        LISTAR_CONTAS("GET /contas", 25),
+        DETALHAR_CONTA("GET /contas/{id}", 30),
+        FORM_LANCAMENTO("GET /lancamentos/new", 15),
+        CRIAR_LANCAMENTO("POST /lancamentos", 15),
+        EDITAR_LANCAMENTO("POST /lancamentos/{id}/edit", 15);
+
+        final String rota;
+        final int peso;
+
+        Operacao(String rota, int peso) {
+            this.rota = rota;
+            this.peso = peso;
+        }
+    }
+
+    // Limite do requisito não funcional "Operações CRUD com resposta < 2s" (README)
+    private static final long LIMITE_MS = 2000;
+
+    private static final Pattern LINK_CONTA = Pattern.compile("href=\"/contas/(\\d+)\"");
+    private static final Pattern LANCAMENTO_CRIADO = Pattern.compile("/lancamentos/(\\d+)$");
+
+    private final String url;
+    private final HttpClient http;
+    private final List<Integer> contas = new ArrayList<>();
+    private final List<Integer> contasCredito = new ArrayList<>();
+    private final List<Integer> contasDebito = new ArrayList<>();
+    // Lançamentos criados por esta execução: as edições não tocam a carga do seed
+    private final ConcurrentLinkedQueue<Long> criados = new ConcurrentLinkedQueue<>();
+    private final Map<Operacao, Long> erros = new EnumMap<>(Operacao.class);
+    private final int pesoTotal = Arrays.stream(Operacao.values()).mapToInt(o -> o.peso).sum();
+
+    CargaHttp(String url) {
+        this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = lerOpcoes(args);
+        String url = opcoes.getOrDefault("url", "http://localhost:8080");
+        int clientes = Integer.parseInt(opcoes.getOrDefault("clientes", "8"));
+        int duracao = Integer.parseInt(opcoes.getOrDefault("duracao", "60"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("aquecimento", "15"));
+        Path saida = Path.of(opcoes.getOrDefault("saida", "perf/resultados"));
+
+        CargaHttp carga = new CargaHttp(url);
+        carga.descobrirContas();
+        System.out.printf("%d contas, %d de crédito e %d de débito; %d clientes, %ds de aquecimento + %ds%n",
+                carga.contas.size(), carga.contasCredito.size(), carga.contasDebito.size(),
+                clientes, aquecimento, duracao);
+
+        Map<Operacao, long[]> latencias = carga.executar(clientes, aquecimento, duracao);
+        carga.relatar(latencias, duracao, clientes, saida);
+    }
+
+    private static Map<String, String> lerOpcoes(String[] args) {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Opção inválida: " + args[i]);
+            }
+            opcoes.put(args[i].substring(2), args[i + 1]);
+        }
+        return opcoes;
+    }
+
+    private void descobrirContas() throws IOException, InterruptedException {
+        Matcher m = LINK_CONTA.matcher(get("/contas").body());
+        while (m.find()) {
+            contas.add(Integer.valueOf(m.group(1)));
+        }
+        String form = get("/lancamentos/new").body();
+        contasCredito.addAll(opcoesDoSelect(form, "contaCreditoId"));
+        contasDebito.addAll(opcoesDoSelect(form, "contaDebitoId"));
+
+        if (contas.isEmpty() || contasCredito.isEmpty() || contasDebito.isEmpty()) {
+            throw new IllegalStateException("Plano de contas vazio: execute perf/seed.sh antes da carga");
+        }
+    }
+
+    private static List<Integer> opcoesDoSelect(String html, String id) {
+        int inicio = html.indexOf("id=\"" + id + "\"");
+        int fim = inicio < 0 ? -1 : html.indexOf("</select>", inicio);
+        if (fim < 0) {
+            throw new IllegalStateException("Campo " + id + " não encontrado em /lancamentos/new");
+        }
+        List<Integer> ids = new ArrayList<>();
+        Matcher m = Pattern.compile("<option value=\"(\\d+)\"").matcher(html.substring(inicio, fim));
+        while (m.find()) {
+            ids.add(Integer.valueOf(m.group(1)));
+        }
+        return ids;
+    }
+
+    private Map<Operacao, long[]> executar(int clientes, int aquecimento, int duracao) throws InterruptedException {
+        long inicioMedicao = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimento);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracao);
+
+        List<Amostras> porCliente = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        for (int i = 0; i < clientes; i++) {
+            Amostras amostras = new Amostras();
+            porCliente.add(amostras);
+            executor.submit(() -> {
+                while (System.nanoTime() < fim) {
+                    Operacao op = sortear();
+                    long t0 = System.nanoTime();
+                    boolean ok = executarOperacao(op);
+                    long t1 = System.nanoTime();
+                    if (t0 >= inicioMedicao && t1 <= fim) {
+                        amostras.registrar(op, t1 - t0, ok);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(aquecimento + duracao + 60L, TimeUnit.SECONDS);
+
+        Map<Operacao, long[]> latencias = new EnumMap<>(Operacao.class);
+        for (Operacao op : Operacao.values()) {
+            latencias.put(op, porCliente.stream()
+                    .flatMapToLong(a -> a.latencias.get(op).stream().mapToLong(Long::longValue))
+                    .sorted()
+                    .toArray());
+            erros.put(op, porCliente.stream().mapToLong(a -> a.erros.get(op)[0]).sum());
+        }
+        return latencias;
+    }
+
+    private Operacao sortear() {
+        int r = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacao op : Operacao.values()) {
+            r -= op.peso;
+            if (r < 0) {
+                return op;
+            }
+        }
+        return Operacao.LISTAR_CONTAS;
+    }
+
+    private boolean executarOperacao(Operacao op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            switch (op) {
+                case LISTAR_CONTAS:
+                    return get("/contas").statusCode() == 200;
+                case DETALHAR_CONTA:
+                    return get("/contas/" + contas.get(random.nextInt(contas.size()))).statusCode() == 200;
+                case FORM_LANCAMENTO:
+                    return get("/lancamentos/new").statusCode() == 200;
+                case CRIAR_LANCAMENTO:
+                    return criarLancamento();
+                case EDITAR_LANCAMENTO:
+                    Long id = criados.poll();
+                    if (id == null) {
+                        return criarLancamento();
+                    }
+                    boolean ok = postar("/lancamentos/" + id + "/edit", formulario(id), "/lancamentos/" + id);
+                    criados.add(id);
+                    return ok;
+                default:
+                    return false;
+            }
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean criarLancamento() throws IOException, InterruptedException {
+        HttpResponse<String> resposta = post("/lancamentos", formulario(null));
+        String destino = resposta.headers().firstValue("Location").orElse("");
+        Matcher m = LANCAMENTO_CRIADO.matcher(destino);
+        if (resposta.statusCode() != 302 || !m.find()) {
+            return false; // erro de validação redireciona para /lancamentos/new
+        }
+        criados.add(Long.valueOf(m.group(1)));
+        return true;
+    }
+
+    private boolean postar(String caminho, String corpo, String destinoEsperado)
+            throws IOException, InterruptedException {
+        HttpResponse<String> resposta = post(caminho, corpo);
+        return resposta.statusCode() == 302
+                && resposta.headers().firstValue("Location").orElse("").endsWith(destinoEsperado);
+    }
+
+    private String formulario(Long id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int credito = contasCredito.get(random.nextInt(contasCredito.size()));
+        int debito = contasDebito.get(random.nextInt(contasDebito.size()));
+        while (debito == credito && contasDebito.size() > 1) {
+            debito = contasDebito.get(random.nextInt(contasDebito.size()));
+        }
+
+        Map<String, String> campos = new LinkedHashMap<>();
+        if (id != null) {
+            campos.put("id", id.toString());
+        }
+        campos.put("descricao", (id == null ? "Carga HTTP " : "Carga HTTP editado ") + random.nextInt(1_000_000));
+        campos.put("valor", String.format(Locale.ROOT, "%.2f", 0.01 + random.nextDouble(1000)));
+        campos.put("dataCompetencia", LocalDate.now().minusDays(random.nextInt(365)).toString());
+        campos.put("contaCreditoId", Integer.toString(credito));
+        campos.put("contaDebitoId", Integer.toString(debito));
+        campos.put("status", "EFETIVO");
+
+        StringBuilder sb = new StringBuilder();
+        campos.forEach((k, v) -> {
+            if (sb.length() > 0) {
+                sb.append('&');
+            }
+            sb.append(k).append('=').append(URLEncoder.encode(v, StandardCharsets.UTF_8));
+        });
+        return sb.toString();
+    }
+
+    private HttpResponse<String> get(String caminho) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String caminho, String corpo) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void relatar(Map<Operacao, long[]> latencias, int duracao, int clientes, Path saida) throws IOException {
+        List<String> linhas = new ArrayList<>();
+        linhas.add("operacao,amostras,erros,vazao_rps,p50_ms,p95_ms,p99_ms,max_ms");
+
+        System.out.printf("%n%-30s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Operação", "Amostras", "Erros", "Req/s", "p50 ms", "p95 ms", "p99 ms", "máx ms");
+        long total = 0;
+        for (Operacao op : Operacao.values()) {
+            long[] l = latencias.get(op);
+            total += l.length;
+            double vazao = (double) l.length / duracao;
+            double p50 = percentil(l, 50), p95 = percentil(l, 95), p99 = percentil(l, 99);
+            double max = l.length == 0 ? 0 : l[l.length - 1] / 1e6;
+
+            System.out.printf(Locale.ROOT, "%-30s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%s%n",
+                    op.rota, l.length, erros.get(op), vazao, p50, p95, p99, max,
+                    p99 > LIMITE_MS ? "  << p99 acima de " + LIMITE_MS + " ms" : "");
+            linhas.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    op.rota, l.length, erros.get(op), vazao, p50, p95, p99, max));
+        }
+        System.out.printf(Locale.ROOT, "%nTotal: %d requisições, %.1f req/s com %d clientes%n",
+                total, (double) total / duracao, clientes);
+
+        Files.createDirectories(saida);
+        Path arquivo = saida.resolve("carga-" + LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(arquivo))) {
+            linhas.forEach(out::println);
+        }
+        System.out.println("Relatório gravado em " + arquivo);
+    }
+
+    // Percentil pelo método do rank mais próximo, em milissegundos
+    private static double percentil(long[] ordenadas, int p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * ordenadas.length);
+        return ordenadas[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    private static final class Amostras {
+        final Map<Operacao, List<Long>> latencias = new EnumMap<>(Operacao.class);
+        final Map<Operacao, long[]> erros = new EnumMap<>(Operacao.class);
+
+        Amostras() {
+            for (Operacao op : Operacao.values()) {
+                latencias.put(op, new ArrayList<>());
+                erros.put(op, new long[1]);
+            }
+        }
+
+        void registrar(Operacao op, long nanos, boolean ok) {
+            latencias.get(op).add(nanos);
+            if (!ok) {
+                erros.get(op)[0]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+#!/bin/sh
+# Teste de desempenho ponta a ponta (ver perf/README.md).
+#
+# Uso: perf/run.sh [--lancamentos N] [--clientes N] [--duracao S] [--aquecimento S] [--recriar]
+#
+# 1. Sobe o PostgreSQL do docker-compose (serviço db).
+# 2. Empacota e inicia a aplicação, que aplica as migrations (Flyway).
+# 3. Popula a base com perf/seed.sh se tb_lancamentos estiver vazia (ou com --recriar).
+# 4. Executa perf/CargaHttp.java e grava o relatório em perf/resultados.
+set -e
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+RAIZ=$(dirname "$DIR")
+cd "$RAIZ"
+
+if [ -f .env ]; then
+    set -a
+    . ./.env
+    set +a
+fi
+
+LANCAMENTOS=2000000
+CLIENTES=8
+DURACAO=60
+AQUECIMENTO=15
+RECRIAR=false
+
+while [ $# -gt 0 ]; do
+    case "$1" in
+        --lancamentos) LANCAMENTOS=$2; shift 2 ;;
+        --clientes) CLIENTES=$2; shift 2 ;;
+        --duracao) DURACAO=$2; shift 2 ;;
+        --aquecimento) AQUECIMENTO=$2; shift 2 ;;
+        --recriar) RECRIAR=true; shift ;;
+        *) echo "Opção desconhecida: $1" >&2; exit 2 ;;
+    esac
+done
+
+APP_PORT=${APP_PORT:-8080}
+URL="http://localhost:$APP_PORT"
+RESULTADOS="$DIR/resultados"
+mkdir -p "$RESULTADOS"
+
+# Sem psql local, usa o cliente do próprio container
+if [ -z "$PSQL" ] && ! command -v psql > /dev/null 2>&1; then
+    export PSQL="docker compose exec -T db psql -U ${POSTGRES_USER:-postgres} -d ${POSTGRES_DB:-contabilidade}"
+fi
+
+echo "Subindo PostgreSQL..."
+docker compose up -d db
+until docker compose exec -T db pg_isready -U "${POSTGRES_USER:-postgres}" > /dev/null 2>&1; do
+    sleep 1
+done
+
+echo "Empacotando a aplicação..."
+mvn -B -q package -DskipTests
+JAR=$(ls target/contabilidade-pessoal-*.jar | grep -v plain | head -n 1)
+
+echo "Iniciando a aplicação (log em $RESULTADOS/app.log)..."
+java -jar "$JAR" > "$RESULTADOS/app.log" 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2> /dev/null || true' EXIT INT TERM
+
+until curl -fs "$URL/actuator/health" > /dev/null 2>&1; do
+    if ! kill -0 $APP_PID 2> /dev/null; then
+        echo "A aplicação terminou durante a inicialização; ver $RESULTADOS/app.log" >&2
+        exit 1
+    fi
+    sleep 1
+done
+
+# A fotografia do plano de contas só é carregada na primeira requisição: a carga
+# feita aqui, antes de qualquer acesso às páginas, já é vista pela aplicação
+if [ "$RECRIAR" = true ]; then
+    "$DIR/seed.sh" --lancamentos "$LANCAMENTOS" --limpar
+else
+    "$DIR/seed.sh" --lancamentos "$LANCAMENTOS" --se-vazia
+fi
+
+java -Dfile.encoding=UTF-8 "$DIR/CargaHttp.java" \
+    --url "$URL" \
+    --clientes "$CLIENTES" \
+    --duracao "$DURACAO" \
+    --aquecimento "$AQUECIMENTO" \
+    --saida "$RESULTADOS"
+
+# Métricas do servidor no mesmo período (tempos por rota, SQL e entidades por requisição)
+curl -fs "$URL/actuator/prometheus" > "$RESULTADOS/prometheus-$(date +%Y%m%d-%H%M%S).txt" || true
@@ -0,0 +1,84 @@
+#!/bin/sh
+# Carga de dados para os testes de desempenho (ver perf/README.md).
+#
+# Uso: perf/seed.sh [--lancamentos N] [--grupos N] [--analiticas N] [--anos N] [--limpar | --se-vazia]
+#
+# Com lançamentos já existentes, --limpar remove a carga anterior e --se-vazia encerra sem
+# alterar nada; sem nenhuma das duas o script falha.
+#
+# Conecta como POSTGRES_USER (superusuário do docker-compose), lendo o .env da raiz.
+# O psql pode ser trocado pela variável PSQL, ex.:
+#   PSQL="docker compose exec -T db psql -U postgres -d contabilidade" perf/seed.sh
+set -e
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+RAIZ=$(dirname "$DIR")
+
+if [ -f "$RAIZ/.env" ]; then
+    set -a
+    . "$RAIZ/.env"
+    set +a
+fi
+
+LANCAMENTOS=2000000
+GRUPOS=5
+ANALITICAS=10
+ANOS=5
+LIMPAR=false
+SE_VAZIA=false
+
+while [ $# -gt 0 ]; do
+    case "$1" in
+        --lancamentos) LANCAMENTOS=$2; shift 2 ;;
+        --grupos) GRUPOS=$2; shift 2 ;;
+        --analiticas) ANALITICAS=$2; shift 2 ;;
+        --anos) ANOS=$2; shift 2 ;;
+        --limpar) LIMPAR=true; shift ;;
+        --se-vazia) SE_VAZIA=true; shift ;;
+        *) echo "Opção desconhecida: $1" >&2; exit 2 ;;
+    esac
+done
+
+export PGHOST=${PGHOST:-localhost}
+export PGPORT=${PGPORT:-${DB_PORT:-5432}}
+export PGUSER=${PGUSER:-${POSTGRES_USER:-postgres}}
+export PGPASSWORD=${PGPASSWORD:-$POSTGRES_PASSWORD}
+export PGDATABASE=${PGDATABASE:-${POSTGRES_DB:-contabilidade}}
+
+PSQL=${PSQL:-psql}
+
+psql_cmd() {
+    $PSQL -X -q -v ON_ERROR_STOP=1 "$@"
+}
+
+existentes=$(psql_cmd -tA -c "SELECT COUNT(*) FROM public.tb_lancamentos")
+if [ "$existentes" -gt 0 ]; then
+    if [ "$SE_VAZIA" = true ]; then
+        echo "tb_lancamentos já possui $existentes linhas; carga mantida."
+        exit 0
+    fi
+    if [ "$LIMPAR" != true ]; then
+        echo "tb_lancamentos já possui $existentes linhas; use --limpar para recriar a carga." >&2
+        exit 1
+    fi
+    echo "Removendo carga anterior..."
+    psql_cmd <<'SQL'
+BEGIN;
+TRUNCATE public.tb_lancamentos;
+DELETE FROM public.tb_contas WHERE descricao LIKE 'Perf %';
+COMMIT;
+SQL
+fi
+
+echo "Plano de contas: $GRUPOS grupos x $ANALITICAS analíticas por conta do sistema"
+psql_cmd -v grupos="$GRUPOS" -v analiticas="$ANALITICAS" < "$DIR/sql/01_plano_contas.sql"
+
+echo "Lançamentos: $LANCAMENTOS em $ANOS anos (COPY)"
+inicio=$(date +%s)
+psql_cmd -v lancamentos="$LANCAMENTOS" -v anos="$ANOS" < "$DIR/sql/02_gerar_lancamentos.sql" \
+    | psql_cmd -c "SET session_replication_role = replica" -c \
+        "COPY public.tb_lancamentos (descricao, valor, data_competencia, id_conta_credito, id_conta_debito, status) FROM STDIN"
+echo "COPY concluído em $(( $(date +%s) - inicio ))s"
+
+echo "Recalculando saldos e estatísticas..."
+psql_cmd < "$DIR/sql/03_pos_carga.sql"
@@ -0,0 +1,56 @@
+-- Carga de desempenho: plano de contas
+-- Cria, abaixo de cada conta sintética do sistema sem inferiores do sistema, :grupos contas
+-- sintéticas com :analiticas contas analíticas cada. Todas as contas criadas aqui têm a
+-- descrição iniciada por 'Perf ' (usada pela limpeza em seed.sh).
+-- Executado com os gatilhos ativos: hierarquia (tb_contas_hierarquia) e validações do plano
+-- são mantidas pelo próprio banco.
+
+\set ON_ERROR_STOP on
+
+BEGIN;
+
+INSERT INTO public.tb_contas (id_superior, sequencia, descricao, credora, analitica, ativa,
+                              aceita_movimento_oposto, created_by_system)
+SELECT p.id,
+       b.base + g,
+       'Perf ' || p.descricao || ' ' || g,
+       p.credora,
+       false,
+       true,
+       p.aceita_movimento_oposto,
+       false
+  FROM public.tb_contas p
+ CROSS JOIN LATERAL (
+        SELECT COALESCE(MAX(i.sequencia), 0) AS base
+          FROM public.tb_contas i
+         WHERE i.id_superior = p.id
+       ) b
+ CROSS JOIN generate_series(1, :grupos) g
+ WHERE p.created_by_system
+   AND NOT p.analitica
+   AND NOT EXISTS (SELECT 1
+                     FROM public.tb_contas i
+                    WHERE i.id_superior = p.id
+                      AND i.created_by_system);
+
+INSERT INTO public.tb_contas (id_superior, sequencia, descricao, credora, analitica, ativa,
+                              aceita_movimento_oposto, created_by_system)
+SELECT s.id,
+       a,
+       s.descricao || '.' || a,
+       s.credora,
+       true,
+       true,
+       s.aceita_movimento_oposto,
+       false
+  FROM public.tb_contas s
+ CROSS JOIN generate_series(1, :analiticas) a
+ WHERE s.descricao LIKE 'Perf %'
+   AND NOT s.analitica;
+
+COMMIT;
+
+SELECT COUNT(*) FILTER (WHERE NOT analitica) AS sinteticas,
+       COUNT(*) FILTER (WHERE analitica) AS analiticas
+  FROM public.tb_contas
+ WHERE descricao LIKE 'Perf %';
@@ -0,0 +1,70 @@
+-- Carga de desempenho: lançamentos
+-- Gera :lancamentos linhas no formato de COPY (texto) para
+--   tb_lancamentos (descricao, valor, data_competencia, id_conta_credito, id_conta_debito, status)
+-- A saída é encadeada em um COPY ... FROM STDIN (ver seed.sh), sem arquivo intermediário.
+-- Perfil dos lançamentos (contas analíticas 'Perf ' de cada raiz):
+-- - 25% receitas (D ativo / C receita), 55% despesas à vista (D despesa / C ativo),
+--   10% despesas a prazo (D despesa / C passivo), 5% pagamentos (D passivo / C ativo) e
+--   5% transferências entre contas do ativo.
+-- - Datas distribuídas nos últimos :anos anos e nos próximos 60 dias; datas futuras são
+--   PREVISTO, 1% das passadas CANCELADO e as demais EFETIVO.
+-- - Valores concentrados em valores baixos (quadrado de uma distribuição uniforme).
+
+\set ON_ERROR_STOP on
+
+COPY (
+    WITH analiticas AS (
+        SELECT r.sequencia AS raiz, array_agg(c.id ORDER BY c.id) AS ids
+          FROM public.tb_contas c
+          JOIN public.tb_contas_hierarquia h ON h.id_inferior = c.id
+          JOIN public.tb_contas r ON r.id = h.id_superior AND r.id_superior IS NULL
+         WHERE c.analitica
+           AND c.ativa
+           AND c.descricao LIKE 'Perf %'
+         GROUP BY r.sequencia
+    ), plano AS (
+        SELECT (SELECT ids FROM analiticas WHERE raiz = 1) AS ativos,
+               (SELECT ids FROM analiticas WHERE raiz = 2) AS passivos,
+               (SELECT ids FROM analiticas WHERE raiz = 4) AS receitas,
+               (SELECT ids FROM analiticas WHERE raiz = 5) AS despesas
+    ), sorteio AS (
+        -- random() na lista de seleção é avaliado uma vez por linha
+        SELECT g, random() AS tipo, random() AS a, random() AS b, random() AS v,
+               random() AS d, random() AS s
+          FROM generate_series(1, :lancamentos) g
+    ), movimentos AS (
+        SELECT s.g,
+               s.v,
+               s.s,
+               current_date - 365 * :anos + floor(s.d * (365 * :anos + 60))::int AS data,
+               CASE
+                   WHEN s.tipo < 0.25 THEN p.ativos[1 + floor(s.a * cardinality(p.ativos))::int]
+                   WHEN s.tipo < 0.90 THEN p.despesas[1 + floor(s.a * cardinality(p.despesas))::int]
+                   WHEN s.tipo < 0.95 THEN p.passivos[1 + floor(s.a * cardinality(p.passivos))::int]
+                   ELSE p.ativos[1 + floor(s.a * cardinality(p.ativos))::int]
+               END AS id_conta_debito,
+               CASE
+                   WHEN s.tipo < 0.25 THEN p.receitas[1 + floor(s.b * cardinality(p.receitas))::int]
+                   WHEN s.tipo < 0.80 THEN p.ativos[1 + floor(s.b * cardinality(p.ativos))::int]
+                   WHEN s.tipo < 0.90 THEN p.passivos[1 + floor(s.b * cardinality(p.passivos))::int]
+                   WHEN s.tipo < 0.95 THEN p.ativos[1 + floor(s.b * cardinality(p.ativos))::int]
+                   -- Transferência: outra conta do ativo, diferente da debitada
+                   ELSE p.ativos[1 + (floor(s.a * cardinality(p.ativos))::int + 1
+                                      + floor(s.b * (cardinality(p.ativos) - 1))::int)
+                                     % cardinality(p.ativos)]
+               END AS id_conta_credito
+          FROM sorteio s
+         CROSS JOIN plano p
+    )
+    SELECT 'Carga ' || m.g,
+           round((0.01 + m.v * m.v * 2000)::numeric, 2),
+           m.data,
+           m.id_conta_credito,
+           m.id_conta_debito,
+           CASE
+               WHEN m.data > current_date THEN 'PREVISTO'
+               WHEN m.s < 0.01 THEN 'CANCELADO'
+               ELSE 'EFETIVO'
+           END
+      FROM movimentos m
+) TO STDOUT;
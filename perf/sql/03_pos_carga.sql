@@ -0,0 +1,21 @@
+-- Carga de desempenho: pós-carga
+-- O COPY de lançamentos roda com session_replication_role = replica (sem gatilhos nem
+-- verificação de FKs). Aqui as tabelas derivadas são recalculadas por inteiro e as
+-- estatísticas do planejador atualizadas.
+
+\set ON_ERROR_STOP on
+
+SELECT public.fn_recalcular_tb_saldos();
+
+DELETE FROM public.tb_saldos_mensais;
+SELECT public.fn_gerar_saldos_mensais() AS fechamentos_mensais;
+
+VACUUM ANALYZE public.tb_contas;
+VACUUM ANALYZE public.tb_contas_hierarquia;
+VACUUM ANALYZE public.tb_lancamentos;
+VACUUM ANALYZE public.tb_saldos;
+VACUUM ANALYZE public.tb_saldos_mensais;
+
+SELECT COUNT(*) AS lancamentos,
+       pg_size_pretty(pg_total_relation_size('public.tb_lancamentos')) AS tamanho
+  FROM public.tb_lancamentos;
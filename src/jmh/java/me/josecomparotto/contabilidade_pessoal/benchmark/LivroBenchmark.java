@@ -0,0 +1,99 @@
+package me.josecomparotto.contabilidade_pessoal.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import me.josecomparotto.contabilidade_pessoal.application.mapper.LancamentoMapper;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.MovimentoDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Lancamento;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Saldos e movimentos calculados em memória sobre o livro de lançamentos.
+ * <p>
+ * O saldo corrido do extrato é calculado no banco (ver
+ * {@code LancamentoRepository#listarExtrato}); o benchmark
+ * {@link #saldoCorrido(Blackhole)} reproduz o mesmo acúmulo em memória como
+ * referência.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LivroBenchmark {
+
+    @Param({ "4" })
+    public int profundidade;
+
+    @Param({ "6" })
+    public int largura;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int lancamentos;
+
+    private PlanoSintetico plano;
+    private Conta contaAnalitica;
+    private List<Lancamento> ordenadosPorData;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        plano = PlanoSintetico.criar(profundidade, largura, lancamentos);
+        contaAnalitica = plano.getAnaliticas().get(0);
+
+        ordenadosPorData = new ArrayList<>(plano.getLancamentos());
+        ordenadosPorData.sort(Comparator.comparing(Lancamento::getDataCompetencia)
+                .thenComparing(Lancamento::getId));
+    }
+
+    @Benchmark
+    public void saldoContabilRaizes(Blackhole bh) {
+        for (Conta raiz : plano.getRaizes()) {
+            bh.consume(raiz.getSaldoContabilEfetivo());
+            bh.consume(raiz.getSaldoContabilPrevisto());
+        }
+    }
+
+    @Benchmark
+    public Money saldoContabilAnalitica() {
+        return contaAnalitica.getSaldoContabil(l -> StatusLancamento.EFETIVO.equals(l.getStatus()));
+    }
+
+    @Benchmark
+    public void toMovimento(Blackhole bh) {
+        for (Lancamento l : plano.getLancamentos()) {
+            bh.consume(LancamentoMapper.toMovimentoDebito(l));
+        }
+    }
+
+    // Movimentos com saldo acumulado, na ordem do extrato (data, id)
+    @Benchmark
+    public void saldoCorrido(Blackhole bh) {
+        Money saldo = Money.ZERO;
+        for (Lancamento l : ordenadosPorData) {
+            MovimentoDto m = LancamentoMapper.toMovimentoDebito(l);
+            saldo = saldo.plus(m.getValor());
+            m.setSaldo(saldo);
+            bh.consume(m);
+        }
+    }
+}
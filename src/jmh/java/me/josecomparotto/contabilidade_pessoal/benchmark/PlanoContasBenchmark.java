@@ -0,0 +1,115 @@
+package me.josecomparotto.contabilidade_pessoal.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.application.mapper.ContaMapper;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+
+/**
+ * Navegação e montagem da listagem do plano de contas, sem lançamentos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanoContasBenchmark {
+
+    @Param({ "3", "5" })
+    public int profundidade;
+
+    @Param({ "4", "8" })
+    public int largura;
+
+    private PlanoSintetico plano;
+    private PlanoContasSnapshot snapshot;
+    private List<Conta> embaralhadas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        plano = PlanoSintetico.criar(profundidade, largura, 0);
+        snapshot = PlanoContasSnapshot.of(plano.getContas());
+        embaralhadas = new ArrayList<>(plano.getContas());
+        Collections.shuffle(embaralhadas, new Random(42L));
+    }
+
+    @Benchmark
+    public void todasInferiores(Blackhole bh) {
+        for (Conta raiz : plano.getRaizes()) {
+            bh.consume(raiz.getTodasInferiores());
+        }
+    }
+
+    // Contas sintéticas não relidas do banco: o código é montado pelo caminho de superiores
+    @Benchmark
+    public void codigos(Blackhole bh) {
+        for (Conta c : plano.getContas()) {
+            bh.consume(c.getCodigo());
+        }
+    }
+
+    @Benchmark
+    public void displayTexts(Blackhole bh) {
+        for (Conta c : plano.getContas()) {
+            bh.consume(c.getDisplayText());
+        }
+    }
+
+    /**
+     * Ordenação em memória pelo caminho de sequências, como era feita antes de
+     * a ordem do plano vir do banco. Mantida como referência para comparar com
+     * {@link #snapshot()}.
+     */
+    @Benchmark
+    public List<Conta> ordenarPorCaminho() {
+        List<Conta> contas = new ArrayList<>(embaralhadas);
+        contas.sort((a, b) -> compararCaminhos(a.getPath(), b.getPath()));
+        return contas;
+    }
+
+    @Benchmark
+    public PlanoContasSnapshot snapshot() {
+        return PlanoContasSnapshot.of(plano.getContas());
+    }
+
+    @Benchmark
+    public List<ContaViewDto> listagemPeloSnapshot() {
+        List<ContaViewDto> dtos = new ArrayList<>(snapshot.tamanho());
+        for (int i = 0; i < snapshot.tamanho(); i++) {
+            dtos.add(ContaMapper.toViewDto(snapshot, i, null));
+        }
+        return dtos;
+    }
+
+    private static int compararCaminhos(List<Integer> a, List<Integer> b) {
+        int n = Math.min(a.size(), b.size());
+        for (int i = 0; i < n; i++) {
+            int cmp = Integer.compare(a.get(i), b.get(i));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+}
@@ -0,0 +1,117 @@
+package me.josecomparotto.contabilidade_pessoal.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Lancamento;
+import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Plano de contas e livro de lançamentos sintéticos, em memória, para os
+ * benchmarks.
+ * <p>
+ * A árvore tem {@code largura} inferiores por conta até a {@code profundidade}
+ * indicada; só as folhas são analíticas. Os lançamentos são distribuídos entre
+ * pares de folhas com semente fixa, para que execuções diferentes comparem o
+ * mesmo conjunto de dados.
+ */
+final class PlanoSintetico {
+
+    private static final long SEMENTE = 42L;
+    private static final LocalDate DATA_INICIAL = LocalDate.of(2020, 1, 1);
+
+    private final List<Conta> contas = new ArrayList<>(); // pré-ordem
+    private final List<Conta> raizes = new ArrayList<>();
+    private final List<Conta> analiticas = new ArrayList<>();
+    private final List<Lancamento> lancamentos = new ArrayList<>();
+
+    private int proximoId = 1;
+    private long proximoIdLancamento = 1;
+
+    private PlanoSintetico() {
+    }
+
+    static PlanoSintetico criar(int profundidade, int largura, int quantidadeLancamentos) {
+        PlanoSintetico plano = new PlanoSintetico();
+        // Uma raiz de cada natureza, como no plano padrão (ativo x passivo)
+        plano.raizes.add(plano.criarConta(null, 1, "Ativo", Natureza.DEVEDORA, profundidade, largura));
+        plano.raizes.add(plano.criarConta(null, 2, "Passivo", Natureza.CREDORA, profundidade, largura));
+        plano.lancar(quantidadeLancamentos);
+        return plano;
+    }
+
+    private Conta criarConta(Conta superior, int sequencia, String descricao, Natureza natureza,
+            int niveisRestantes, int largura) {
+        Conta conta = new Conta();
+        conta.setId(proximoId++);
+        conta.setSequencia(sequencia);
+        conta.setDescricao(descricao);
+        conta.setNatureza(natureza);
+        conta.setAtiva(true);
+        conta.setAceitaMovimentoOposto(false);
+        conta.setCreatedBySystem(false);
+        conta.setSuperior(superior);
+        if (superior != null) {
+            superior.getInferiores().add(conta);
+        }
+        contas.add(conta);
+
+        if (niveisRestantes <= 1) {
+            conta.setTipo(TipoConta.ANALITICA);
+            analiticas.add(conta);
+            return conta;
+        }
+
+        conta.setTipo(TipoConta.SINTETICA);
+        for (int i = 1; i <= largura; i++) {
+            criarConta(conta, i, descricao + " " + i, natureza, niveisRestantes - 1, largura);
+        }
+        return conta;
+    }
+
+    private void lancar(int quantidade) {
+        SplittableRandom random = new SplittableRandom(SEMENTE);
+        int n = analiticas.size();
+        for (int i = 0; i < quantidade; i++) {
+            Conta debito = analiticas.get(random.nextInt(n));
+            Conta credito = analiticas.get(random.nextInt(n));
+            if (debito == credito) {
+                credito = analiticas.get((analiticas.indexOf(debito) + 1) % n);
+            }
+
+            Lancamento l = new Lancamento();
+            l.setId(proximoIdLancamento++);
+            l.setDescricao("Lançamento " + i);
+            l.setValor(Money.ofCentavos(1 + random.nextLong(1_000_000L)));
+            l.setDataCompetencia(DATA_INICIAL.plusDays(random.nextInt(3650)));
+            l.setStatus(random.nextInt(10) == 0 ? StatusLancamento.PREVISTO : StatusLancamento.EFETIVO);
+            l.setContaDebito(debito);
+            l.setContaCredito(credito);
+            debito.getLancamentosDebito().add(l);
+            credito.getLancamentosCredito().add(l);
+            lancamentos.add(l);
+        }
+    }
+
+    List<Conta> getContas() {
+        return contas;
+    }
+
+    List<Conta> getRaizes() {
+        return raizes;
+    }
+
+    List<Conta> getAnaliticas() {
+        return analiticas;
+    }
+
+    List<Lancamento> getLancamentos() {
+        return lancamentos;
+    }
+}
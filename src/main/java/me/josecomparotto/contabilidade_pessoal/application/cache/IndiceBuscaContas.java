@@ -0,0 +1,237 @@
+package me.josecomparotto.contabilidade_pessoal.application.cache;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de busca por prefixo sobre o plano de contas (código e palavras da
+ * descrição da conta e da sua raiz, as partes do texto de exibição), derivado
+ * de uma {@link PlanoContasSnapshot}.
+ * <p>
+ * Os textos são normalizados sem acentos e em minúsculas ("Alimentação" e
+ * "alimentacao" são equivalentes) e quebrados em palavras. As palavras ficam
+ * em um array ordenado, de modo que as que começam por um termo formam uma
+ * faixa contínua encontrada por busca binária. Como a fotografia, o índice é
+ * imutável e pode ser lido sem sincronização.
+ */
+public final class IndiceBuscaContas {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Pontuação por termo; o resultado é ordenado pela soma (e, no empate, pela ordem do plano)
+    private static final int PONTOS_CODIGO_EXATO = 100;
+    private static final int PONTOS_CODIGO_PREFIXO = 40;
+    private static final int PONTOS_PALAVRA_EXATA = 12;
+    private static final int PONTOS_PALAVRA_PREFIXO = 6;
+    private static final int PONTOS_PALAVRA_DA_DESCRICAO = 4;
+    private static final int PONTOS_INICIO_DA_DESCRICAO = 20;
+
+    private final PlanoContasSnapshot plano;
+
+    // Palavras distintas em ordem alfabética e, para cada uma, as contas que a contêm
+    private final String[] palavras;
+    private final int[][] contasPorPalavra;
+    // Marca, por palavra e conta, se a palavra vem da própria descrição (e não da raiz)
+    private final boolean[][] daDescricao;
+
+    // Códigos em ordem alfabética (prefixo "1.2" encontra 1.2, 1.2.1, ...)
+    private final String[] codigos;
+    private final int[] contaPorCodigo;
+
+    private final String[] descricoesNormalizadas;
+
+    private IndiceBuscaContas(PlanoContasSnapshot plano) {
+        this.plano = plano;
+        int n = plano.tamanho();
+
+        Map<String, List<int[]>> ocorrencias = new HashMap<>();
+        descricoesNormalizadas = new String[n];
+        for (int i = 0; i < n; i++) {
+            descricoesNormalizadas[i] = normalizar(plano.getDescricao(i));
+            List<String> daPropria = palavras(descricoesNormalizadas[i]);
+            for (String p : daPropria) {
+                adicionar(ocorrencias, p, i, true);
+            }
+            // Como no texto de exibição, a descrição da raiz (ex.: "Despesas") também identifica a conta
+            for (String p : palavras(normalizar(plano.getDescricao(raiz(plano, i))))) {
+                if (!daPropria.contains(p)) {
+                    adicionar(ocorrencias, p, i, false);
+                }
+            }
+        }
+
+        palavras = ocorrencias.keySet().toArray(new String[0]);
+        Arrays.sort(palavras);
+        contasPorPalavra = new int[palavras.length][];
+        daDescricao = new boolean[palavras.length][];
+        for (int k = 0; k < palavras.length; k++) {
+            List<int[]> lista = ocorrencias.get(palavras[k]);
+            contasPorPalavra[k] = new int[lista.size()];
+            daDescricao[k] = new boolean[lista.size()];
+            for (int j = 0; j < lista.size(); j++) {
+                contasPorPalavra[k][j] = lista.get(j)[0];
+                daDescricao[k][j] = lista.get(j)[1] == 1;
+            }
+        }
+
+        Integer[] ordem = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ordem[i] = i;
+        }
+        Arrays.sort(ordem, (a, b) -> plano.getCodigo(a).compareTo(plano.getCodigo(b)));
+        codigos = new String[n];
+        contaPorCodigo = new int[n];
+        for (int j = 0; j < n; j++) {
+            codigos[j] = plano.getCodigo(ordem[j]);
+            contaPorCodigo[j] = ordem[j];
+        }
+    }
+
+    public static IndiceBuscaContas of(PlanoContasSnapshot plano) {
+        return new IndiceBuscaContas(plano);
+    }
+
+    /** Fotografia da qual o índice foi montado (os resultados são índices dela). */
+    public PlanoContasSnapshot getPlano() {
+        return plano;
+    }
+
+    /**
+     * Contas que contêm todos os termos da consulta (cada termo como prefixo de
+     * uma palavra ou do código), da mais relevante para a menos relevante.
+     *
+     * @param consulta texto digitado; vazio lista as contas na ordem do plano
+     * @param filtro   restrição adicional sobre o índice da conta
+     * @param limite   quantidade máxima de resultados
+     * @return índices na fotografia
+     */
+    public int[] buscar(String consulta, IntPredicate filtro, int limite) {
+        int n = plano.tamanho();
+        String normalizada = normalizar(consulta);
+        List<String> termos = termos(normalizada);
+        if (termos.isEmpty()) {
+            int[] resultado = new int[Math.min(limite, n)];
+            int k = 0;
+            for (int i = 0; i < n && k < resultado.length; i++) {
+                if (filtro.test(i)) {
+                    resultado[k++] = i;
+                }
+            }
+            return Arrays.copyOf(resultado, k);
+        }
+
+        // acertos[i] = quantidade de termos já encontrados na conta i; só avança se a
+        // conta encontrou todos os anteriores (E lógico entre os termos)
+        int[] acertos = new int[n];
+        int[] pontos = new int[n];
+        int[] melhorDoTermo = new int[n];
+        for (int t = 0; t < termos.size(); t++) {
+            String termo = termos.get(t);
+            Arrays.fill(melhorDoTermo, 0);
+            pontuarCodigos(termo, melhorDoTermo);
+            pontuarPalavras(termo, melhorDoTermo);
+            for (int i = 0; i < n; i++) {
+                if (melhorDoTermo[i] > 0 && acertos[i] == t) {
+                    acertos[i]++;
+                    pontos[i] += melhorDoTermo[i];
+                }
+            }
+        }
+
+        List<Integer> encontradas = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (acertos[i] == termos.size() && filtro.test(i)) {
+                if (descricoesNormalizadas[i].startsWith(normalizada)) {
+                    pontos[i] += PONTOS_INICIO_DA_DESCRICAO;
+                }
+                encontradas.add(i);
+            }
+        }
+        encontradas.sort((a, b) -> pontos[a] != pontos[b] ? Integer.compare(pontos[b], pontos[a])
+                : Integer.compare(a, b));
+
+        int[] resultado = new int[Math.min(limite, encontradas.size())];
+        for (int k = 0; k < resultado.length; k++) {
+            resultado[k] = encontradas.get(k);
+        }
+        return resultado;
+    }
+
+    private void pontuarCodigos(String termo, int[] melhor) {
+        for (int j = inicioDaFaixa(codigos, termo); j < codigos.length && codigos[j].startsWith(termo); j++) {
+            int pontosCodigo = codigos[j].length() == termo.length() ? PONTOS_CODIGO_EXATO : PONTOS_CODIGO_PREFIXO;
+            int i = contaPorCodigo[j];
+            melhor[i] = Math.max(melhor[i], pontosCodigo);
+        }
+    }
+
+    private void pontuarPalavras(String termo, int[] melhor) {
+        for (int k = inicioDaFaixa(palavras, termo); k < palavras.length && palavras[k].startsWith(termo); k++) {
+            int base = palavras[k].length() == termo.length() ? PONTOS_PALAVRA_EXATA : PONTOS_PALAVRA_PREFIXO;
+            int[] contas = contasPorPalavra[k];
+            for (int j = 0; j < contas.length; j++) {
+                int p = base + (daDescricao[k][j] ? PONTOS_PALAVRA_DA_DESCRICAO : 0);
+                melhor[contas[j]] = Math.max(melhor[contas[j]], p);
+            }
+        }
+    }
+
+    // Primeira posição cujo valor é >= prefixo (início das entradas que começam por ele)
+    private static int inicioDaFaixa(String[] ordenados, String prefixo) {
+        int i = Arrays.binarySearch(ordenados, prefixo);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static int raiz(PlanoContasSnapshot plano, int i) {
+        while (plano.getSuperior(i) >= 0) {
+            i = plano.getSuperior(i);
+        }
+        return i;
+    }
+
+    private static void adicionar(Map<String, List<int[]>> ocorrencias, String palavra, int conta,
+            boolean daDescricao) {
+        ocorrencias.computeIfAbsent(palavra, p -> new ArrayList<>()).add(new int[] { conta, daDescricao ? 1 : 0 });
+    }
+
+    // Palavras distintas do texto já normalizado
+    private static List<String> palavras(String normalizado) {
+        List<String> lista = new ArrayList<>();
+        for (String p : SEPARADORES.split(normalizado)) {
+            if (!p.isEmpty() && !lista.contains(p)) {
+                lista.add(p);
+            }
+        }
+        return lista;
+    }
+
+    // Termos da consulta: separados por espaço, preservando os pontos de um código (ex.: "1.2")
+    private static List<String> termos(String normalizada) {
+        List<String> lista = new ArrayList<>();
+        for (String t : normalizada.split("\\s+")) {
+            // "1.2." (como no texto de exibição) equivale a "1.2"
+            String termo = t.matches("[\\d.]+") ? t.replaceAll("\\.+$", "") : SEPARADORES.matcher(t).replaceAll("");
+            if (!termo.isEmpty() && !lista.contains(termo)) {
+                lista.add(termo);
+            }
+        }
+        return lista;
+    }
+
+    /** Texto sem acentos e em minúsculas (ex.: "Poupança" → "poupanca"). */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT).trim();
+    }
+}
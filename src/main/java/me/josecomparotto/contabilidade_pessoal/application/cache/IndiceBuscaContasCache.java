@@ -0,0 +1,34 @@
+package me.josecomparotto.contabilidade_pessoal.application.cache;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantém o índice de busca da fotografia corrente do plano de contas.
+ * <p>
+ * O índice é remontado na primeira busca após a troca da fotografia (ver
+ * {@link PlanoContasCache}), então acompanha as alterações de contas sem
+ * eventos próprios.
+ */
+@Component
+public class IndiceBuscaContasCache {
+
+    @Autowired
+    private PlanoContasCache planoContasCache;
+
+    private final AtomicReference<IndiceBuscaContas> atual = new AtomicReference<>();
+
+    public IndiceBuscaContas obter() {
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        IndiceBuscaContas indice = atual.get();
+        if (indice != null && indice.getPlano() == plano) {
+            return indice;
+        }
+        // Montagens concorrentes da mesma fotografia produzem índices equivalentes
+        indice = IndiceBuscaContas.of(plano);
+        atual.set(indice);
+        return indice;
+    }
+}
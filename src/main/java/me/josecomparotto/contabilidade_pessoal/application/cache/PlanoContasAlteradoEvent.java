@@ -0,0 +1,18 @@
+package me.josecomparotto.contabilidade_pessoal.application.cache;
+
+/**
+ * Publicado quando uma conta é criada, alterada ou excluída. A fotografia do
+ * plano de contas é descartada somente após o commit da transação.
+ */
+public class PlanoContasAlteradoEvent {
+
+    private final Integer idConta;
+
+    public PlanoContasAlteradoEvent(Integer idConta) {
+        this.idConta = idConta;
+    }
+
+    public Integer getIdConta() {
+        return idConta;
+    }
+}
@@ -0,0 +1,96 @@
+package me.josecomparotto.contabilidade_pessoal.application.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import me.josecomparotto.contabilidade_pessoal.application.datasource.LeituraPrimaria;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+
+/**
+ * Mantém a fotografia corrente do plano de contas.
+ * <p>
+ * Leituras não usam locks: a referência é lida atomicamente e a fotografia é
+ * imutável. O banco só é consultado na primeira leitura após uma alteração no
+ * plano de contas.
+ * <p>
+ * A fotografia vale para todos os clientes até a próxima alteração, então é
+ * sempre carregada do primário: a primeira leitura após a invalidação costuma
+ * vir de outro cliente, dentro de uma transação somente leitura que iria para a
+ * réplica, e uma réplica atrasada ficaria gravada como o plano corrente.
+ */
+@Component
+public class PlanoContasCache {
+
+    // Superior e inferiores inicializados em uma única consulta, na ordem do plano
+    // (caminho de sequências)
+    static final String CONSULTA_PLANO = "select c from Conta c left join fetch c.superior"
+            + " left join fetch c.inferiores order by c.caminho";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final AtomicReference<PlanoContasSnapshot> atual = new AtomicReference<>();
+
+    // Incrementada a cada invalidação; impede que uma carga iniciada antes da
+    // alteração publique uma fotografia desatualizada
+    private final AtomicLong geracao = new AtomicLong();
+
+    // Uma carga por vez; as demais threads esperam a fotografia. Lock em vez de monitor:
+    // a carga consulta o banco e, em uma thread virtual, synchronized prenderia a thread
+    // portadora durante toda a consulta
+    private final ReentrantLock carga = new ReentrantLock();
+
+    public PlanoContasSnapshot obter() {
+        PlanoContasSnapshot snapshot = atual.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        carga.lock();
+        try {
+            snapshot = atual.get();
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long geracaoInicial = geracao.get();
+            snapshot = LeituraPrimaria.executar(this::carregar);
+            if (geracao.get() == geracaoInicial) {
+                atual.compareAndSet(null, snapshot);
+            }
+            return snapshot;
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    // EntityManager próprio: uma conexão nova (roteada para o primário) e um contexto de
+    // persistência vazio, sem reaproveitar contas carregadas da réplica pela transação ou
+    // pela requisição em curso; as contas lidas alimentam o cache de segundo nível
+    private PlanoContasSnapshot carregar() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            return PlanoContasSnapshot.of(em.createQuery(CONSULTA_PLANO, Conta.class).getResultList());
+        } finally {
+            em.close();
+        }
+    }
+
+    public void invalidar() {
+        geracao.incrementAndGet();
+        atual.set(null);
+    }
+
+    // Sem transação ativa (fallbackExecution), invalida imediatamente
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlanoContasAlterado(PlanoContasAlteradoEvent event) {
+        invalidar();
+    }
+}
@@ -0,0 +1,248 @@
+package me.josecomparotto.contabilidade_pessoal.application.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
+import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
+import me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta;
+
+/**
+ * Fotografia imutável do plano de contas, indexada por posição.
+ * <p>
+ * As contas são armazenadas em arrays paralelos na ordem do plano
+ * (caminho de sequências em pré-ordem), de modo que o índice de uma conta é
+ * também a sua posição na listagem. Por ser
+ * imutável, a mesma instância pode ser lida por várias requisições ao mesmo
+ * tempo sem sincronização; alterações no plano geram uma nova instância (ver
+ * {@link PlanoContasCache}).
+ */
+public final class PlanoContasSnapshot {
+
+    private static final int[] SEM_INFERIORES = new int[0];
+
+    private static final byte CREDORA = 1;
+    private static final byte ANALITICA = 1 << 1;
+    private static final byte REDUTORA = 1 << 2;
+    private static final byte ACEITA_MOVIMENTO_OPOSTO = 1 << 3;
+    private static final byte ATIVA = 1 << 4;
+    private static final byte EDITAVEL = 1 << 5;
+    // Deletável desconsiderando lançamentos (que só são conhecidos junto com os saldos)
+    private static final byte DELETAVEL_SEM_LANCAMENTOS = 1 << 6;
+
+    private final int[] ids;
+    private final int[] superiores; // índice da superior; -1 para contas raiz
+    private final int[] profundidades;
+    private final int[] sequencias;
+    private final String[] codigos;
+    private final String[] descricoes;
+    private final String[] displayTexts;
+    private final byte[] flags;
+    private final int[][] inferiores;
+    private final List<Set<String>> editaveisSemLancamentos;
+    private final List<Set<String>> editaveisComLancamentos;
+    // Índice da conta por id (posição = id); -1 para ids inexistentes. Ids vêm de
+    // uma sequência (identity), então a tabela é densa e a busca não cria objetos
+    private final int[] indicePorId;
+    private final Map<String, Integer> indicePorCodigo;
+
+    private PlanoContasSnapshot(int tamanho, int maiorId) {
+        this.ids = new int[tamanho];
+        this.superiores = new int[tamanho];
+        this.profundidades = new int[tamanho];
+        this.sequencias = new int[tamanho];
+        this.codigos = new String[tamanho];
+        this.descricoes = new String[tamanho];
+        this.displayTexts = new String[tamanho];
+        this.flags = new byte[tamanho];
+        this.inferiores = new int[tamanho][];
+        this.editaveisSemLancamentos = new ArrayList<>(tamanho);
+        this.editaveisComLancamentos = new ArrayList<>(tamanho);
+        this.indicePorId = new int[maiorId + 1];
+        Arrays.fill(this.indicePorId, -1);
+        this.indicePorCodigo = new HashMap<>(tamanho * 2);
+    }
+
+    /**
+     * Monta a fotografia a partir das contas já ordenadas pelo caminho no plano
+     * (pré-ordem, ver {@code PlanoContasCache}), com
+     * superior e inferiores inicializados.
+     */
+    public static PlanoContasSnapshot of(List<Conta> contasOrdenadas) {
+        int maiorId = 0;
+        for (Conta c : contasOrdenadas) {
+            maiorId = Math.max(maiorId, c.getId());
+        }
+        PlanoContasSnapshot s = new PlanoContasSnapshot(contasOrdenadas.size(), maiorId);
+
+        int n = 0;
+        for (Conta c : contasOrdenadas) {
+            int i = n++;
+            s.indicePorId[c.getId()] = i;
+
+            // Em pré-ordem, a superior sempre aparece antes das inferiores
+            Conta sup = c.getSuperior();
+            int indiceSuperior = sup != null ? s.indiceDe(sup.getId()) : -1;
+            if (sup != null && indiceSuperior < 0) {
+                throw new IllegalStateException("Plano de contas fora de ordem: conta " + c.getId()
+                        + " listada antes da superior " + sup.getId());
+            }
+
+            s.ids[i] = c.getId();
+            s.superiores[i] = indiceSuperior;
+            s.profundidades[i] = indiceSuperior >= 0 ? s.profundidades[indiceSuperior] + 1 : 0;
+            s.sequencias[i] = c.getSequencia() != null ? c.getSequencia() : 0;
+            s.codigos[i] = c.getCodigo();
+            s.indicePorCodigo.put(s.codigos[i], i);
+            s.descricoes[i] = c.getDescricao();
+            s.displayTexts[i] = c.getDisplayText();
+            s.flags[i] = flagsDe(c);
+            s.editaveisSemLancamentos.add(c.getEditableProperties(false));
+            s.editaveisComLancamentos.add(c.getEditableProperties(true));
+        }
+
+        // Inferiores diretas, já na ordem do plano
+        int[] quantidades = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (s.superiores[i] >= 0) {
+                quantidades[s.superiores[i]]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            s.inferiores[i] = quantidades[i] == 0 ? SEM_INFERIORES : new int[quantidades[i]];
+            quantidades[i] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            int sup = s.superiores[i];
+            if (sup >= 0) {
+                s.inferiores[sup][quantidades[sup]++] = i;
+            }
+        }
+        return s;
+    }
+
+    private static byte flagsDe(Conta c) {
+        byte f = 0;
+        if (c.getNatureza() == Natureza.CREDORA)
+            f |= CREDORA;
+        if (c.getTipo() == TipoConta.ANALITICA)
+            f |= ANALITICA;
+        if (c.isRedutora())
+            f |= REDUTORA;
+        if (Boolean.TRUE.equals(c.getAceitaMovimentoOposto()))
+            f |= ACEITA_MOVIMENTO_OPOSTO;
+        if (Boolean.TRUE.equals(c.isAtiva()))
+            f |= ATIVA;
+        if (c.isEditable())
+            f |= EDITAVEL;
+        if (c.isDeletable(false))
+            f |= DELETAVEL_SEM_LANCAMENTOS;
+        return f;
+    }
+
+    public int tamanho() {
+        return ids.length;
+    }
+
+    /** Índice da conta na fotografia, ou -1 se não existir. */
+    public int indiceDe(Integer id) {
+        if (id == null)
+            return -1;
+        return indiceDe(id.intValue());
+    }
+
+    /** Índice da conta na fotografia, ou -1 se não existir. */
+    public int indiceDe(int id) {
+        return id >= 0 && id < indicePorId.length ? indicePorId[id] : -1;
+    }
+
+    /** Índice da conta pelo código no plano (ex.: "1.1.2"), ou -1 se não existir. */
+    public int indiceDeCodigo(String codigo) {
+        if (codigo == null)
+            return -1;
+        Integer i = indicePorCodigo.get(codigo.trim());
+        return i != null ? i : -1;
+    }
+
+    public Integer getId(int i) {
+        return ids[i];
+    }
+
+    /** Índice da conta superior, ou -1 para contas raiz. */
+    public int getSuperior(int i) {
+        return superiores[i];
+    }
+
+    /** Índices das inferiores diretas, em ordem de sequência. */
+    public int[] getInferiores(int i) {
+        return inferiores[i].clone();
+    }
+
+    public int getProfundidade(int i) {
+        return profundidades[i];
+    }
+
+    public int getSequencia(int i) {
+        return sequencias[i];
+    }
+
+    public String getCodigo(int i) {
+        return codigos[i];
+    }
+
+    public String getDescricao(int i) {
+        return descricoes[i];
+    }
+
+    public String getDisplayText(int i) {
+        return displayTexts[i];
+    }
+
+    public Natureza getNatureza(int i) {
+        return (flags[i] & CREDORA) != 0 ? Natureza.CREDORA : Natureza.DEVEDORA;
+    }
+
+    public TipoConta getTipo(int i) {
+        return (flags[i] & ANALITICA) != 0 ? TipoConta.ANALITICA : TipoConta.SINTETICA;
+    }
+
+    public boolean isAnalitica(int i) {
+        return (flags[i] & ANALITICA) != 0;
+    }
+
+    public boolean isRedutora(int i) {
+        return (flags[i] & REDUTORA) != 0;
+    }
+
+    public boolean isAceitaMovimentoOposto(int i) {
+        return (flags[i] & ACEITA_MOVIMENTO_OPOSTO) != 0;
+    }
+
+    public boolean isAceitaSentido(int i, SentidoContabil sentido) {
+        if (sentido == null)
+            return false;
+        Natureza natureza = sentido == SentidoContabil.CREDITO ? Natureza.CREDORA : Natureza.DEVEDORA;
+        return natureza == getNatureza(i) || isAceitaMovimentoOposto(i);
+    }
+
+    public boolean isAtiva(int i) {
+        return (flags[i] & ATIVA) != 0;
+    }
+
+    public boolean isEditavel(int i) {
+        return (flags[i] & EDITAVEL) != 0;
+    }
+
+    public boolean isDeletavel(int i, boolean possuiLancamentos) {
+        return !possuiLancamentos && (flags[i] & DELETAVEL_SEM_LANCAMENTOS) != 0;
+    }
+
+    public Set<String> getPropriedadesEditaveis(int i, boolean possuiLancamentos) {
+        return possuiLancamentos ? editaveisComLancamentos.get(i) : editaveisSemLancamentos.get(i);
+    }
+}
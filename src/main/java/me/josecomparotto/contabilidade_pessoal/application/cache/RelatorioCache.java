@@ -0,0 +1,58 @@
+package me.josecomparotto.contabilidade_pessoal.application.cache;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.RelatorioDto;
+import me.josecomparotto.contabilidade_pessoal.model.enums.TipoRelatorio;
+
+/**
+ * Relatórios já calculados, por tipo e período.
+ * <p>
+ * Cada entrada guarda a marca de alteração de contas e lançamentos (a mesma
+ * do ETag da API, ver {@code MarcaAlteracaoService}) vigente quando foi
+ * calculada; uma leitura com outra marca recalcula o relatório. A marca são os
+ * contadores por tabela da V23, incrementados por gatilho em toda escrita e
+ * publicados na ordem de commit, então o cache acompanha qualquer escrita
+ * confirmada (inclusive de outra instância ou direto no banco), sem eventos
+ * próprios.
+ */
+@Component
+public class RelatorioCache {
+
+    // Períodos distintos guardados; acima disso, as entradas são descartadas
+    static final int LIMITE_ENTRADAS = 256;
+
+    private record Chave(TipoRelatorio tipo, LocalDate dataInicial, LocalDate dataFinal) {
+    }
+
+    private record Entrada(String marca, RelatorioDto relatorio) {
+    }
+
+    private final Map<Chave, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public RelatorioDto obter(TipoRelatorio tipo, LocalDate dataInicial, LocalDate dataFinal, String marca,
+            Supplier<RelatorioDto> calcular) {
+        Chave chave = new Chave(tipo, dataInicial, dataFinal);
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && entrada.marca().equals(marca)) {
+            return entrada.relatorio();
+        }
+
+        // Cálculos concorrentes do mesmo período produzem relatórios equivalentes
+        RelatorioDto relatorio = calcular.get();
+        if (entradas.size() >= LIMITE_ENTRADAS) {
+            // Entradas de marcas anteriores nunca mais serão usadas
+            entradas.values().removeIf(e -> !e.marca().equals(marca));
+            if (entradas.size() >= LIMITE_ENTRADAS) {
+                entradas.clear();
+            }
+        }
+        entradas.put(chave, new Entrada(marca, relatorio));
+        return relatorio;
+    }
+}
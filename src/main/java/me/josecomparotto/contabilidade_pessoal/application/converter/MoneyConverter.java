@@ -0,0 +1,23 @@
+package me.josecomparotto.contabilidade_pessoal.application.converter;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+@Converter(autoApply = false)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money attribute) {
+        if (attribute == null) return null;
+        return attribute.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal dbData) {
+        if (dbData == null) return null;
+        return Money.of(dbData);
+    }
+}
@@ -0,0 +1,23 @@
+package me.josecomparotto.contabilidade_pessoal.application.converter;
+
+import java.util.Locale;
+
+import org.springframework.format.Formatter;
+import org.springframework.lang.NonNull;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+// Binding de formulários e parâmetros: aceita 1234.56 (campo oculto do money.js) ou 1.234,56
+public class MoneyFormatter implements Formatter<Money> {
+
+    @Override
+    public Money parse(@NonNull String text, @NonNull Locale locale) {
+        return Money.parse(text);
+    }
+
+    @Override
+    @NonNull
+    public String print(@NonNull Money object, @NonNull Locale locale) {
+        return object.toString();
+    }
+}
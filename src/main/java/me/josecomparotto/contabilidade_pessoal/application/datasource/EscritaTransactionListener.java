@@ -0,0 +1,52 @@
+package me.josecomparotto.contabilidade_pessoal.application.datasource;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Após o commit de uma transação de escrita, direciona as próximas leituras do
+ * mesmo cliente para o primário: pelo resto da requisição (thread atual) e, por
+ * {@code janela}, nas requisições seguintes (cookie).
+ */
+public class EscritaTransactionListener implements TransactionExecutionListener {
+
+    private final Duration janela;
+
+    public EscritaTransactionListener(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transacao, @Nullable Throwable falha) {
+        if (falha != null || transacao.isReadOnly() || !transacao.isNewTransaction()) {
+            return;
+        }
+
+        // Fora de requisições (tarefas agendadas) não há cliente a acompanhar; o
+        // interceptor limpa a marca da thread ao fim da requisição
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet) {
+            LeituraPrimaria.ativar();
+            HttpServletResponse response = servlet.getResponse();
+            if (response != null && !response.isCommitted()) {
+                ResponseCookie cookie = ResponseCookie.from(LeituraPrimaria.COOKIE, "1")
+                        .path("/")
+                        .maxAge(janela)
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .build();
+                response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package me.josecomparotto.contabilidade_pessoal.application.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Leitura das próprias escritas: enquanto ativa na thread atual, transações
+ * somente leitura também vão para o banco primário.
+ * <p>
+ * Ativada após o commit de uma escrita (até o fim da requisição) e, nas
+ * requisições seguintes do mesmo cliente, pelo cookie {@link #COOKIE} (ver
+ * {@link LeituraPrimariaInterceptor}), cobrindo o atraso de replicação. Caches
+ * compartilhados entre clientes carregam sempre pelo primário
+ * ({@link #executar}).
+ */
+public final class LeituraPrimaria {
+
+    public static final String COOKIE = "leitura-primaria";
+
+    private static final ThreadLocal<Boolean> ATIVA = new ThreadLocal<>();
+
+    private LeituraPrimaria() {
+    }
+
+    public static void ativar() {
+        ATIVA.set(Boolean.TRUE);
+    }
+
+    public static boolean isAtiva() {
+        return ATIVA.get() != null;
+    }
+
+    public static void limpar() {
+        ATIVA.remove();
+    }
+
+    // Executa a tarefa em outra thread com a marca da thread que a criou (seções de página
+    // executadas em paralelo logo após uma escrita)
+    public static Runnable propagar(Runnable tarefa) {
+        if (!isAtiva()) {
+            return tarefa;
+        }
+        return () -> executar(() -> {
+            tarefa.run();
+            return null;
+        });
+    }
+
+    // Executa a leitura no primário, restaurando o estado anterior da thread ao final.
+    // Só afeta conexões obtidas durante a chamada: uma transação que já leu da réplica
+    // continua nela
+    public static <T> T executar(Supplier<T> leitura) {
+        boolean anterior = isAtiva();
+        ativar();
+        try {
+            return leitura.get();
+        } finally {
+            if (!anterior) {
+                limpar();
+            }
+        }
+    }
+}
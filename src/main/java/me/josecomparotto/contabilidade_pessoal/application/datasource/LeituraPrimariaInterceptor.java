@@ -0,0 +1,32 @@
+package me.josecomparotto.contabilidade_pessoal.application.datasource;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mantém no primário as leituras de um cliente que escreveu recentemente
+ * (cookie {@link LeituraPrimaria#COOKIE}, emitido por
+ * {@link EscritaTransactionListener}).
+ */
+public class LeituraPrimariaInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (WebUtils.getCookie(request, LeituraPrimaria.COOKIE) != null) {
+            LeituraPrimaria.ativar();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable Exception ex) {
+        LeituraPrimaria.limpar();
+    }
+}
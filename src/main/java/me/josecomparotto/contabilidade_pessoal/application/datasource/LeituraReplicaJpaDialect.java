@@ -0,0 +1,52 @@
+package me.josecomparotto.contabilidade_pessoal.application.datasource;
+
+import java.sql.SQLException;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Transações que leem da réplica não alimentam o cache de segundo nível.
+ * <p>
+ * O cache é compartilhado por todos os clientes e só é invalidado por escritas
+ * desta instância: uma conta carregada de uma réplica atrasada ficaria nele até
+ * a próxima alteração. Nessas transações a sessão usa {@link CacheMode#GET}
+ * (lê o cache, sem gravar); o modo anterior volta ao final, já que a sessão
+ * pode seguir aberta na requisição (open-in-view).
+ */
+public class LeituraReplicaJpaDialect extends HibernateJpaDialect {
+
+    private static final long serialVersionUID = 1L;
+
+    private record DadosTransacao(Object original, Session session, CacheMode cacheModeAnterior) {
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object dados = super.beginTransaction(entityManager, definition);
+        // Mesma regra de RoteamentoLeituraDataSource
+        if (!definition.isReadOnly() || LeituraPrimaria.isAtiva()) {
+            return dados;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode anterior = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new DadosTransacao(dados, session, anterior);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof DadosTransacao dados) {
+            dados.session().setCacheMode(dados.cacheModeAnterior());
+            super.cleanupTransaction(dados.original());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+}
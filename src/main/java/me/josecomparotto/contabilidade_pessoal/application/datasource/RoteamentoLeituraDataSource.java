@@ -0,0 +1,35 @@
+package me.josecomparotto.contabilidade_pessoal.application.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Encaminha transações somente leitura para a réplica e todo o resto para o
+ * primário.
+ * <p>
+ * Deve ser usado atrás de um {@code LazyConnectionDataSourceProxy}: a conexão
+ * física só é obtida no primeiro comando, quando a transação já registrou se é
+ * somente leitura.
+ */
+public class RoteamentoLeituraDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARIO = "primario";
+    private static final String REPLICA = "replica";
+
+    public RoteamentoLeituraDataSource(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARIO, primario, REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean somenteLeitura = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return somenteLeitura && !LeituraPrimaria.isAtiva() ? REPLICA : PRIMARIO;
+    }
+}
@@ -0,0 +1,188 @@
+package me.josecomparotto.contabilidade_pessoal.application.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Extrato em CSV com cabeçalho.
+ * <p>
+ * O separador (";", "," ou tabulação) é detectado pelo cabeçalho. Colunas
+ * reconhecidas (sem diferenciar maiúsculas e acentos):
+ * <ul>
+ * <li>data: {@code data}, {@code date}, {@code data lancamento};</li>
+ * <li>descrição: {@code descricao}, {@code historico}, {@code memo};</li>
+ * <li>valor com sinal: {@code valor}, {@code value}, {@code amount} — ou as
+ * colunas {@code credito} e {@code debito} (entrada e saída, sem sinal);</li>
+ * <li>opcional: {@code conta} ou {@code contrapartida}, com o código da
+ * contrapartida no plano de contas.</li>
+ * </ul>
+ * Datas em {@code dd/MM/yyyy}, {@code dd/MM/yy}, {@code dd-MM-yyyy} ou
+ * {@code yyyy-MM-dd}; valores no formato brasileiro ou com ponto decimal.
+ */
+public class LeitorCsv implements LeitorExtrato {
+
+    private static final Set<String> COLUNAS_DATA = Set.of("data", "date", "data lancamento", "data_lancamento");
+    private static final Set<String> COLUNAS_DESCRICAO = Set.of("descricao", "historico", "memo", "description");
+    private static final Set<String> COLUNAS_VALOR = Set.of("valor", "value", "amount");
+    private static final Set<String> COLUNAS_CREDITO = Set.of("credito", "entrada", "entradas");
+    private static final Set<String> COLUNAS_DEBITO = Set.of("debito", "saida", "saidas");
+    private static final Set<String> COLUNAS_CONTA = Set.of("conta", "contrapartida", "codigo conta");
+
+    private static final List<DateTimeFormatter> FORMATOS_DATA = List.of(
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ISO_LOCAL_DATE);
+
+    @Override
+    public void ler(BufferedReader entrada, Consumer<LinhaExtrato> destino) throws IOException {
+        String linha;
+        int numero = 0;
+
+        // Cabeçalho: primeira linha não vazia
+        String cabecalho = null;
+        while (cabecalho == null && (linha = entrada.readLine()) != null) {
+            numero++;
+            if (!linha.isBlank()) {
+                cabecalho = removerBom(linha);
+            }
+        }
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio");
+        }
+
+        char separador = detectarSeparador(cabecalho);
+        List<String> colunas = dividir(cabecalho, separador);
+        int iData = indiceColuna(colunas, COLUNAS_DATA);
+        int iDescricao = indiceColuna(colunas, COLUNAS_DESCRICAO);
+        int iValor = indiceColuna(colunas, COLUNAS_VALOR);
+        int iCredito = indiceColuna(colunas, COLUNAS_CREDITO);
+        int iDebito = indiceColuna(colunas, COLUNAS_DEBITO);
+        int iConta = indiceColuna(colunas, COLUNAS_CONTA);
+
+        if (iData < 0)
+            throw new IllegalArgumentException("Cabeçalho do CSV sem a coluna de data");
+        if (iDescricao < 0)
+            throw new IllegalArgumentException("Cabeçalho do CSV sem a coluna de descrição");
+        if (iValor < 0 && (iCredito < 0 || iDebito < 0))
+            throw new IllegalArgumentException("Cabeçalho do CSV sem a coluna de valor (ou de crédito e débito)");
+
+        while ((linha = entrada.readLine()) != null) {
+            numero++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            try {
+                List<String> campos = dividir(linha, separador);
+                LocalDate data = lerData(campo(campos, iData));
+                Money valor;
+                if (iValor >= 0) {
+                    valor = Money.parse(campo(campos, iValor));
+                } else {
+                    Money credito = Money.parse(campo(campos, iCredito));
+                    Money debito = Money.parse(campo(campos, iDebito));
+                    valor = (credito != null ? credito.abs() : Money.ZERO)
+                            .minus(debito != null ? debito.abs() : Money.ZERO);
+                }
+                String conta = iConta >= 0 ? campo(campos, iConta) : null;
+                destino.accept(LinhaExtrato.of(numero, data, campo(campos, iDescricao), valor,
+                        conta == null || conta.isBlank() ? null : conta));
+            } catch (IllegalArgumentException e) {
+                destino.accept(LinhaExtrato.erro(numero, e.getMessage()));
+            }
+        }
+    }
+
+    private static String removerBom(String linha) {
+        return linha.startsWith("\uFEFF") ? linha.substring(1) : linha;
+    }
+
+    private static char detectarSeparador(String cabecalho) {
+        char escolhido = ',';
+        long maior = 0;
+        for (char c : new char[] { ';', ',', '\t' }) {
+            long n = cabecalho.chars().filter(ch -> ch == c).count();
+            if (n > maior) {
+                maior = n;
+                escolhido = c;
+            }
+        }
+        return escolhido;
+    }
+
+    private static int indiceColuna(List<String> colunas, Set<String> nomes) {
+        for (int i = 0; i < colunas.size(); i++) {
+            if (nomes.contains(normalizar(colunas.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalizar(String nome) {
+        String semAcentos = Normalizer.normalize(nome.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    private static String campo(List<String> campos, int indice) {
+        if (indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static LocalDate lerData(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("Data não informada");
+        }
+        for (DateTimeFormatter formato : FORMATOS_DATA) {
+            try {
+                return LocalDate.parse(texto, formato);
+            } catch (DateTimeParseException e) {
+                // tenta o próximo formato
+            }
+        }
+        throw new IllegalArgumentException("Data inválida: " + texto);
+    }
+
+    // Divide uma linha respeitando campos entre aspas ("" representa uma aspa literal)
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
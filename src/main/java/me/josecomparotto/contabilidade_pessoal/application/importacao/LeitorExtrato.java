@@ -0,0 +1,27 @@
+package me.josecomparotto.contabilidade_pessoal.application.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import me.josecomparotto.contabilidade_pessoal.model.enums.FormatoExtrato;
+
+/**
+ * Leitura sequencial de um extrato: cada transação é entregue ao destino assim
+ * que lida, sem carregar o arquivo inteiro. Erros de uma linha não interrompem a
+ * leitura (ver {@link LinhaExtrato#erro(int, String)}).
+ */
+public interface LeitorExtrato {
+
+    void ler(BufferedReader entrada, Consumer<LinhaExtrato> destino) throws IOException;
+
+    static LeitorExtrato para(FormatoExtrato formato) {
+        switch (formato) {
+            case OFX:
+                return new LeitorOfx();
+            case CSV:
+            default:
+                return new LeitorCsv();
+        }
+    }
+}
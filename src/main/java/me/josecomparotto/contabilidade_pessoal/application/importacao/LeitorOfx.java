@@ -0,0 +1,115 @@
+package me.josecomparotto.contabilidade_pessoal.application.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Extrato OFX (1.x em SGML ou 2.x em XML).
+ * <p>
+ * Apenas as transações ({@code <STMTTRN>}) são lidas: data ({@code DTPOSTED}),
+ * valor com sinal ({@code TRNAMT}) e descrição ({@code MEMO}, ou {@code NAME}
+ * quando não houver memo). O cabeçalho e os saldos do arquivo são ignorados.
+ */
+public class LeitorOfx implements LeitorExtrato {
+
+    // Abertura/fechamento de tag seguida do conteúdo até a próxima tag ou fim da linha
+    private static final Pattern TAG = Pattern.compile("<(/?)([A-Za-z0-9.]+)>([^<]*)");
+
+    private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Override
+    public void ler(BufferedReader entrada, Consumer<LinhaExtrato> destino) throws IOException {
+        Transacao atual = null;
+        String linha;
+        int numero = 0;
+        while ((linha = entrada.readLine()) != null) {
+            numero++;
+            Matcher m = TAG.matcher(linha);
+            while (m.find()) {
+                boolean fechamento = !m.group(1).isEmpty();
+                String tag = m.group(2).toUpperCase();
+                String valor = decodificar(m.group(3).trim());
+
+                if (tag.equals("STMTTRN")) {
+                    if (atual != null) {
+                        destino.accept(atual.toLinha()); // SGML sem fechamento
+                    }
+                    atual = fechamento ? null : new Transacao(numero);
+                } else if (atual != null && !fechamento) {
+                    atual.definir(tag, valor);
+                }
+            }
+        }
+        if (atual != null) {
+            destino.accept(atual.toLinha());
+        }
+    }
+
+    private static String decodificar(String valor) {
+        if (valor.indexOf('&') < 0) {
+            return valor;
+        }
+        return valor.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private static final class Transacao {
+        private final int numero;
+        private String dataPostagem;
+        private String valor;
+        private String memo;
+        private String nome;
+
+        Transacao(int numero) {
+            this.numero = numero;
+        }
+
+        void definir(String tag, String conteudo) {
+            switch (tag) {
+                case "DTPOSTED":
+                    dataPostagem = conteudo;
+                    break;
+                case "TRNAMT":
+                    valor = conteudo;
+                    break;
+                case "MEMO":
+                    memo = conteudo;
+                    break;
+                case "NAME":
+                    nome = conteudo;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        LinhaExtrato toLinha() {
+            try {
+                // DTPOSTED: AAAAMMDD[HHMMSS[.XXX]][[fuso]]; só a data interessa
+                if (dataPostagem == null || dataPostagem.length() < 8)
+                    throw new IllegalArgumentException("Transação sem data (DTPOSTED)");
+                LocalDate data;
+                try {
+                    data = LocalDate.parse(dataPostagem.substring(0, 8), DATA_OFX);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("Data inválida: " + dataPostagem);
+                }
+                if (valor == null || valor.isEmpty())
+                    throw new IllegalArgumentException("Transação sem valor (TRNAMT)");
+
+                String descricao = memo != null && !memo.isEmpty() ? memo : nome;
+                return LinhaExtrato.of(numero, data, descricao, Money.parse(valor), null);
+            } catch (IllegalArgumentException e) {
+                return LinhaExtrato.erro(numero, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package me.josecomparotto.contabilidade_pessoal.application.importacao;
+
+import java.time.LocalDate;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Transação lida de um extrato bancário, ainda sem contas resolvidas.
+ * <p>
+ * O valor segue o sinal do extrato (ponto de vista do titular): positivo é
+ * entrada na conta do extrato, negativo é saída. Linhas que não puderam ser
+ * lidas carregam apenas o número e a mensagem de erro.
+ */
+public final class LinhaExtrato {
+
+    private final int numero;
+    private final LocalDate data;
+    private final String descricao;
+    private final Money valor;
+    private final String codigoContrapartida;
+    private final String erro;
+
+    private LinhaExtrato(int numero, LocalDate data, String descricao, Money valor,
+            String codigoContrapartida, String erro) {
+        this.numero = numero;
+        this.data = data;
+        this.descricao = descricao;
+        this.valor = valor;
+        this.codigoContrapartida = codigoContrapartida;
+        this.erro = erro;
+    }
+
+    public static LinhaExtrato of(int numero, LocalDate data, String descricao, Money valor,
+            String codigoContrapartida) {
+        return new LinhaExtrato(numero, data, descricao, valor, codigoContrapartida, null);
+    }
+
+    public static LinhaExtrato erro(int numero, String mensagem) {
+        return new LinhaExtrato(numero, null, null, null, null, mensagem);
+    }
+
+    /** Linha (CSV) ou posição do início da transação (OFX) no arquivo. */
+    public int getNumero() {
+        return numero;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public Money getValor() {
+        return valor;
+    }
+
+    /** Código no plano da contrapartida informada no arquivo, ou nulo para usar a padrão. */
+    public String getCodigoContrapartida() {
+        return codigoContrapartida;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public boolean isValida() {
+        return erro == null;
+    }
+}
@@ -1,11 +1,11 @@
 package me.josecomparotto.contabilidade_pessoal.application.mapper;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaEditDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.SaldoContaDto;
 import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
 
 public final class ContaMapper {
@@ -13,9 +13,13 @@ public final class ContaMapper {
     private ContaMapper() {
     }
 
-    public static ContaViewDto toViewDto(Conta conta) {
+    // A partir da entidade recém-gravada, com saldos já consolidados no banco (ver
+    // SaldoService), sem percorrer os lançamentos da conta e de suas inferiores
+    public static ContaViewDto toViewDto(Conta conta, SaldoContaDto saldo) {
         if (conta == null)
             return null;
+        if (saldo == null)
+            saldo = new SaldoContaDto(conta.getId());
         ContaViewDto dto = new ContaViewDto();
         dto.setId(conta.getId());
         dto.setCodigo(conta.getCodigo());
@@ -23,23 +27,63 @@ public final class ContaMapper {
         dto.setDisplayText(conta.getDisplayText());
         dto.setNatureza(conta.getNatureza());
         dto.setTipo(conta.getTipo());
-        dto.setSaldoAtual(conta.getSaldoNaturalEfetivo());
-        dto.setSaldoProjetado(conta.getSaldoNaturalPrevisto());
+        dto.setSaldoAtual(saldo.getSaldoNaturalEfetivo(conta.getNatureza()));
+        dto.setSaldoProjetado(saldo.getSaldoNaturalPrevisto(conta.getNatureza()));
         dto.setRedutora(conta.isRedutora());
         dto.setAceitaMovimentoOposto(conta.getAceitaMovimentoOposto());
         dto.setAtiva(conta.isAtiva());
         dto.setEditable(conta.isEditable());
-        dto.setDeletable(conta.isDeletable());
-        dto.setEditableProperties(conta.getEditableProperties());
+        dto.setDeletable(conta.isDeletable(saldo.isPossuiLancamentos()));
+        dto.setEditableProperties(conta.getEditableProperties(saldo.isPossuiLancamentos()));
         return dto;
     }
 
-    public static List<ContaViewDto> toViewList(List<Conta> contas) {
-        if (contas == null)
+    // Variante a partir da fotografia do plano de contas (sem acesso a entidades)
+    public static ContaViewDto toViewDto(PlanoContasSnapshot snapshot, int indice, SaldoContaDto saldo) {
+        if (snapshot == null || indice < 0)
             return null;
-        return contas.stream()
-                .map(ContaMapper::toViewDto)
-                .collect(Collectors.toList());
+        if (saldo == null)
+            saldo = new SaldoContaDto(snapshot.getId(indice));
+        ContaViewDto dto = new ContaViewDto();
+        dto.setId(snapshot.getId(indice));
+        dto.setCodigo(snapshot.getCodigo(indice));
+        dto.setDescricao(snapshot.getDescricao(indice));
+        dto.setDisplayText(snapshot.getDisplayText(indice));
+        dto.setNatureza(snapshot.getNatureza(indice));
+        dto.setTipo(snapshot.getTipo(indice));
+        dto.setSaldoAtual(saldo.getSaldoNaturalEfetivo(snapshot.getNatureza(indice)));
+        dto.setSaldoProjetado(saldo.getSaldoNaturalPrevisto(snapshot.getNatureza(indice)));
+        dto.setRedutora(snapshot.isRedutora(indice));
+        dto.setAceitaMovimentoOposto(snapshot.isAceitaMovimentoOposto(indice));
+        dto.setAtiva(snapshot.isAtiva(indice));
+        dto.setEditable(snapshot.isEditavel(indice));
+        dto.setDeletable(snapshot.isDeletavel(indice, saldo.isPossuiLancamentos()));
+        dto.setEditableProperties(snapshot.getPropriedadesEditaveis(indice, saldo.isPossuiLancamentos()));
+        return dto;
+    }
+
+    public static ContaRefDto toRefDto(Conta conta) {
+        if (conta == null)
+            return null;
+        ContaRefDto dto = new ContaRefDto();
+        dto.setId(conta.getId());
+        dto.setCodigo(conta.getCodigo());
+        dto.setDescricao(conta.getDescricao());
+        dto.setNatureza(conta.getNatureza());
+        dto.setDisplayText(conta.getDisplayText());
+        return dto;
+    }
+
+    public static ContaRefDto toRefDto(PlanoContasSnapshot snapshot, int indice) {
+        if (snapshot == null || indice < 0)
+            return null;
+        ContaRefDto dto = new ContaRefDto();
+        dto.setId(snapshot.getId(indice));
+        dto.setCodigo(snapshot.getCodigo(indice));
+        dto.setDescricao(snapshot.getDescricao(indice));
+        dto.setNatureza(snapshot.getNatureza(indice));
+        dto.setDisplayText(snapshot.getDisplayText(indice));
+        return dto;
     }
 
     public static Conta fromNewDto(ContaNewDto dto) {
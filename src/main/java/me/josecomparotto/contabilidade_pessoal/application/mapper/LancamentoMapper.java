@@ -1,20 +1,23 @@
 package me.josecomparotto.contabilidade_pessoal.application.mapper;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.application.importacao.LinhaExtrato;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoEditDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoNewDto;
 import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
 import me.josecomparotto.contabilidade_pessoal.model.entity.Lancamento;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.MovimentoDto;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 import static me.josecomparotto.contabilidade_pessoal.model.enums.Natureza.*;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
 import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.*;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoNatural;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
 import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoNatural.*;
 
 public class LancamentoMapper {
@@ -27,10 +30,10 @@ public class LancamentoMapper {
         LancamentoDto dto = new LancamentoDto();
         dto.setId(lancamento.getId());
         dto.setDescricao(lancamento.getDescricao());
-        dto.setValor(lancamento.getValor().doubleValue());
+        dto.setValor(lancamento.getValor());
         dto.setDataCompetencia(lancamento.getDataCompetencia());
-        dto.setContaCredito(ContaMapper.toViewDto(lancamento.getContaCredito()));
-        dto.setContaDebito(ContaMapper.toViewDto(lancamento.getContaDebito()));
+        dto.setContaCredito(ContaMapper.toRefDto(lancamento.getContaCredito()));
+        dto.setContaDebito(ContaMapper.toRefDto(lancamento.getContaDebito()));
         dto.setStatus(lancamento.getStatus());
         dto.setEditable(lancamento.isEditable());
         dto.setDeletable(lancamento.isDeletable());
@@ -39,6 +42,47 @@ public class LancamentoMapper {
         return dto;
     }
 
+    // Variante que resolve as contas pela fotografia do plano: usa apenas os ids
+    // das associações (sem inicializar Conta) e não consulta saldos
+    public static LancamentoDto toDto(Lancamento lancamento, PlanoContasSnapshot plano) {
+        if (lancamento == null) {
+            return null;
+        }
+
+        int credito = plano.indiceDe(idDe(lancamento.getContaCredito()));
+        int debito = plano.indiceDe(idDe(lancamento.getContaDebito()));
+        // Mesma regra de Lancamento.isEditable/isDeletable
+        boolean contasAtivas = credito >= 0 && debito >= 0 && plano.isAtiva(credito) && plano.isAtiva(debito);
+
+        LancamentoDto dto = new LancamentoDto();
+        dto.setId(lancamento.getId());
+        dto.setDescricao(lancamento.getDescricao());
+        dto.setValor(lancamento.getValor());
+        dto.setDataCompetencia(lancamento.getDataCompetencia());
+        dto.setContaCredito(ContaMapper.toRefDto(plano, credito));
+        dto.setContaDebito(ContaMapper.toRefDto(plano, debito));
+        dto.setStatus(lancamento.getStatus());
+        dto.setEditable(contasAtivas);
+        dto.setDeletable(contasAtivas);
+        dto.setDisplayText(lancamento.getDisplayText());
+
+        return dto;
+    }
+
+    public static List<LancamentoDto> toDtoList(List<Lancamento> all, PlanoContasSnapshot plano) {
+        if (all == null) {
+            return null;
+        }
+
+        return all.stream()
+                .map(l -> toDto(l, plano))
+                .collect(Collectors.toList());
+    }
+
+    private static Integer idDe(Conta conta) {
+        return conta != null ? conta.getId() : null;
+    }
+
     public static List<LancamentoDto> toDtoList(List<Lancamento> all) {
         if (all == null) {
             return null;
@@ -61,11 +105,11 @@ public class LancamentoMapper {
         if (l == null)
             return null;
 
-        BigDecimal valorAbsoluto = l.getValor();
+        Money valorAbsoluto = l.getValor();
         var contaPartida = sentidoContabil == DEBITO ? l.getContaDebito() : l.getContaCredito();
         var contaContrapartida = sentidoContabil == DEBITO ? l.getContaCredito() : l.getContaDebito();
 
-        if (valorAbsoluto == null || BigDecimal.ZERO.equals(valorAbsoluto))
+        if (valorAbsoluto == null || valorAbsoluto.isZero())
             throw new IllegalStateException("Valor do lancamento não pode ser nulo");
         if(contaPartida == null || contaContrapartida == null)
             throw new IllegalStateException("Conta partida e contrapartida não podem ser nulas");
@@ -78,16 +122,16 @@ public class LancamentoMapper {
 
         SentidoNatural sentidoNatural = ehEntrada ? ENTRADA : SAIDA;
 
-        BigDecimal valorNatural = ehEntrada ? valorAbsoluto : valorAbsoluto.negate();
+        Money valorNatural = ehEntrada ? valorAbsoluto : valorAbsoluto.negate();
 
         MovimentoDto dto = new MovimentoDto();
         dto.setIdLancamento(l.getId());
         dto.setDescricao(l.getDescricao());
         dto.setData(l.getDataCompetencia());
-        dto.setContaPartida(ContaMapper.toViewDto(contaPartida));
-        dto.setContaContrapartida(ContaMapper.toViewDto(contaContrapartida));
+        dto.setContaPartida(ContaMapper.toRefDto(contaPartida));
+        dto.setContaContrapartida(ContaMapper.toRefDto(contaContrapartida));
         dto.setSentidoNatural(sentidoNatural);
-        dto.setValor(valorNatural.doubleValue());
+        dto.setValor(valorNatural);
         dto.setStatus(l.getStatus());
         return dto;
     }
@@ -100,7 +144,7 @@ public class LancamentoMapper {
         Lancamento lancamento = new Lancamento();
         lancamento.setId(dto.getId());
         lancamento.setDescricao(dto.getDescricao());
-        lancamento.setValor(dto.getValor() != null ? BigDecimal.valueOf(dto.getValor()) : null);
+        lancamento.setValor(dto.getValor());
         lancamento.setDataCompetencia(dto.getDataCompetencia());
         lancamento.setContaCredito(contaCredito);
         lancamento.setContaDebito(contaDebito);
@@ -109,6 +153,24 @@ public class LancamentoMapper {
         return lancamento;
     }
 
+    // Transação de extrato já validada; o valor é gravado sem sinal (o sentido está nas contas)
+    public static Lancamento fromLinhaExtrato(LinhaExtrato linha, Conta contaCredito, Conta contaDebito,
+            StatusLancamento status) {
+        if (linha == null) {
+            return null;
+        }
+
+        Lancamento lancamento = new Lancamento();
+        lancamento.setDescricao(linha.getDescricao());
+        lancamento.setValor(linha.getValor().abs());
+        lancamento.setDataCompetencia(linha.getData());
+        lancamento.setContaCredito(contaCredito);
+        lancamento.setContaDebito(contaDebito);
+        lancamento.setStatus(status);
+
+        return lancamento;
+    }
+
     public static LancamentoEditDto toEditDto(LancamentoDto viewDto) {
 
         if (viewDto == null) {
@@ -0,0 +1,73 @@
+package me.josecomparotto.contabilidade_pessoal.application.mapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Recorrencia;
+
+public class RecorrenciaMapper {
+
+    // Contas resolvidas pela fotografia do plano (apenas os ids das associações)
+    public static RecorrenciaDto toDto(Recorrencia recorrencia, PlanoContasSnapshot plano) {
+        if (recorrencia == null) {
+            return null;
+        }
+
+        RecorrenciaDto dto = new RecorrenciaDto();
+        dto.setId(recorrencia.getId());
+        dto.setDescricao(recorrencia.getDescricao());
+        dto.setValor(recorrencia.getValor());
+        dto.setContaCredito(ContaMapper.toRefDto(plano, plano.indiceDe(idDe(recorrencia.getContaCredito()))));
+        dto.setContaDebito(ContaMapper.toRefDto(plano, plano.indiceDe(idDe(recorrencia.getContaDebito()))));
+        dto.setFrequencia(recorrencia.getFrequencia());
+        dto.setIntervalo(recorrencia.getIntervalo());
+        dto.setDia(recorrencia.getDia());
+        dto.setDataInicio(recorrencia.getDataInicio());
+        dto.setDataFim(recorrencia.getDataFim());
+        dto.setQuantidade(recorrencia.getQuantidade());
+        dto.setAtiva(Boolean.TRUE.equals(recorrencia.getAtiva()));
+        dto.setGeradoAte(recorrencia.getGeradoAte());
+        dto.setDisplayText(recorrencia.toString());
+
+        return dto;
+    }
+
+    public static List<RecorrenciaDto> toDtoList(List<Recorrencia> all, PlanoContasSnapshot plano) {
+        if (all == null) {
+            return null;
+        }
+
+        return all.stream()
+                .map(r -> toDto(r, plano))
+                .collect(Collectors.toList());
+    }
+
+    public static Recorrencia fromNewDto(RecorrenciaNewDto dto, Conta contaCredito, Conta contaDebito) {
+        if (dto == null) {
+            return null;
+        }
+
+        Recorrencia recorrencia = new Recorrencia();
+        recorrencia.setDescricao(dto.getDescricao());
+        recorrencia.setValor(dto.getValor());
+        recorrencia.setContaCredito(contaCredito);
+        recorrencia.setContaDebito(contaDebito);
+        recorrencia.setFrequencia(dto.getFrequencia());
+        recorrencia.setIntervalo(dto.getIntervalo() != null ? dto.getIntervalo() : 1);
+        recorrencia.setDia(dto.getDia());
+        recorrencia.setDataInicio(dto.getDataInicio());
+        recorrencia.setDataFim(dto.getDataFim());
+        recorrencia.setQuantidade(dto.getQuantidade());
+        recorrencia.setAtiva(true);
+
+        return recorrencia;
+    }
+
+    private static Integer idDe(Conta conta) {
+        return conta != null ? conta.getId() : null;
+    }
+}
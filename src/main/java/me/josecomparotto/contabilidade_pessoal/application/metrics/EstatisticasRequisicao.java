@@ -0,0 +1,66 @@
+package me.josecomparotto.contabilidade_pessoal.application.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Contadores de comandos SQL e de entidades carregadas pela thread atual.
+ * <p>
+ * As estatísticas do Hibernate são globais; aqui a contagem é por thread para
+ * que cada requisição registre apenas o próprio custo (ver
+ * {@link MetricasRequisicaoInterceptor}). Registrado no Hibernate como
+ * {@link StatementInspector} e {@link PostLoadEventListener}.
+ */
+public final class EstatisticasRequisicao implements StatementInspector, PostLoadEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<AtomicLongArray> CONTADORES = ThreadLocal.withInitial(() -> new AtomicLongArray(2));
+
+    private static final int COMANDOS = 0;
+    private static final int ENTIDADES = 1;
+
+    public static void reiniciar() {
+        CONTADORES.set(new AtomicLongArray(2));
+    }
+
+    public static long getComandos() {
+        return CONTADORES.get().get(COMANDOS);
+    }
+
+    public static long getEntidadesCarregadas() {
+        return CONTADORES.get().get(ENTIDADES);
+    }
+
+    public static void limpar() {
+        CONTADORES.remove();
+    }
+
+    // Executa a tarefa em outra thread somando nos contadores da thread que a criou
+    public static Runnable propagar(Runnable tarefa) {
+        AtomicLongArray contadores = CONTADORES.get();
+        return () -> {
+            AtomicLongArray anteriores = CONTADORES.get();
+            CONTADORES.set(contadores);
+            try {
+                tarefa.run();
+            } finally {
+                CONTADORES.set(anteriores);
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        CONTADORES.get().incrementAndGet(COMANDOS);
+        return sql; // não altera o comando
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        CONTADORES.get().incrementAndGet(ENTIDADES);
+    }
+}
@@ -0,0 +1,61 @@
+package me.josecomparotto.contabilidade_pessoal.application.metrics;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Registra, por rota, quantos comandos SQL e quantas entidades cada requisição
+ * gerou (contabilidade.requisicao.sql / contabilidade.requisicao.entidades).
+ * <p>
+ * O tempo de cada rota já é medido pelo Spring MVC (http.server.requests).
+ */
+public class MetricasRequisicaoInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+    public MetricasRequisicaoInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        EstatisticasRequisicao.reiniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable Exception ex) {
+        try {
+            Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+            String metodo = request.getMethod();
+
+            DistributionSummary.builder("contabilidade.requisicao.sql")
+                    .description("Comandos SQL executados por requisição")
+                    .tag("uri", uri)
+                    .tag("method", metodo)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(EstatisticasRequisicao.getComandos());
+
+            DistributionSummary.builder("contabilidade.requisicao.entidades")
+                    .description("Entidades carregadas pelo Hibernate por requisição")
+                    .tag("uri", uri)
+                    .tag("method", metodo)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(EstatisticasRequisicao.getEntidadesCarregadas());
+        } finally {
+            EstatisticasRequisicao.limpar();
+        }
+    }
+}
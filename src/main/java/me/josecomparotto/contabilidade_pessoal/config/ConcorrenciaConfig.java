@@ -0,0 +1,31 @@
+package me.josecomparotto.contabilidade_pessoal.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import me.josecomparotto.contabilidade_pessoal.application.datasource.LeituraPrimaria;
+import me.josecomparotto.contabilidade_pessoal.application.metrics.EstatisticasRequisicao;
+
+/**
+ * Execução concorrente de seções independentes de uma página.
+ * <p>
+ * Usa o {@code applicationTaskExecutor} do Spring Boot, que passa a criar uma
+ * thread virtual por tarefa com {@code spring.threads.virtual.enabled} (o
+ * projeto exige Java 21; com a opção desligada continua sendo um pool de
+ * threads, e as seções rodam em sequência). Threads virtuais não têm limite próprio: cada
+ * seção ocupa uma conexão do Hikari, então o executor é limitado por
+ * {@code spring.task.execution.simple.concurrency-limit}, abaixo do tamanho do
+ * pool de conexões.
+ */
+@Configuration
+public class ConcorrenciaConfig {
+
+    // Aplicado pelo Spring Boot ao applicationTaskExecutor (um único decorador): consultas
+    // feitas pelas tarefas contam nas métricas da requisição que as disparou e, após uma
+    // escrita do cliente, continuam lendo do primário
+    @Bean
+    public TaskDecorator contextoRequisicaoDecorator() {
+        return tarefa -> LeituraPrimaria.propagar(EstatisticasRequisicao.propagar(tarefa));
+    }
+}
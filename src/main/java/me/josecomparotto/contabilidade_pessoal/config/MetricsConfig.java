@@ -0,0 +1,41 @@
+package me.josecomparotto.contabilidade_pessoal.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import jakarta.persistence.EntityManagerFactory;
+import me.josecomparotto.contabilidade_pessoal.application.metrics.EstatisticasRequisicao;
+
+/**
+ * Contagem de comandos SQL e de entidades carregadas por requisição.
+ * <p>
+ * Timers de serviços (@Timed), rotas (http.server.requests), pool Hikari e
+ * estatísticas globais do Hibernate são configurados pelo Actuator
+ * (ver application.yaml).
+ */
+@Configuration
+public class MetricsConfig {
+
+    private final EstatisticasRequisicao estatisticasRequisicao = new EstatisticasRequisicao();
+
+    @Bean
+    public HibernatePropertiesCustomizer estatisticasRequisicaoInspector() {
+        return props -> props.put(AvailableSettings.STATEMENT_INSPECTOR, estatisticasRequisicao);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registrarContagemEntidades(ApplicationReadyEvent event) {
+        EntityManagerFactory emf = event.getApplicationContext().getBean(EntityManagerFactory.class);
+        emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, estatisticasRequisicao);
+    }
+}
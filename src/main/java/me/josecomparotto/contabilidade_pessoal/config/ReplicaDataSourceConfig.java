@@ -0,0 +1,110 @@
+package me.josecomparotto.contabilidade_pessoal.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.NonNull;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import me.josecomparotto.contabilidade_pessoal.application.datasource.EscritaTransactionListener;
+import me.josecomparotto.contabilidade_pessoal.application.datasource.LeituraPrimariaInterceptor;
+import me.josecomparotto.contabilidade_pessoal.application.datasource.LeituraReplicaJpaDialect;
+import me.josecomparotto.contabilidade_pessoal.application.datasource.RoteamentoLeituraDataSource;
+
+/**
+ * Leituras em réplica: ativo apenas quando {@code app.datasource.replica.url}
+ * está definido; sem ele o Spring Boot configura o DataSource único de sempre.
+ * <p>
+ * Transações {@code @Transactional(readOnly = true)} vão para a réplica; as
+ * demais, e qualquer acesso fora de transação, vão para o primário. Depois de
+ * uma escrita, o mesmo cliente volta a ler do primário por
+ * {@code app.datasource.replica.janela-leitura-primaria}, para enxergar o que
+ * acabou de gravar mesmo com atraso de replicação. Leituras da réplica não
+ * alimentam o cache de segundo nível ({@link LeituraReplicaJpaDialect}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primario,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password) {
+        // Sem credenciais próprias, a réplica usa as mesmas do primário
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primario.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? primario.determineUsername() : username)
+                .password(password.isEmpty() ? primario.determinePassword() : password)
+                .build();
+    }
+
+    // O proxy adia a escolha da conexão até o primeiro comando SQL, quando a
+    // transação já está marcada (ou não) como somente leitura
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primarioDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new RoteamentoLeituraDataSource(primario, replica));
+    }
+
+    // Registrado pelo Spring Boot no gerenciador de transações
+    @Bean
+    public EscritaTransactionListener escritaTransactionListener(
+            @Value("${app.datasource.replica.janela-leitura-primaria:5s}") Duration janela) {
+        return new EscritaTransactionListener(janela);
+    }
+
+    // Aplicado depois da inicialização do gerenciador de transações, que adota o dialeto
+    // da EntityManagerFactory em afterPropertiesSet
+    @Bean
+    public static BeanPostProcessor leituraReplicaJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName)
+                    throws BeansException {
+                if (bean instanceof JpaTransactionManager transactionManager) {
+                    transactionManager.setJpaDialect(new LeituraReplicaJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer leituraPrimariaWebConfig() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(@NonNull InterceptorRegistry registry) {
+                registry.addInterceptor(new LeituraPrimariaInterceptor())
+                    .excludePathPatterns("/css/**", "/js/**", "/actuator/**");
+            }
+        };
+    }
+}
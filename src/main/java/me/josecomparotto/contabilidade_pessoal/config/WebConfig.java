@@ -1,14 +1,25 @@
 package me.josecomparotto.contabilidade_pessoal.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import me.josecomparotto.contabilidade_pessoal.application.converter.MoneyFormatter;
+import me.josecomparotto.contabilidade_pessoal.application.metrics.MetricasRequisicaoInterceptor;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public WebConfig() {
     }
 
@@ -16,7 +27,21 @@ public class WebConfig implements WebMvcConfigurer {
     public void addCorsMappings(@NonNull CorsRegistry registry) {
         registry.addMapping("/**")
             .allowedOrigins("*")
-            .allowedMethods("*");
+            .allowedMethods("*")
+            // Permite que clientes de outras origens leiam o ETag para GETs condicionais
+            .exposedHeaders(HttpHeaders.ETAG);
+    }
+
+    @Override
+    public void addFormatters(@NonNull FormatterRegistry registry) {
+        registry.addFormatter(new MoneyFormatter());
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // SQL e entidades carregadas por rota (recursos estáticos e actuator ficam de fora)
+        registry.addInterceptor(new MetricasRequisicaoInterceptor(meterRegistry))
+            .excludePathPatterns("/css/**", "/js/**", "/actuator/**");
     }
 
     @Override
@@ -0,0 +1,139 @@
+package me.josecomparotto.contabilidade_pessoal.controller.api;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaEditDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ProjecaoSaldoDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.PaginaMovimentosDto;
+import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta;
+import me.josecomparotto.contabilidade_pessoal.service.ContaService;
+import me.josecomparotto.contabilidade_pessoal.service.LancamentoService;
+import me.josecomparotto.contabilidade_pessoal.service.MarcaAlteracaoService;
+import me.josecomparotto.contabilidade_pessoal.service.ProjecaoService;
+
+@RestController
+@RequestMapping("/api/contas")
+public class ContaApiController {
+
+    @Autowired
+    private ContaService contaService;
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
+    @Autowired
+    private MarcaAlteracaoService marcaAlteracaoService;
+
+    @Autowired
+    private ProjecaoService projecaoService;
+
+    // GET /api/contas (plano de contas com saldos; 304 se If-None-Match for o ETag atual)
+    @GetMapping
+    public ResponseEntity<List<ContaViewDto>> listarContas(@RequestHeader HttpHeaders headers) {
+        return RespostaCondicional.ok(headers, marcaAlteracaoService.obterEtag(), contaService::listarContas);
+    }
+
+    // GET /api/contas/busca?q=alim&tipo=ANALITICA&sentido=DEBITO&limite=20
+    // (campos de seleção; sem acentos/maiúsculas, por prefixo, mais relevantes primeiro)
+    @GetMapping("/busca")
+    public List<ContaRefDto> buscarContas(@RequestParam(name = "q", required = false) String termo,
+            @RequestParam(name = "tipo", required = false) TipoConta tipo,
+            @RequestParam(name = "sentido", required = false) SentidoContabil sentido,
+            @RequestParam(name = "limite", required = false) Integer limite) {
+        return contaService.buscarContas(termo, tipo, sentido, limite);
+    }
+
+    // GET /api/contas/{id}
+    @GetMapping("/{id}")
+    public ResponseEntity<ContaViewDto> obterConta(@PathVariable Integer id, @RequestHeader HttpHeaders headers) {
+        return RespostaCondicional.ok(headers, marcaAlteracaoService.obterEtag(),
+                () -> contaService.obterContaPorId(id));
+    }
+
+    // POST /api/contas
+    @PostMapping
+    public ResponseEntity<ContaViewDto> criarConta(@RequestBody ContaNewDto dto) {
+        try {
+            ContaViewDto criada = contaService.criarConta(dto);
+            return ResponseEntity.created(URI.create("/api/contas/" + criada.getId())).body(criada);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // PUT /api/contas/{id}
+    @PutMapping("/{id}")
+    public ResponseEntity<ContaViewDto> atualizarConta(@PathVariable Integer id, @RequestBody ContaEditDto dto) {
+        try {
+            return ResponseEntity.ok(contaService.atualizarConta(id, dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // DELETE /api/contas/{id}
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletarConta(@PathVariable Integer id) {
+        try {
+            return contaService.deletarContaPorId(id)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // GET /api/contas/{id}/movimentos?status=EFETIVO&dataInicial=&dataFinal=&cursorData=&cursorId=&limite=
+    @GetMapping("/{id}/movimentos")
+    public ResponseEntity<PaginaMovimentosDto> listarMovimentos(@PathVariable Integer id,
+            @RequestParam(name = "status", defaultValue = "EFETIVO") StatusLancamento status,
+            @RequestParam(name = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+            @RequestParam(name = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal,
+            @RequestParam(name = "cursorData", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate cursorData,
+            @RequestParam(name = "cursorId", required = false) Long cursorId,
+            @RequestParam(name = "limite", required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(lancamentoService.listarMovimentosPaginados(id,
+                    status == StatusLancamento.EFETIVO, dataInicial, dataFinal, cursorData, cursorId, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/contas/{id}/projecao?dias=90 (saldo diário previsto da conta e inferiores)
+    @GetMapping("/{id}/projecao")
+    public ResponseEntity<ProjecaoSaldoDto> projetarSaldo(@PathVariable Integer id,
+            @RequestParam(name = "dias", required = false) Integer dias) {
+        try {
+            return ResponseEntity.ok(projecaoService.projetarSaldo(id, dias));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
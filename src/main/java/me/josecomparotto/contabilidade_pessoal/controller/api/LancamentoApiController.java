@@ -0,0 +1,131 @@
+package me.josecomparotto.contabilidade_pessoal.controller.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletResponse;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoEditDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.enums.FormatoExportacao;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.service.ExportacaoService;
+import me.josecomparotto.contabilidade_pessoal.service.LancamentoService;
+import me.josecomparotto.contabilidade_pessoal.service.MarcaAlteracaoService;
+
+@RestController
+@RequestMapping("/api/lancamentos")
+public class LancamentoApiController {
+
+    @Autowired
+    private LancamentoService lancamentoService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private MarcaAlteracaoService marcaAlteracaoService;
+
+    // GET /api/lancamentos?pagina=0&limite=100 (mais recentes primeiro; 304 se If-None-Match for o ETag atual)
+    @GetMapping
+    public ResponseEntity<List<LancamentoDto>> listarLancamentos(
+            @RequestParam(name = "pagina", defaultValue = "0") int pagina,
+            @RequestParam(name = "limite", required = false) Integer limite,
+            @RequestHeader HttpHeaders headers) {
+        if (pagina < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return RespostaCondicional.ok(headers, marcaAlteracaoService.obterEtag(),
+                () -> lancamentoService.listarLancamentos(pagina, limite));
+    }
+
+    // GET /api/lancamentos/{id}
+    @GetMapping("/{id}")
+    public ResponseEntity<LancamentoDto> obterLancamento(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
+        return RespostaCondicional.ok(headers, marcaAlteracaoService.obterEtag(), () -> {
+            try {
+                return lancamentoService.obterLancamentoPorId(id);
+            } catch (IllegalArgumentException e) {
+                return null; // não encontrado
+            }
+        });
+    }
+
+    // POST /api/lancamentos
+    @PostMapping
+    public ResponseEntity<LancamentoDto> criarLancamento(@RequestBody LancamentoNewDto dto) {
+        try {
+            LancamentoDto criado = lancamentoService.criarLancamento(dto);
+            return ResponseEntity.created(URI.create("/api/lancamentos/" + criado.getId())).body(criado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // PUT /api/lancamentos/{id}
+    @PutMapping("/{id}")
+    public ResponseEntity<LancamentoDto> atualizarLancamento(@PathVariable Long id, @RequestBody LancamentoEditDto dto) {
+        try {
+            lancamentoService.atualizarLancamento(id, dto);
+            return ResponseEntity.ok(lancamentoService.obterLancamentoPorId(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // DELETE /api/lancamentos/{id}
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletarLancamento(@PathVariable Long id) {
+        try {
+            return lancamentoService.deletarLancamentoPorId(id)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // GET /api/lancamentos/exportar?formato={CSV|JSONL}&dataInicial=&dataFinal=&status=&contaId=
+    // A resposta é escrita direto no corpo, à medida que as linhas são lidas do banco
+    @GetMapping("/exportar")
+    public void exportar(@RequestParam(name = "formato", defaultValue = "CSV") FormatoExportacao formato,
+            @RequestParam(name = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+            @RequestParam(name = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal,
+            @RequestParam(name = "status", required = false) StatusLancamento status,
+            @RequestParam(name = "contaId", required = false) Integer contaId,
+            HttpServletResponse response) throws IOException {
+        try {
+            exportacaoService.validarFiltros(dataInicial, dataFinal, contaId);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        response.setContentType(formato.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"lancamentos." + formato.getExtensao() + "\"");
+        exportacaoService.exportar(formato, dataInicial, dataFinal, status, contaId, response.getOutputStream());
+    }
+}
@@ -0,0 +1,68 @@
+package me.josecomparotto.contabilidade_pessoal.controller.api;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaEditDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaNewDto;
+import me.josecomparotto.contabilidade_pessoal.service.RecorrenciaService;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+public class RecorrenciaApiController {
+
+    @Autowired
+    private RecorrenciaService recorrenciaService;
+
+    // GET /api/recorrencias
+    @GetMapping
+    public List<RecorrenciaDto> listarRecorrencias() {
+        return recorrenciaService.listarRecorrencias();
+    }
+
+    // GET /api/recorrencias/{id}
+    @GetMapping("/{id}")
+    public ResponseEntity<RecorrenciaDto> obterRecorrencia(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(recorrenciaService.obterRecorrenciaPorId(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // POST /api/recorrencias (gera os lançamentos PREVISTO até o horizonte)
+    @PostMapping
+    public ResponseEntity<RecorrenciaDto> criarRecorrencia(@RequestBody RecorrenciaNewDto dto) {
+        try {
+            Integer id = recorrenciaService.criarRecorrencia(dto).getId();
+            // Relido após a geração, com gerado_ate atualizado
+            return ResponseEntity.created(URI.create("/api/recorrencias/" + id))
+                    .body(recorrenciaService.obterRecorrenciaPorId(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // PUT /api/recorrencias/{id} (refaz os PREVISTO futuros; "ativa": false encerra a regra)
+    @PutMapping("/{id}")
+    public ResponseEntity<RecorrenciaDto> atualizarRecorrencia(@PathVariable Integer id,
+            @RequestBody RecorrenciaEditDto dto) {
+        try {
+            recorrenciaService.atualizarRecorrencia(id, dto);
+            return ResponseEntity.ok(recorrenciaService.obterRecorrenciaPorId(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package me.josecomparotto.contabilidade_pessoal.controller.api;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.BalanceteDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.RelatorioDto;
+import me.josecomparotto.contabilidade_pessoal.service.RelatorioService;
+
+@RestController
+@RequestMapping("/api/relatorios")
+public class RelatorioApiController {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    // GET /api/relatorios/dre?dataInicial=&dataFinal= (padrão: mês corrente)
+    @GetMapping("/dre")
+    public ResponseEntity<RelatorioDto> gerarDre(
+            @RequestParam(name = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+            @RequestParam(name = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal) {
+        LocalDate hoje = LocalDate.now();
+        try {
+            return ResponseEntity.ok(relatorioService.gerarDre(
+                    dataInicial != null ? dataInicial : hoje.withDayOfMonth(1),
+                    dataFinal != null ? dataFinal : hoje.withDayOfMonth(hoje.lengthOfMonth())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/relatorios/balanco?data= (padrão: hoje)
+    @GetMapping("/balanco")
+    public RelatorioDto gerarBalanco(
+            @RequestParam(name = "data", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate data) {
+        return relatorioService.gerarBalanco(data != null ? data : LocalDate.now());
+    }
+
+    // GET /api/relatorios/balancete?dataInicial=&dataFinal= (padrão: mês corrente)
+    @GetMapping("/balancete")
+    public ResponseEntity<BalanceteDto> gerarBalancete(
+            @RequestParam(name = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+            @RequestParam(name = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal) {
+        LocalDate hoje = LocalDate.now();
+        try {
+            return ResponseEntity.ok(relatorioService.gerarBalancete(
+                    dataInicial != null ? dataInicial : hoje.withDayOfMonth(1),
+                    dataFinal != null ? dataFinal : hoje.withDayOfMonth(hoje.lengthOfMonth())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
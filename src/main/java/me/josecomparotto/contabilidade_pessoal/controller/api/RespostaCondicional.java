@@ -0,0 +1,42 @@
+package me.josecomparotto.contabilidade_pessoal.controller.api;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * GET condicional: quando o If-None-Match da requisição contém o ETag atual,
+ * responde 304 sem executar o corpo (nem consultas de saldo, nem serialização).
+ */
+final class RespostaCondicional {
+
+    private RespostaCondicional() {
+    }
+
+    static <T> ResponseEntity<T> ok(HttpHeaders requisicao, String etag, Supplier<T> corpo) {
+        // Clientes devem revalidar a cada uso; o ETag torna a revalidação barata
+        CacheControl cacheControl = CacheControl.noCache();
+        if (corresponde(requisicao, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        T body = corpo.get();
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body);
+    }
+
+    private static boolean corresponde(HttpHeaders requisicao, String etag) {
+        for (String candidato : requisicao.getIfNoneMatch()) {
+            // Comparação fraca (RFC 9110): W/ é ignorado no If-None-Match
+            String valor = candidato.startsWith("W/") ? candidato.substring(2) : candidato;
+            if ("*".equals(valor) || etag.equals(valor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,8 +1,19 @@
 package me.josecomparotto.contabilidade_pessoal.controller.web;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +25,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import me.josecomparotto.contabilidade_pessoal.application.mapper.ContaMapper;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaEditDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
-import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.MovimentoDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.PaginaMovimentosDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
 import me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta;
 import me.josecomparotto.contabilidade_pessoal.service.ContaService;
 import me.josecomparotto.contabilidade_pessoal.service.LancamentoService;
@@ -29,6 +41,14 @@ public class ContaWebController {
     @Autowired
     private LancamentoService lancamentoService;
 
+    // Threads virtuais em Java 21 com spring.threads.virtual.enabled (ver ConcorrenciaConfig)
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor executor;
+
+    @Autowired
+    private Environment environment;
+
     // GET /contas
     @GetMapping("/contas")
     public String listarContas(Model model) {
@@ -37,26 +57,50 @@ public class ContaWebController {
     }
 
     // GET /contas/{id}
+    // As seções da página são independentes: com threads virtuais cada uma roda em paralelo,
+    // com a própria transação somente leitura, e a página leva o tempo da seção mais lenta
     @GetMapping("/contas/{id}")
     public String detalhesConta(@PathVariable Integer id, Model model, RedirectAttributes redirectAttrs) {
-        ContaViewDto conta = contasService.obterContaPorId(id);
-        if (conta == null) {
+        CompletableFuture<ContaViewDto> conta = secao(() -> contasService.obterContaPorId(id));
+        CompletableFuture<ContaViewDto> superior = secao(() -> contasService.obterSuperiorPorConta(id));
+        CompletableFuture<List<ContaViewDto>> inferiores = secao(() -> contasService.listarInferioresPorConta(id));
+        // Sintéticas recebem o movimento diário consolidado das inferiores
+        CompletableFuture<PaginaMovimentosDto> efetivos = secao(
+                () -> lancamentoService.listarMovimentosPaginados(id, true, null, null, null, null, null));
+        CompletableFuture<PaginaMovimentosDto> previstos = secao(
+                () -> lancamentoService.listarMovimentosPaginados(id, false, null, null, null, null, null));
+
+        if (aguardar(conta) == null) {
+            // As demais seções falham com "Conta não encontrada"; o resultado é descartado
             redirectAttrs.addFlashAttribute("error", "Conta não encontrada.");
             return "redirect:/contas";
         }
-        ContaViewDto superior = contasService.obterSuperiorPorConta(id);
-        List<ContaViewDto> inferiores = contasService.listarInferioresPorConta(id);
-        List<MovimentoDto> movimentosEfetivos = lancamentoService.listarMovimentosPorConta(id, true);
-        List<MovimentoDto> movimentosPrevistos = lancamentoService.listarMovimentosPorConta(id, false);
 
-        model.addAttribute("conta", conta);
-        model.addAttribute("superior", superior);
-        model.addAttribute("inferiores", inferiores);
-        model.addAttribute("movimentosEfetivos", movimentosEfetivos);
-        model.addAttribute("movimentosPrevistos", movimentosPrevistos);
+        model.addAttribute("conta", aguardar(conta));
+        model.addAttribute("superior", aguardar(superior));
+        model.addAttribute("inferiores", aguardar(inferiores));
+        model.addAttribute("movimentosEfetivos", aguardar(efetivos));
+        model.addAttribute("movimentosPrevistos", aguardar(previstos));
         return "contas/detail";
     }
 
+    // GET /contas/{id}/movimentos?status=EFETIVO&dataInicial=...&dataFinal=...&limite=...&cursorData=...&cursorId=... (linhas da próxima página)
+    @GetMapping("/contas/{id}/movimentos")
+    public String paginaMovimentos(@PathVariable Integer id,
+            @RequestParam(name = "status", defaultValue = "EFETIVO") StatusLancamento status,
+            @RequestParam(name = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+            @RequestParam(name = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal,
+            @RequestParam(name = "cursorData", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate cursorData,
+            @RequestParam(name = "cursorId", required = false) Long cursorId,
+            @RequestParam(name = "limite", required = false) Integer limite,
+            Model model) {
+        PaginaMovimentosDto pagina = lancamentoService.listarMovimentosPaginados(id,
+                status == StatusLancamento.EFETIVO, dataInicial, dataFinal, cursorData, cursorId, limite);
+        model.addAttribute("pagina", pagina);
+        model.addAttribute("redirectUrl", "/contas/" + id);
+        return "fragments/movimentos/list :: movimentoPagina(${pagina}, ${redirectUrl})";
+    }
+
     // GET /contas/new
     @GetMapping("/contas/new")
     public String novaConta(Model model,
@@ -67,8 +111,8 @@ public class ContaWebController {
             nova.setSuperiorId(superiorId);
         }
         model.addAttribute("conta", nova);
+        model.addAttribute("superiorTexto", contasService.obterDisplayText(superiorId));
         model.addAttribute("tipos", TipoConta.values());
-        model.addAttribute("contas", contasService.listarContasSinteticas());
         return "contas/form";
     }
 
@@ -86,6 +130,33 @@ public class ContaWebController {
         }
     }
 
+    // Sem threads virtuais (spring.threads.virtual.enabled desligado) o executor é o pool de 8 threads com fila ilimitada do
+    // Spring Boot, compartilhado por todas as requisições: a página esperaria na fila com a
+    // thread do Tomcat parada em join(). Nesse caso as seções rodam em sequência, na própria
+    // thread, com o mesmo tratamento de exceções
+    private <T> CompletableFuture<T> secao(Supplier<T> consulta) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return CompletableFuture.supplyAsync(consulta, executor);
+        }
+        try {
+            return CompletableFuture.completedFuture(consulta.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Resultado da seção; exceções da seção são relançadas como na chamada direta
+    private static <T> T aguardar(CompletableFuture<T> secao) {
+        try {
+            return secao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
     private String sanitizeRedirect(String redirectUrl) {
         if (redirectUrl == null || redirectUrl.isBlank())
             return "/contas";
@@ -108,8 +179,8 @@ public class ContaWebController {
         model.addAttribute("mode", "edit");
         model.addAttribute("conta", conta);
         model.addAttribute("superior", superior);
+        model.addAttribute("superiorTexto", superior != null ? superior.getDisplayText() : null);
         model.addAttribute("tipos", TipoConta.values());
-        model.addAttribute("contas", contasService.listarContasSinteticas());
         return "contas/form";
     }
 
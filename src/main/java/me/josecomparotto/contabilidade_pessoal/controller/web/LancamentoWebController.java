@@ -7,22 +7,28 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import me.josecomparotto.contabilidade_pessoal.application.mapper.LancamentoMapper;
-import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.ImportacaoExtratoDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoEditDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.ResultadoImportacaoDto;
 import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
 import me.josecomparotto.contabilidade_pessoal.service.ContaService;
+import me.josecomparotto.contabilidade_pessoal.service.ImportacaoService;
 import me.josecomparotto.contabilidade_pessoal.service.LancamentoService;
 
-import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.*;
 import static me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 public class LancamentoWebController {
@@ -33,6 +39,9 @@ public class LancamentoWebController {
     @Autowired
     private LancamentoService lancamentoService;
 
+    @Autowired
+    private ImportacaoService importacaoService;
+
     // GET /lancamentos/{id}[?redirect={redirectUrl}]
     @GetMapping("/lancamentos/{id}")
     public String detalhesLancamento(
@@ -56,9 +65,6 @@ public class LancamentoWebController {
             @RequestParam(required = false) Integer contaDebitoId,
             @RequestParam(required = false) Integer contaCreditoId) {
         LancamentoNewDto novo = new LancamentoNewDto();
-
-        List<ContaViewDto> contasCredito = contaService.listarContasAnaliticasPorSentidoAceito(CREDITO);
-        List<ContaViewDto> contasDebito = contaService.listarContasAnaliticasPorSentidoAceito(DEBITO);
         List<StatusLancamento> statusList = List.of(EFETIVO, PREVISTO);
 
         String redirectUrl = "/contas";
@@ -81,8 +87,7 @@ public class LancamentoWebController {
         model.addAttribute("mode", "create");
         model.addAttribute("redirectUrl", redirectUrl);
         model.addAttribute("lancamento", novo);
-        model.addAttribute("contasDebito", contasDebito);
-        model.addAttribute("contasCredito", contasCredito);
+        adicionarTextosContas(model, novo.getContaCreditoId(), novo.getContaDebitoId());
         model.addAttribute("statusList", statusList);
         return "lancamentos/form";
     }
@@ -111,14 +116,11 @@ public class LancamentoWebController {
                 return "redirect:/contas";
             }
 
-            List<ContaViewDto> contasCredito = contaService.listarContasAnaliticasPorSentidoAceito(CREDITO);
-            List<ContaViewDto> contasDebito = contaService.listarContasAnaliticasPorSentidoAceito(DEBITO);
             List<StatusLancamento> statusList = Arrays.asList(StatusLancamento.values());
 
             model.addAttribute("mode", "edit");
             model.addAttribute("lancamento", lancamento);
-            model.addAttribute("contasDebito", contasDebito);
-            model.addAttribute("contasCredito", contasCredito);
+            adicionarTextosContas(model, lancamento.getContaCreditoId(), lancamento.getContaDebitoId());
             model.addAttribute("statusList", statusList);
             return "lancamentos/form";
         } catch (Exception e) {
@@ -160,6 +162,57 @@ public class LancamentoWebController {
         return "redirect:" + sanitizeRedirect(redirectUrl, "/contas");
     }
 
+    // GET /lancamentos/importar[?contaId={contaId}]
+    @GetMapping("/lancamentos/importar")
+    public String importarExtrato(Model model, @RequestParam(required = false) Integer contaId) {
+        ImportacaoExtratoDto importacao = new ImportacaoExtratoDto();
+        importacao.setContaId(contaId);
+        prepararImportacao(model, importacao);
+        return "lancamentos/importar";
+    }
+
+    // POST /lancamentos/importar (multipart: arquivo + parâmetros)
+    @PostMapping("/lancamentos/importar")
+    public String importar(@RequestParam("arquivo") MultipartFile arquivo, ImportacaoExtratoDto importacao,
+            Model model) {
+        try {
+            if (arquivo == null || arquivo.isEmpty())
+                throw new IllegalArgumentException("Selecione um arquivo de extrato");
+            try (InputStream conteudo = arquivo.getInputStream()) {
+                ResultadoImportacaoDto resultado = importacaoService.importar(conteudo,
+                        arquivo.getOriginalFilename(), importacao);
+                model.addAttribute("resultado", resultado);
+                model.addAttribute("success", resultado.getImportados() + " lançamento(s) importado(s).");
+            }
+        } catch (IOException e) {
+            model.addAttribute("error", "Erro ao ler o arquivo: " + e.getMessage());
+        } catch (Exception e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        prepararImportacao(model, importacao);
+        return "lancamentos/importar";
+    }
+
+    // Os campos de conta buscam as opções sob demanda (/api/contas/busca); o formulário
+    // só precisa do texto das contas já selecionadas
+    private void adicionarTextosContas(Model model, Integer contaCreditoId, Integer contaDebitoId) {
+        model.addAttribute("contaCreditoTexto", contaService.obterDisplayText(contaCreditoId));
+        model.addAttribute("contaDebitoTexto", contaService.obterDisplayText(contaDebitoId));
+    }
+
+    private void prepararImportacao(Model model, ImportacaoExtratoDto importacao) {
+        Map<String, String> textos = new HashMap<>();
+        textos.put("contaId", contaService.obterDisplayText(importacao.getContaId()));
+        textos.put("contrapartidaEntradaId", contaService.obterDisplayText(importacao.getContrapartidaEntradaId()));
+        textos.put("contrapartidaSaidaId", contaService.obterDisplayText(importacao.getContrapartidaSaidaId()));
+
+        model.addAttribute("importacao", importacao);
+        model.addAttribute("textos", textos);
+        model.addAttribute("statusList", List.of(EFETIVO, PREVISTO));
+        model.addAttribute("redirectUrl",
+                importacao.getContaId() != null ? "/contas/" + importacao.getContaId() : "/contas");
+    }
+
     private String sanitizeRedirect(String redirectUrl, String defaultUrl) {
         if (redirectUrl == null || redirectUrl.isBlank())
             return defaultUrl;
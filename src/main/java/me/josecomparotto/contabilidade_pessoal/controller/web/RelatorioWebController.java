@@ -0,0 +1,69 @@
+package me.josecomparotto.contabilidade_pessoal.controller.web;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import me.josecomparotto.contabilidade_pessoal.service.RelatorioService;
+
+@Controller
+public class RelatorioWebController {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    // GET /relatorios/dre?dataInicial=&dataFinal= (padrão: mês corrente)
+    @GetMapping("/relatorios/dre")
+    public String dre(
+            @RequestParam(name = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+            @RequestParam(name = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal,
+            Model model) {
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = dataInicial != null ? dataInicial : hoje.withDayOfMonth(1);
+        LocalDate fim = dataFinal != null ? dataFinal : hoje.withDayOfMonth(hoje.lengthOfMonth());
+        try {
+            model.addAttribute("relatorio", relatorioService.gerarDre(inicio, fim));
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        model.addAttribute("dataInicial", inicio);
+        model.addAttribute("dataFinal", fim);
+        return "relatorios/relatorio";
+    }
+
+    // GET /relatorios/balanco?data= (padrão: hoje)
+    @GetMapping("/relatorios/balanco")
+    public String balanco(
+            @RequestParam(name = "data", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate data,
+            Model model) {
+        LocalDate dataBase = data != null ? data : LocalDate.now();
+        model.addAttribute("relatorio", relatorioService.gerarBalanco(dataBase));
+        model.addAttribute("data", dataBase);
+        return "relatorios/relatorio";
+    }
+
+    // GET /relatorios/balancete?dataInicial=&dataFinal= (padrão: mês corrente)
+    @GetMapping("/relatorios/balancete")
+    public String balancete(
+            @RequestParam(name = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+            @RequestParam(name = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal,
+            Model model) {
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = dataInicial != null ? dataInicial : hoje.withDayOfMonth(1);
+        LocalDate fim = dataFinal != null ? dataFinal : hoje.withDayOfMonth(hoje.lengthOfMonth());
+        try {
+            model.addAttribute("balancete", relatorioService.gerarBalancete(inicio, fim));
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        model.addAttribute("dataInicial", inicio);
+        model.addAttribute("dataFinal", fim);
+        return "relatorios/balancete";
+    }
+}
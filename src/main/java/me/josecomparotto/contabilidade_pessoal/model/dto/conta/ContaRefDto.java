@@ -0,0 +1,62 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.conta;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.IDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
+
+/**
+ * Referência leve a uma conta (sem saldos nem regras de edição), usada nos
+ * lançamentos e movimentos para identificar partida e contrapartida.
+ */
+public class ContaRefDto implements IDto<Conta> {
+    private Integer id;
+    private String codigo;
+    private String descricao;
+    private Natureza natureza;
+    private String displayText;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public Natureza getNatureza() {
+        return natureza;
+    }
+
+    public void setNatureza(Natureza natureza) {
+        this.natureza = natureza;
+    }
+
+    public String getDisplayText() {
+        return displayText;
+    }
+
+    public void setDisplayText(String displayText) {
+        this.displayText = displayText;
+    }
+
+    @Override
+    public String toString() {
+        return getDisplayText();
+    }
+}
@@ -1,9 +1,5 @@
 package me.josecomparotto.contabilidade_pessoal.model.dto.conta;
 
-import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -13,6 +9,7 @@ import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
 import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
 import me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.*;
 import static me.josecomparotto.contabilidade_pessoal.model.enums.Natureza.*;
@@ -21,8 +18,8 @@ public class ContaViewDto implements IDto<Conta> {
     private String codigo;
     private String descricao;
     private String displayText;
-    private BigDecimal saldoAtual;
-    private BigDecimal saldoProjetado;
+    private Money saldoAtual;
+    private Money saldoProjetado;
     private Natureza natureza;
     private TipoConta tipo;
     private boolean ativa;
@@ -64,39 +61,35 @@ public class ContaViewDto implements IDto<Conta> {
         this.displayText = displayText;
     }
 
-    public BigDecimal getSaldoAtual() {
+    public Money getSaldoAtual() {
         return saldoAtual;
     }
 
     @JsonIgnore
     public String getSaldoAtualFormatado() {
-        if (saldoAtual == null || BigDecimal.ZERO.compareTo(saldoAtual) == 0) {
+        if (saldoAtual == null || saldoAtual.isZero()) {
             return "-";
         }
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.forLanguageTag("pt-BR"));
-        DecimalFormat df = new DecimalFormat("#,##0.00;(#,##0.00)", symbols);
-        return df.format(saldoAtual);
+        return saldoAtual.formatar();
     }
 
-    public void setSaldoAtual(BigDecimal saldoAtual) {
+    public void setSaldoAtual(Money saldoAtual) {
         this.saldoAtual = saldoAtual;
     }
     
-    public BigDecimal getSaldoProjetado() {
+    public Money getSaldoProjetado() {
         return saldoProjetado;
     }
-    public void setSaldoProjetado(BigDecimal saldoProjetado) {
+    public void setSaldoProjetado(Money saldoProjetado) {
         this.saldoProjetado = saldoProjetado;
     }
 
     @JsonIgnore
     public String getSaldoProjetadoFormatado() {
-        if (saldoProjetado == null || BigDecimal.ZERO.compareTo(saldoProjetado) == 0) {
+        if (saldoProjetado == null || saldoProjetado.isZero()) {
             return "-";
         }
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.forLanguageTag("pt-BR"));
-        DecimalFormat df = new DecimalFormat("#,##0.00;(#,##0.00)", symbols);
-        return df.format(saldoProjetado);
+        return saldoProjetado.formatar();
     }
 
     public Natureza getNatureza() {
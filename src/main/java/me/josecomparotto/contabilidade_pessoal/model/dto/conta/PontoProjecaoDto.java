@@ -0,0 +1,49 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.conta;
+
+import java.time.LocalDate;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Dia da projeção de saldo: movimento previsto do dia e saldo ao final dele,
+ * no sentido natural da conta.
+ */
+public class PontoProjecaoDto {
+
+    private LocalDate data;
+    private Money entradas;
+    private Money saidas;
+    private Money saldo;
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public void setData(LocalDate data) {
+        this.data = data;
+    }
+
+    public Money getEntradas() {
+        return entradas;
+    }
+
+    public void setEntradas(Money entradas) {
+        this.entradas = entradas;
+    }
+
+    public Money getSaidas() {
+        return saidas;
+    }
+
+    public void setSaidas(Money saidas) {
+        this.saidas = saidas;
+    }
+
+    public Money getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(Money saldo) {
+        this.saldo = saldo;
+    }
+}
@@ -0,0 +1,98 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.conta;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Projeção diária do saldo natural de uma conta (com inferiores): saldo
+ * efetivo atual mais os lançamentos PREVISTO de cada dia. Previstos com data
+ * anterior à inicial (em atraso) entram no primeiro dia.
+ */
+public class ProjecaoSaldoDto {
+
+    private ContaRefDto conta;
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    // Ponto de partida: saldo natural efetivo atual
+    private Money saldoEfetivo;
+    private Money saldoFinal;
+    private Money menorSaldo;
+    private LocalDate dataMenorSaldo;
+    // Primeiro dia que termina com saldo natural negativo; nulo se nenhum
+    private LocalDate primeiroDiaNegativo;
+    private List<PontoProjecaoDto> pontos;
+
+    public ContaRefDto getConta() {
+        return conta;
+    }
+
+    public void setConta(ContaRefDto conta) {
+        this.conta = conta;
+    }
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public void setDataInicial(LocalDate dataInicial) {
+        this.dataInicial = dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public void setDataFinal(LocalDate dataFinal) {
+        this.dataFinal = dataFinal;
+    }
+
+    public Money getSaldoEfetivo() {
+        return saldoEfetivo;
+    }
+
+    public void setSaldoEfetivo(Money saldoEfetivo) {
+        this.saldoEfetivo = saldoEfetivo;
+    }
+
+    public Money getSaldoFinal() {
+        return saldoFinal;
+    }
+
+    public void setSaldoFinal(Money saldoFinal) {
+        this.saldoFinal = saldoFinal;
+    }
+
+    public Money getMenorSaldo() {
+        return menorSaldo;
+    }
+
+    public void setMenorSaldo(Money menorSaldo) {
+        this.menorSaldo = menorSaldo;
+    }
+
+    public LocalDate getDataMenorSaldo() {
+        return dataMenorSaldo;
+    }
+
+    public void setDataMenorSaldo(LocalDate dataMenorSaldo) {
+        this.dataMenorSaldo = dataMenorSaldo;
+    }
+
+    public LocalDate getPrimeiroDiaNegativo() {
+        return primeiroDiaNegativo;
+    }
+
+    public void setPrimeiroDiaNegativo(LocalDate primeiroDiaNegativo) {
+        this.primeiroDiaNegativo = primeiroDiaNegativo;
+    }
+
+    public List<PontoProjecaoDto> getPontos() {
+        return pontos;
+    }
+
+    public void setPontos(List<PontoProjecaoDto> pontos) {
+        this.pontos = pontos;
+    }
+}
@@ -0,0 +1,93 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.conta;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.IDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Saldos consolidados de uma conta (incluindo suas inferiores), calculados no
+ * banco de dados.
+ * <p>
+ * Os valores contábeis seguem a mesma convenção de
+ * {@link Conta#getSaldoContabil}: créditos - débitos. O saldo previsto inclui
+ * os lançamentos efetivos, assim como {@link Conta#getSaldoContabilPrevisto()}.
+ */
+public class SaldoContaDto implements IDto<Conta> {
+
+    private Integer idConta;
+    private Money saldoContabilEfetivo = Money.ZERO;
+    private Money saldoContabilPrevisto = Money.ZERO;
+    private long quantidadeLancamentos;
+
+    public SaldoContaDto() {
+    }
+
+    public SaldoContaDto(Integer idConta) {
+        this.idConta = idConta;
+    }
+
+    public Integer getIdConta() {
+        return idConta;
+    }
+
+    public void setIdConta(Integer idConta) {
+        this.idConta = idConta;
+    }
+
+    public Money getSaldoContabilEfetivo() {
+        return saldoContabilEfetivo;
+    }
+
+    public void setSaldoContabilEfetivo(Money saldoContabilEfetivo) {
+        this.saldoContabilEfetivo = saldoContabilEfetivo;
+    }
+
+    public Money getSaldoContabilPrevisto() {
+        return saldoContabilPrevisto;
+    }
+
+    public void setSaldoContabilPrevisto(Money saldoContabilPrevisto) {
+        this.saldoContabilPrevisto = saldoContabilPrevisto;
+    }
+
+    /**
+     * Quantidade de lançamentos (de qualquer status) lançados diretamente na
+     * conta.
+     */
+    public long getQuantidadeLancamentos() {
+        return quantidadeLancamentos;
+    }
+
+    public void setQuantidadeLancamentos(long quantidadeLancamentos) {
+        this.quantidadeLancamentos = quantidadeLancamentos;
+    }
+
+    public boolean isPossuiLancamentos() {
+        return quantidadeLancamentos > 0;
+    }
+
+    public Money getSaldoNaturalEfetivo(Natureza natureza) {
+        return toNatural(saldoContabilEfetivo, natureza);
+    }
+
+    public Money getSaldoNaturalPrevisto(Natureza natureza) {
+        return toNatural(saldoContabilPrevisto, natureza);
+    }
+
+    // Converte um saldo contábil (créditos - débitos) para o sentido natural da conta
+    public static Money toNatural(Money saldoContabil, Natureza natureza) {
+        if (natureza == null || saldoContabil == null) {
+            return Money.ZERO;
+        }
+        return natureza == Natureza.DEVEDORA ? saldoContabil.negate() : saldoContabil;
+    }
+
+    // Inverso de toNatural: saldo no sentido natural da conta de volta para contábil
+    public static Money toContabil(Money saldoNatural, Natureza natureza) {
+        if (natureza == null || saldoNatural == null) {
+            return Money.ZERO;
+        }
+        return natureza == Natureza.DEVEDORA ? saldoNatural.negate() : saldoNatural;
+    }
+}
@@ -0,0 +1,60 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.lancamento;
+
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+
+/**
+ * Parâmetros da importação de um extrato bancário.
+ * <p>
+ * Entradas do extrato aumentam o saldo natural da conta do extrato (débito em
+ * conta devedora, crédito em conta credora) tendo como contrapartida a conta
+ * de entradas; saídas fazem o movimento oposto contra a conta de saídas.
+ * Linhas com a coluna de conta (CSV) usam a contrapartida informada.
+ */
+public class ImportacaoExtratoDto {
+
+    private Integer contaId;
+    private Integer contrapartidaEntradaId;
+    private Integer contrapartidaSaidaId;
+    private StatusLancamento status = StatusLancamento.EFETIVO;
+    private String codificacao = "UTF-8";
+
+    public Integer getContaId() {
+        return contaId;
+    }
+
+    public void setContaId(Integer contaId) {
+        this.contaId = contaId;
+    }
+
+    public Integer getContrapartidaEntradaId() {
+        return contrapartidaEntradaId;
+    }
+
+    public void setContrapartidaEntradaId(Integer contrapartidaEntradaId) {
+        this.contrapartidaEntradaId = contrapartidaEntradaId;
+    }
+
+    public Integer getContrapartidaSaidaId() {
+        return contrapartidaSaidaId;
+    }
+
+    public void setContrapartidaSaidaId(Integer contrapartidaSaidaId) {
+        this.contrapartidaSaidaId = contrapartidaSaidaId;
+    }
+
+    public StatusLancamento getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusLancamento status) {
+        this.status = status;
+    }
+
+    public String getCodificacao() {
+        return codificacao;
+    }
+
+    public void setCodificacao(String codificacao) {
+        this.codificacao = codificacao;
+    }
+}
@@ -1,26 +1,24 @@
 package me.josecomparotto.contabilidade_pessoal.model.dto.lancamento;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import me.josecomparotto.contabilidade_pessoal.model.dto.IDto;
-import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
 import me.josecomparotto.contabilidade_pessoal.model.entity.Lancamento;
 import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 public class LancamentoDto implements IDto<Lancamento> {
 
     private Long id;
     private String descricao;
-    private Double valor;
+    private Money valor;
     private LocalDate dataCompetencia;
-    private ContaViewDto contaDebito;
-    private ContaViewDto contaCredito;
+    private ContaRefDto contaDebito;
+    private ContaRefDto contaCredito;
     private StatusLancamento status;
 
     private boolean editable;
@@ -44,11 +42,11 @@ public class LancamentoDto implements IDto<Lancamento> {
         this.descricao = descricao;
     }
 
-    public Double getValor() {
+    public Money getValor() {
         return valor;
     }
 
-    public void setValor(Double valor) {
+    public void setValor(Money valor) {
         this.valor = valor;
     }
 
@@ -60,19 +58,19 @@ public class LancamentoDto implements IDto<Lancamento> {
         this.dataCompetencia = dataCompetencia;
     }
 
-    public ContaViewDto getContaDebito() {
+    public ContaRefDto getContaDebito() {
         return contaDebito;
     }
 
-    public void setContaDebito(ContaViewDto contaDebito) {
+    public void setContaDebito(ContaRefDto contaDebito) {
         this.contaDebito = contaDebito;
     }
 
-    public ContaViewDto getContaCredito() {
+    public ContaRefDto getContaCredito() {
         return contaCredito;
     }
 
-    public void setContaCredito(ContaViewDto contaCredito) {
+    public void setContaCredito(ContaRefDto contaCredito) {
         this.contaCredito = contaCredito;
     }
 
@@ -114,12 +112,10 @@ public class LancamentoDto implements IDto<Lancamento> {
 
     @JsonIgnore
     public String getValorFormatado() {
-        if (valor == null || Double.compare(valor, 0.0) == 0) {
+        if (valor == null || valor.isZero()) {
             return "-";
         }
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.forLanguageTag("pt-BR"));
-        DecimalFormat df = new DecimalFormat("#,##0.00;(#,##0.00)", symbols);
-        return df.format(valor);
+        return valor.formatar();
     }
 
     @Override
@@ -3,12 +3,13 @@ package me.josecomparotto.contabilidade_pessoal.model.dto.lancamento;
 import java.time.LocalDate;
 
 import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 public class LancamentoNewDto {
 
     private Long id;
     private String descricao;
-    private Double valor;
+    private Money valor;
     private LocalDate dataCompetencia;
     
     private Integer contaDebitoId;
@@ -32,11 +33,11 @@ public class LancamentoNewDto {
         this.descricao = descricao;
     }
 
-    public Double getValor() {
+    public Money getValor() {
         return valor;
     }
 
-    public void setValor(Double valor) {
+    public void setValor(Money valor) {
         this.valor = valor;
     }
 
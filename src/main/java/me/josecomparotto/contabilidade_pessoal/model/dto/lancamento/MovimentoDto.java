@@ -2,16 +2,14 @@ package me.josecomparotto.contabilidade_pessoal.model.dto.lancamento;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
-import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoNatural;
 import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 public class MovimentoDto {
 
@@ -22,15 +20,15 @@ public class MovimentoDto {
     // Dados comuns
     private LocalDate data;
     private String descricao;
-    private Double valor;
-    private Double saldo;
+    private Money valor;
+    private Money saldo;
 
     // Dados do lancamento
     private Long idLancamento;
     private SentidoContabil sentidoContabil;
     private SentidoNatural sentidoNatural;
-    private ContaViewDto contaPartida;
-    private ContaViewDto contaContrapartida;
+    private ContaRefDto contaPartida;
+    private ContaRefDto contaContrapartida;
 
     public StatusLancamento getStatus() {
         return status;
@@ -64,19 +62,19 @@ public class MovimentoDto {
         this.descricao = descricao;
     }
 
-    public Double getValor() {
+    public Money getValor() {
         return valor;
     }
 
-    public void setValor(Double valor) {
+    public void setValor(Money valor) {
         this.valor = valor;
     }
 
-    public Double getSaldo() {
+    public Money getSaldo() {
         return saldo;
     }
 
-    public void setSaldo(Double saldo) {
+    public void setSaldo(Money saldo) {
         this.saldo = saldo;
     }
 
@@ -104,19 +102,19 @@ public class MovimentoDto {
         this.sentidoNatural = sentidoNatural;
     }
 
-    public ContaViewDto getContaPartida() {
+    public ContaRefDto getContaPartida() {
         return contaPartida;
     }
 
-    public void setContaPartida(ContaViewDto contaPartida) {
+    public void setContaPartida(ContaRefDto contaPartida) {
         this.contaPartida = contaPartida;
     }
 
-    public ContaViewDto getContaContrapartida() {
+    public ContaRefDto getContaContrapartida() {
         return contaContrapartida;
     }
 
-    public void setContaContrapartida(ContaViewDto contaContrapartida) {
+    public void setContaContrapartida(ContaRefDto contaContrapartida) {
         this.contaContrapartida = contaContrapartida;
     }
 
@@ -127,21 +125,17 @@ public class MovimentoDto {
 
     @JsonIgnore
     public String getValorFormatado() {
-        if (valor == null || Double.compare(valor, 0.0) == 0) {
+        if (valor == null || valor.isZero()) {
             return "-";
         }
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.forLanguageTag("pt-BR"));
-        DecimalFormat df = new DecimalFormat("#,##0.00;(#,##0.00)", symbols);
-        return df.format(valor);
+        return valor.formatar();
     }
 
     @JsonIgnore
     public String getSaldoFormatado() {
-        if (saldo == null || Double.compare(saldo, 0.0) == 0) {
+        if (saldo == null || saldo.isZero()) {
             return "-";
         }
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.forLanguageTag("pt-BR"));
-        DecimalFormat df = new DecimalFormat("#,##0.00;(#,##0.00)", symbols);
-        return df.format(saldo);
+        return saldo.formatar();
     }
 }
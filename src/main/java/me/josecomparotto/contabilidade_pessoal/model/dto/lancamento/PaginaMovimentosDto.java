@@ -0,0 +1,98 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.lancamento;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+
+/**
+ * Página do extrato de uma conta, com cursor (data, id) para a próxima página.
+ * <p>
+ * Os movimentos já incluem as linhas agregadas por dia. Os filtros da
+ * consulta (período e limite, nulos quando omitidos) acompanham a página para
+ * que a próxima seja pedida com os mesmos.
+ */
+public class PaginaMovimentosDto {
+
+    private Integer idConta;
+    private StatusLancamento status;
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private Integer limite;
+    private List<MovimentoDto> movimentos;
+    private boolean possuiMais;
+    private LocalDate proximoCursorData;
+    private Long proximoCursorId;
+
+    public Integer getIdConta() {
+        return idConta;
+    }
+
+    public void setIdConta(Integer idConta) {
+        this.idConta = idConta;
+    }
+
+    public StatusLancamento getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusLancamento status) {
+        this.status = status;
+    }
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public void setDataInicial(LocalDate dataInicial) {
+        this.dataInicial = dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public void setDataFinal(LocalDate dataFinal) {
+        this.dataFinal = dataFinal;
+    }
+
+    public Integer getLimite() {
+        return limite;
+    }
+
+    public void setLimite(Integer limite) {
+        this.limite = limite;
+    }
+
+    public List<MovimentoDto> getMovimentos() {
+        return movimentos;
+    }
+
+    public void setMovimentos(List<MovimentoDto> movimentos) {
+        this.movimentos = movimentos;
+    }
+
+    public boolean isPossuiMais() {
+        return possuiMais;
+    }
+
+    public void setPossuiMais(boolean possuiMais) {
+        this.possuiMais = possuiMais;
+    }
+
+    public LocalDate getProximoCursorData() {
+        return proximoCursorData;
+    }
+
+    public void setProximoCursorData(LocalDate proximoCursorData) {
+        this.proximoCursorData = proximoCursorData;
+    }
+
+    public Long getProximoCursorId() {
+        return proximoCursorId;
+    }
+
+    public void setProximoCursorId(Long proximoCursorId) {
+        this.proximoCursorId = proximoCursorId;
+    }
+}
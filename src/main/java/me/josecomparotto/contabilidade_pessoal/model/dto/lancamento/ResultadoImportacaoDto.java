@@ -0,0 +1,109 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.lancamento;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.josecomparotto.contabilidade_pessoal.model.enums.FormatoExtrato;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Resultado da importação de um extrato: lançamentos gravados e linhas
+ * rejeitadas, com o motivo de cada uma.
+ */
+public class ResultadoImportacaoDto {
+
+    // Limita a lista exibida; a contagem de rejeitadas continua completa
+    public static final int LIMITE_ERROS = 500;
+
+    private String nomeArquivo;
+    private FormatoExtrato formato;
+    private int importados;
+    private int rejeitados;
+    private Money totalEntradas = Money.ZERO;
+    private Money totalSaidas = Money.ZERO;
+    private long duracaoMs;
+    private final List<ErroImportacaoDto> erros = new ArrayList<>();
+
+    public void adicionarErro(int linha, String mensagem) {
+        rejeitados++;
+        if (erros.size() < LIMITE_ERROS) {
+            erros.add(new ErroImportacaoDto(linha, mensagem));
+        }
+    }
+
+    public void adicionarImportado(Money valor) {
+        importados++;
+        if (valor.isNegative()) {
+            totalSaidas = totalSaidas.plus(valor.negate());
+        } else {
+            totalEntradas = totalEntradas.plus(valor);
+        }
+    }
+
+    public String getNomeArquivo() {
+        return nomeArquivo;
+    }
+
+    public void setNomeArquivo(String nomeArquivo) {
+        this.nomeArquivo = nomeArquivo;
+    }
+
+    public FormatoExtrato getFormato() {
+        return formato;
+    }
+
+    public void setFormato(FormatoExtrato formato) {
+        this.formato = formato;
+    }
+
+    public int getImportados() {
+        return importados;
+    }
+
+    public int getRejeitados() {
+        return rejeitados;
+    }
+
+    public Money getTotalEntradas() {
+        return totalEntradas;
+    }
+
+    public Money getTotalSaidas() {
+        return totalSaidas;
+    }
+
+    public long getDuracaoMs() {
+        return duracaoMs;
+    }
+
+    public void setDuracaoMs(long duracaoMs) {
+        this.duracaoMs = duracaoMs;
+    }
+
+    public List<ErroImportacaoDto> getErros() {
+        return erros;
+    }
+
+    public boolean isErrosTruncados() {
+        return rejeitados > erros.size();
+    }
+
+    public static class ErroImportacaoDto {
+
+        private final int linha;
+        private final String mensagem;
+
+        public ErroImportacaoDto(int linha, String mensagem) {
+            this.linha = linha;
+            this.mensagem = mensagem;
+        }
+
+        public int getLinha() {
+            return linha;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia;
+
+import java.time.LocalDate;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.IDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Recorrencia;
+import me.josecomparotto.contabilidade_pessoal.model.enums.FrequenciaRecorrencia;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+public class RecorrenciaDto implements IDto<Recorrencia> {
+
+    private Integer id;
+    private String descricao;
+    private Money valor;
+    private ContaRefDto contaCredito;
+    private ContaRefDto contaDebito;
+    private FrequenciaRecorrencia frequencia;
+    private Integer intervalo;
+    private Integer dia;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private Integer quantidade;
+    private boolean ativa;
+    // Data até a qual os lançamentos já foram gerados
+    private LocalDate geradoAte;
+    private String displayText;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public Money getValor() {
+        return valor;
+    }
+
+    public void setValor(Money valor) {
+        this.valor = valor;
+    }
+
+    public ContaRefDto getContaCredito() {
+        return contaCredito;
+    }
+
+    public void setContaCredito(ContaRefDto contaCredito) {
+        this.contaCredito = contaCredito;
+    }
+
+    public ContaRefDto getContaDebito() {
+        return contaDebito;
+    }
+
+    public void setContaDebito(ContaRefDto contaDebito) {
+        this.contaDebito = contaDebito;
+    }
+
+    public FrequenciaRecorrencia getFrequencia() {
+        return frequencia;
+    }
+
+    public void setFrequencia(FrequenciaRecorrencia frequencia) {
+        this.frequencia = frequencia;
+    }
+
+    public Integer getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Integer intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public Integer getDia() {
+        return dia;
+    }
+
+    public void setDia(Integer dia) {
+        this.dia = dia;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDate dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public boolean isAtiva() {
+        return ativa;
+    }
+
+    public void setAtiva(boolean ativa) {
+        this.ativa = ativa;
+    }
+
+    public LocalDate getGeradoAte() {
+        return geradoAte;
+    }
+
+    public void setGeradoAte(LocalDate geradoAte) {
+        this.geradoAte = geradoAte;
+    }
+
+    public String getDisplayText() {
+        return displayText;
+    }
+
+    public void setDisplayText(String displayText) {
+        this.displayText = displayText;
+    }
+
+}
@@ -0,0 +1,104 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia;
+
+import java.time.LocalDate;
+
+import me.josecomparotto.contabilidade_pessoal.model.enums.FrequenciaRecorrencia;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+public class RecorrenciaNewDto {
+
+    private String descricao;
+    private Money valor;
+    private Integer contaCreditoId;
+    private Integer contaDebitoId;
+    private FrequenciaRecorrencia frequencia;
+    // A cada N meses/semanas (padrão 1)
+    private Integer intervalo;
+    // Dia do mês, da semana (ISO) ou n-ésimo dia útil, conforme a frequência
+    private Integer dia;
+    private LocalDate dataInicio;
+    // Fim opcional: data, quantidade de ocorrências ou ambos
+    private LocalDate dataFim;
+    private Integer quantidade;
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public Money getValor() {
+        return valor;
+    }
+
+    public void setValor(Money valor) {
+        this.valor = valor;
+    }
+
+    public Integer getContaCreditoId() {
+        return contaCreditoId;
+    }
+
+    public void setContaCreditoId(Integer contaCreditoId) {
+        this.contaCreditoId = contaCreditoId;
+    }
+
+    public Integer getContaDebitoId() {
+        return contaDebitoId;
+    }
+
+    public void setContaDebitoId(Integer contaDebitoId) {
+        this.contaDebitoId = contaDebitoId;
+    }
+
+    public FrequenciaRecorrencia getFrequencia() {
+        return frequencia;
+    }
+
+    public void setFrequencia(FrequenciaRecorrencia frequencia) {
+        this.frequencia = frequencia;
+    }
+
+    public Integer getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Integer intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public Integer getDia() {
+        return dia;
+    }
+
+    public void setDia(Integer dia) {
+        this.dia = dia;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDate dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+}
@@ -0,0 +1,60 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.relatorio;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Balancete de verificação do período, com as contas na ordem do plano.
+ * Considera apenas lançamentos efetivos; o total de débitos é igual ao de
+ * créditos pela partida dobrada.
+ */
+public class BalanceteDto {
+
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private List<LinhaBalanceteDto> linhas;
+    private Money totalDebitos;
+    private Money totalCreditos;
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public void setDataInicial(LocalDate dataInicial) {
+        this.dataInicial = dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public void setDataFinal(LocalDate dataFinal) {
+        this.dataFinal = dataFinal;
+    }
+
+    public List<LinhaBalanceteDto> getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(List<LinhaBalanceteDto> linhas) {
+        this.linhas = linhas;
+    }
+
+    public Money getTotalDebitos() {
+        return totalDebitos;
+    }
+
+    public void setTotalDebitos(Money totalDebitos) {
+        this.totalDebitos = totalDebitos;
+    }
+
+    public Money getTotalCreditos() {
+        return totalCreditos;
+    }
+
+    public void setTotalCreditos(Money totalCreditos) {
+        this.totalCreditos = totalCreditos;
+    }
+}
@@ -0,0 +1,77 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.relatorio;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Linha do balancete: conta (com inferiores), saldo anterior, débitos e
+ * créditos do período e saldo final. Saldos no sentido natural da própria
+ * conta; negativo indica saldo contrário à natureza.
+ */
+public class LinhaBalanceteDto {
+
+    private ContaRefDto conta;
+    // Profundidade no plano (0 = raiz)
+    private int nivel;
+    private boolean sintetica;
+    private Money saldoInicial;
+    private Money debitos;
+    private Money creditos;
+    private Money saldoFinal;
+
+    public ContaRefDto getConta() {
+        return conta;
+    }
+
+    public void setConta(ContaRefDto conta) {
+        this.conta = conta;
+    }
+
+    public int getNivel() {
+        return nivel;
+    }
+
+    public void setNivel(int nivel) {
+        this.nivel = nivel;
+    }
+
+    public boolean isSintetica() {
+        return sintetica;
+    }
+
+    public void setSintetica(boolean sintetica) {
+        this.sintetica = sintetica;
+    }
+
+    public Money getSaldoInicial() {
+        return saldoInicial;
+    }
+
+    public void setSaldoInicial(Money saldoInicial) {
+        this.saldoInicial = saldoInicial;
+    }
+
+    public Money getDebitos() {
+        return debitos;
+    }
+
+    public void setDebitos(Money debitos) {
+        this.debitos = debitos;
+    }
+
+    public Money getCreditos() {
+        return creditos;
+    }
+
+    public void setCreditos(Money creditos) {
+        this.creditos = creditos;
+    }
+
+    public Money getSaldoFinal() {
+        return saldoFinal;
+    }
+
+    public void setSaldoFinal(Money saldoFinal) {
+        this.saldoFinal = saldoFinal;
+    }
+}
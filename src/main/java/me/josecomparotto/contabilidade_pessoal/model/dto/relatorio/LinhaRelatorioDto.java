@@ -0,0 +1,77 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.relatorio;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Linha de um relatório: conta (com inferiores) e valores no sentido natural
+ * da raiz, de modo que contas redutoras aparecem com sinal negativo.
+ */
+public class LinhaRelatorioDto {
+
+    // Nula na linha de resultado acumulado do balanço
+    private ContaRefDto conta;
+    private String descricao;
+    // Profundidade a partir da raiz da seção (0 = raiz)
+    private int nivel;
+    private boolean sintetica;
+    private boolean redutora;
+    private Money efetivo;
+    private Money previsto;
+
+    public ContaRefDto getConta() {
+        return conta;
+    }
+
+    public void setConta(ContaRefDto conta) {
+        this.conta = conta;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public int getNivel() {
+        return nivel;
+    }
+
+    public void setNivel(int nivel) {
+        this.nivel = nivel;
+    }
+
+    public boolean isSintetica() {
+        return sintetica;
+    }
+
+    public void setSintetica(boolean sintetica) {
+        this.sintetica = sintetica;
+    }
+
+    public boolean isRedutora() {
+        return redutora;
+    }
+
+    public void setRedutora(boolean redutora) {
+        this.redutora = redutora;
+    }
+
+    public Money getEfetivo() {
+        return efetivo;
+    }
+
+    public void setEfetivo(Money efetivo) {
+        this.efetivo = efetivo;
+    }
+
+    public Money getPrevisto() {
+        return previsto;
+    }
+
+    public void setPrevisto(Money previsto) {
+        this.previsto = previsto;
+    }
+}
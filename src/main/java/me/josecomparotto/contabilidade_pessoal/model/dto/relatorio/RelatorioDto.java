@@ -0,0 +1,71 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.relatorio;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import me.josecomparotto.contabilidade_pessoal.model.enums.TipoRelatorio;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * DRE (movimento do período) ou balanço (saldos na data final). Valores
+ * efetivos e previstos são separados, como nos saldos das contas.
+ */
+public class RelatorioDto {
+
+    private TipoRelatorio tipo;
+    // Nula no balanço (saldos desde o início do histórico)
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private List<SecaoRelatorioDto> secoes;
+    // Receitas menos despesas; no balanço, o acumulado até a data
+    private Money resultadoEfetivo;
+    private Money resultadoPrevisto;
+
+    public TipoRelatorio getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoRelatorio tipo) {
+        this.tipo = tipo;
+    }
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public void setDataInicial(LocalDate dataInicial) {
+        this.dataInicial = dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public void setDataFinal(LocalDate dataFinal) {
+        this.dataFinal = dataFinal;
+    }
+
+    public List<SecaoRelatorioDto> getSecoes() {
+        return secoes;
+    }
+
+    public void setSecoes(List<SecaoRelatorioDto> secoes) {
+        this.secoes = secoes;
+    }
+
+    public Money getResultadoEfetivo() {
+        return resultadoEfetivo;
+    }
+
+    public void setResultadoEfetivo(Money resultadoEfetivo) {
+        this.resultadoEfetivo = resultadoEfetivo;
+    }
+
+    public Money getResultadoPrevisto() {
+        return resultadoPrevisto;
+    }
+
+    public void setResultadoPrevisto(Money resultadoPrevisto) {
+        this.resultadoPrevisto = resultadoPrevisto;
+    }
+}
@@ -0,0 +1,48 @@
+package me.josecomparotto.contabilidade_pessoal.model.dto.relatorio;
+
+import java.util.List;
+
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Seção de um relatório (uma conta raiz e as inferiores com valor).
+ */
+public class SecaoRelatorioDto {
+
+    private String titulo;
+    private List<LinhaRelatorioDto> linhas;
+    private Money totalEfetivo;
+    private Money totalPrevisto;
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    public List<LinhaRelatorioDto> getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(List<LinhaRelatorioDto> linhas) {
+        this.linhas = linhas;
+    }
+
+    public Money getTotalEfetivo() {
+        return totalEfetivo;
+    }
+
+    public void setTotalEfetivo(Money totalEfetivo) {
+        this.totalEfetivo = totalEfetivo;
+    }
+
+    public Money getTotalPrevisto() {
+        return totalPrevisto;
+    }
+
+    public void setTotalPrevisto(Money totalPrevisto) {
+        this.totalPrevisto = totalPrevisto;
+    }
+}
@@ -1,12 +1,16 @@
 package me.josecomparotto.contabilidade_pessoal.model.entity;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -25,14 +29,22 @@ import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
 import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
 import me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.*;
 import static me.josecomparotto.contabilidade_pessoal.model.enums.Natureza.*;
 
 @Entity
 @Table(name = "tb_contas", schema = "public")
+// Cache de segundo nível (regiões configuradas em application.conf): a conta e o
+// id da superior ficam no estado da entidade; as inferiores, na região da coleção
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Conta.REGIAO_CACHE)
 public class Conta {
 
+    public static final String REGIAO_CACHE = "contas";
+    public static final String REGIAO_CACHE_INFERIORES = "contas-inferiores";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -56,6 +68,7 @@ public class Conta {
     private TipoConta tipo;
 
     @OneToMany(mappedBy = "superior")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Conta.REGIAO_CACHE_INFERIORES)
     private final List<Conta> inferiores = new ArrayList<>();
 
     @Column(name = "aceita_movimento_oposto")
@@ -67,14 +80,29 @@ public class Conta {
     @Column(name = "created_by_system")
     private Boolean createdBySystem;
 
+    // Código e caminho de sequências no plano, derivados dos ancestrais em
+    // tb_contas_hierarquia (V16); o caminho define a ordem do plano
+    @Formula("(select string_agg(cast(s.sequencia as varchar), '.' order by h.profundidade desc)"
+            + " from public.tb_contas_hierarquia h join public.tb_contas s on s.id = h.id_superior"
+            + " where h.id_inferior = id)")
+    private String codigo;
+
+    @Formula("(select array_agg(s.sequencia order by h.profundidade desc)"
+            + " from public.tb_contas_hierarquia h join public.tb_contas s on s.id = h.id_superior"
+            + " where h.id_inferior = id)")
+    private Integer[] caminho;
+
     @OneToMany(mappedBy = "contaDebito")
     private final List<Lancamento> lancamentosDebito = new ArrayList<>();
 
     @OneToMany(mappedBy = "contaCredito")
     private final List<Lancamento> lancamentosCredito = new ArrayList<>();
 
-    @Transient
     public String getCodigo() {
+        if (codigo != null) {
+            return codigo;
+        }
+        // Conta ainda não relida após a inserção: calcula pelo caminho de superiores
         return getPath().stream()
                 .map(seq -> String.format("%d", seq))
                 .reduce((a, b) -> a + "." + b)
@@ -95,11 +123,21 @@ public class Conta {
 
     @Transient
     public Set<String> getEditableProperties() {
+        return getEditableProperties(possuiLancamentos());
+    }
+
+    /**
+     * Variante de {@link #getEditableProperties()} que recebe a existência de
+     * lançamentos já conhecida (ex.: calculada por agregação no banco), evitando
+     * a inicialização das coleções de lançamentos.
+     */
+    @Transient
+    public Set<String> getEditableProperties(boolean possuiLancamentos) {
         Set<String> editableProperties = new HashSet<>();
         if (isEditable()) {
             editableProperties.add("descricao");
 
-            if (canEditTipo()) {
+            if (canEditTipo(possuiLancamentos)) {
                 editableProperties.add("tipo");
             }
 
@@ -126,11 +164,15 @@ public class Conta {
         return aceitaMovimentoOposto;
     }
 
-    private boolean canEditTipo() {
+    private boolean canEditTipo(boolean possuiLancamentos) {
         // Regras consideradas:
         // - O tipo só pode ser alterado se a conta não tiver inferiores nem lançamentos
         // diretos.
-        return inferiores.isEmpty() && lancamentosDebito.isEmpty() && lancamentosCredito.isEmpty();
+        return inferiores.isEmpty() && !possuiLancamentos;
+    }
+
+    private boolean possuiLancamentos() {
+        return !lancamentosDebito.isEmpty() || !lancamentosCredito.isEmpty();
     }
 
     private boolean canEditRedutora() {
@@ -151,10 +193,15 @@ public class Conta {
 
     @Transient
     public boolean isDeletable() {
+        return isDeletable(possuiLancamentos());
+    }
+
+    @Transient
+    public boolean isDeletable(boolean possuiLancamentos) {
         // Uma conta pode ser deletada se não tiver inferiores, lançamentos e não for
         // uma conta
         // criada pelo sistema
-        return inferiores.isEmpty() && lancamentosDebito.isEmpty() && lancamentosCredito.isEmpty()
+        return inferiores.isEmpty() && !possuiLancamentos
                 && !Boolean.TRUE.equals(createdBySystem);
     }
 
@@ -194,7 +241,11 @@ public class Conta {
 
     @Transient
     public boolean isRedutora() {
-        Natureza raiz = getRaiz() != null ? getRaiz().getNatureza() : null;
+        return isRedutora(getRaiz());
+    }
+
+    private boolean isRedutora(Conta contaRaiz) {
+        Natureza raiz = contaRaiz.getNatureza();
         Natureza atual = this.natureza;
         // Redutora quando a natureza difere da raiz; nulls tratados como não redutora
         return (raiz != null && atual != null) && !atual.equals(raiz);
@@ -202,7 +253,7 @@ public class Conta {
 
     @Transient
     public void setRedutora(boolean redu) {
-        Natureza raiz = getRaiz() != null ? getRaiz().getNatureza() : null;
+        Natureza raiz = getRaiz().getNatureza();
         if (raiz == null) {
             throw new IllegalStateException("Não é possível definir a natureza redutora.");
         }
@@ -210,81 +261,86 @@ public class Conta {
     }
 
     @Transient
-    public BigDecimal getSaldoNaturalEfetivo() {
+    public Money getSaldoNaturalEfetivo() {
         return getSaldoNatural(l -> StatusLancamento.EFETIVO.equals(l.getStatus()));
     }
 
     @Transient
-    public BigDecimal getSaldoNaturalPrevisto() {
+    public Money getSaldoNaturalPrevisto() {
         return getSaldoNatural(l -> StatusLancamento.EFETIVO.equals(l.getStatus())
                 || StatusLancamento.PREVISTO.equals(l.getStatus()));
     }
 
     @Transient
-    public BigDecimal getSaldoNatural(Function<Lancamento, Boolean> isConsidered) {
+    public Money getSaldoNatural(Function<Lancamento, Boolean> isConsidered) {
         Natureza n = getNatureza();
         if (n == null) {
-            return BigDecimal.ZERO;
+            return Money.ZERO;
         }
         switch (n) {
             case CREDORA:
                 return getSaldoContabil(isConsidered);
             case DEVEDORA:
-                return getSaldoContabil(isConsidered)
-                        .multiply(BigDecimal.valueOf(-1));
+                return getSaldoContabil(isConsidered).negate();
             default:
-                return BigDecimal.ZERO;
+                return Money.ZERO;
         }
     }
 
     @Transient
-    public BigDecimal getSaldoContabilEfetivo() {
+    public Money getSaldoContabilEfetivo() {
         return getSaldoContabil(l -> StatusLancamento.EFETIVO.equals(l.getStatus()));
     }
 
     @Transient
-    public BigDecimal getSaldoContabilPrevisto() {
+    public Money getSaldoContabilPrevisto() {
         return getSaldoContabil(l -> StatusLancamento.EFETIVO.equals(l.getStatus())
                 || StatusLancamento.PREVISTO.equals(l.getStatus()));
     }
 
     @Transient
-    public BigDecimal getSaldoContabil(Function<Lancamento, Boolean> isConsidered) {
+    public Money getSaldoContabil(Function<Lancamento, Boolean> isConsidered) {
+        return Money.ofCentavos(getSaldoContabilCentavos(isConsidered));
+    }
+
+    // Acumula em centavos (long), sem criar valores intermediários
+    private long getSaldoContabilCentavos(Function<Lancamento, Boolean> isConsidered) {
 
         switch (getTipo()) {
             // Se for analítica, o saldo é o somatório líquido dos lançamentos efetivos
             case ANALITICA:
-                BigDecimal saldoDebito = lancamentosDebito.stream()
+                long saldoDebito = lancamentosDebito.stream()
                         .filter(isConsidered::apply)
-                        .map(Lancamento::getValor)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                BigDecimal saldoCredito = lancamentosCredito.stream()
+                        .mapToLong(l -> l.getValor().getCentavos())
+                        .sum();
+                long saldoCredito = lancamentosCredito.stream()
                         .filter(isConsidered::apply)
-                        .map(Lancamento::getValor)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                return saldoCredito.subtract(saldoDebito);
+                        .mapToLong(l -> l.getValor().getCentavos())
+                        .sum();
+                return saldoCredito - saldoDebito;
 
             // Se for sintética, o saldo é o somatório dos saldos das contas inferiores
             // analíticas
             case SINTETICA:
                 return getTodasInferiores().stream()
                         .filter(c -> TipoConta.ANALITICA.equals(c.getTipo()))
-                        .map(c -> c.getSaldoContabil(isConsidered))
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                        .mapToLong(c -> c.getSaldoContabilCentavos(isConsidered))
+                        .sum();
             default:
                 break;
         }
 
-        return BigDecimal.ZERO;
+        return 0L;
     }
 
     @Transient
     public String getDisplayText() {
         Conta raiz = getRaiz();
 
+        // A raiz é resolvida uma única vez (usada também para a regra de redutora)
         return String.format("%s. %s%s%s",
                 getCodigo(),
-                isRedutora() ? "(-) " : "",
+                isRedutora(raiz) ? "(-) " : "",
                 getDescricao(),
                 !this.equals(raiz) ? String.format(" (%s)", raiz.getDescricao()) : "");
     }
@@ -325,6 +381,10 @@ public class Conta {
         }
     }
 
+    public Integer[] getCaminho() {
+        return caminho != null ? caminho.clone() : null;
+    }
+
     public Integer getSequencia() {
         return sequencia;
     }
@@ -1,43 +1,64 @@
 package me.josecomparotto.contabilidade_pessoal.model.entity;
 
 import java.beans.Transient;
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import me.josecomparotto.contabilidade_pessoal.application.converter.MoneyConverter;
 import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 @Entity
 @Table(name = "tb_lancamentos", schema = "public")
+// Contas carregadas junto apenas quando as regras da entidade precisam delas (edição/exclusão);
+// listagens usam só os ids e resolvem as contas pela fotografia do plano
+@NamedEntityGraph(name = Lancamento.GRAFO_CONTAS, attributeNodes = {
+        @NamedAttributeNode("contaCredito"),
+        @NamedAttributeNode("contaDebito")
+})
 public class Lancamento {
 
+    public static final String GRAFO_CONTAS = "Lancamento.contas";
+
+    // Igual ao incremento de tb_lancamentos_id_seq e ao hibernate.jdbc.batch_size
+    public static final int TAMANHO_LOTE = 50;
+
+    // Ids reservados em blocos (V19): permite inserir em lote sem um round-trip por linha
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_lancamentos_id_seq")
+    @SequenceGenerator(name = "tb_lancamentos_id_seq", schema = "public",
+            sequenceName = "tb_lancamentos_id_seq", allocationSize = Lancamento.TAMANHO_LOTE)
     private Long id;
 
     @Column(name = "descricao")
     private String descricao;
 
     @Column(name = "valor")
-    private BigDecimal valor;
+    @Convert(converter = MoneyConverter.class)
+    private Money valor;
 
     @Column(name = "data_competencia")
     private LocalDate dataCompetencia;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "id_conta_credito")
     private Conta contaCredito;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "id_conta_debito")
     private Conta contaDebito;
 
@@ -61,11 +82,11 @@ public class Lancamento {
         this.descricao = descricao;
     }
 
-    public BigDecimal getValor() {
+    public Money getValor() {
         return valor;
     }
 
-    public void setValor(BigDecimal valor) {
+    public void setValor(Money valor) {
         this.valor = valor;
     }
 
@@ -0,0 +1,177 @@
+package me.josecomparotto.contabilidade_pessoal.model.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import me.josecomparotto.contabilidade_pessoal.application.converter.MoneyConverter;
+import me.josecomparotto.contabilidade_pessoal.model.enums.FrequenciaRecorrencia;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+// Regra de lançamento recorrente (V22). Os lançamentos PREVISTO são gerados no banco
+// por fn_gerar_lancamentos_recorrentes, que também mantém gerado_ate
+@Entity
+@Table(name = "tb_recorrencias", schema = "public")
+public class Recorrencia {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "descricao")
+    private String descricao;
+
+    @Column(name = "valor")
+    @Convert(converter = MoneyConverter.class)
+    private Money valor;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_conta_credito")
+    private Conta contaCredito;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_conta_debito")
+    private Conta contaDebito;
+
+    @Column(name = "frequencia")
+    @Enumerated(EnumType.STRING)
+    private FrequenciaRecorrencia frequencia;
+
+    @Column(name = "intervalo")
+    private Integer intervalo;
+
+    @Column(name = "dia")
+    private Integer dia;
+
+    @Column(name = "data_inicio")
+    private LocalDate dataInicio;
+
+    @Column(name = "data_fim")
+    private LocalDate dataFim;
+
+    @Column(name = "quantidade")
+    private Integer quantidade;
+
+    @Column(name = "ativa")
+    private Boolean ativa;
+
+    // Escrita apenas pelas funções de geração
+    @Column(name = "gerado_ate", insertable = false, updatable = false)
+    private LocalDate geradoAte;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public Money getValor() {
+        return valor;
+    }
+
+    public void setValor(Money valor) {
+        this.valor = valor;
+    }
+
+    public Conta getContaCredito() {
+        return contaCredito;
+    }
+
+    public void setContaCredito(Conta contaCredito) {
+        this.contaCredito = contaCredito;
+    }
+
+    public Conta getContaDebito() {
+        return contaDebito;
+    }
+
+    public void setContaDebito(Conta contaDebito) {
+        this.contaDebito = contaDebito;
+    }
+
+    public FrequenciaRecorrencia getFrequencia() {
+        return frequencia;
+    }
+
+    public void setFrequencia(FrequenciaRecorrencia frequencia) {
+        this.frequencia = frequencia;
+    }
+
+    public Integer getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Integer intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public Integer getDia() {
+        return dia;
+    }
+
+    public void setDia(Integer dia) {
+        this.dia = dia;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDate dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public Boolean getAtiva() {
+        return ativa;
+    }
+
+    public void setAtiva(Boolean ativa) {
+        this.ativa = ativa;
+    }
+
+    public LocalDate getGeradoAte() {
+        return geradoAte;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+
+}
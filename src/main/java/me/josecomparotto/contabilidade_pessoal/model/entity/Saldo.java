@@ -0,0 +1,63 @@
+package me.josecomparotto.contabilidade_pessoal.model.entity;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import me.josecomparotto.contabilidade_pessoal.application.converter.MoneyConverter;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+
+/**
+ * Saldo consolidado de uma conta para um status de lançamento.
+ * <p>
+ * Lida de {@code vw_saldos}, que soma pela hierarquia os saldos próprios de
+ * {@code tb_saldos} (mantida exclusivamente por gatilhos em
+ * {@code tb_lancamentos}); por isso a entidade é somente leitura.
+ */
+@Entity
+@Immutable
+@IdClass(SaldoId.class)
+@Table(name = "vw_saldos", schema = "public")
+public class Saldo {
+
+    @Id
+    @Column(name = "id_conta")
+    private Integer idConta;
+
+    @Id
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private StatusLancamento status;
+
+    // Créditos - débitos da conta e de todas as suas inferiores
+    @Column(name = "saldo")
+    @Convert(converter = MoneyConverter.class)
+    private Money saldo;
+
+    // Lançamentos diretos na conta
+    @Column(name = "quantidade")
+    private Long quantidade;
+
+    public Integer getIdConta() {
+        return idConta;
+    }
+
+    public StatusLancamento getStatus() {
+        return status;
+    }
+
+    public Money getSaldo() {
+        return saldo;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+}
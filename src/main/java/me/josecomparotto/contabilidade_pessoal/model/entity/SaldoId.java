@@ -0,0 +1,42 @@
+package me.josecomparotto.contabilidade_pessoal.model.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+
+public class SaldoId implements Serializable {
+
+    private Integer idConta;
+    private StatusLancamento status;
+
+    public SaldoId() {
+    }
+
+    public SaldoId(Integer idConta, StatusLancamento status) {
+        this.idConta = idConta;
+        this.status = status;
+    }
+
+    public Integer getIdConta() {
+        return idConta;
+    }
+
+    public StatusLancamento getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof SaldoId other))
+            return false;
+        return Objects.equals(idConta, other.idConta) && status == other.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idConta, status);
+    }
+}
@@ -0,0 +1,12 @@
+package me.josecomparotto.contabilidade_pessoal.model.enums;
+
+public enum FormatoExtrato {
+    CSV,
+    OFX;
+
+    // Formato pela extensão do arquivo; CSV quando não reconhecida
+    public static FormatoExtrato deNomeArquivo(String nomeArquivo) {
+        String nome = nomeArquivo != null ? nomeArquivo.toLowerCase() : "";
+        return nome.endsWith(".ofx") || nome.endsWith(".qfx") ? OFX : CSV;
+    }
+}
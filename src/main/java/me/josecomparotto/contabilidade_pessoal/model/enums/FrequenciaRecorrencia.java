@@ -0,0 +1,10 @@
+package me.josecomparotto.contabilidade_pessoal.model.enums;
+
+public enum FrequenciaRecorrencia {
+    // Dia do mês (1-31); em meses mais curtos, o último dia
+    MENSAL,
+    // Dia da semana ISO (1 = segunda ... 7 = domingo)
+    SEMANAL,
+    // N-ésimo dia útil do mês (segunda a sexta, sem feriados)
+    DIA_UTIL
+}
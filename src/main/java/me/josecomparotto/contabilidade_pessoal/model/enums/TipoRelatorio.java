@@ -0,0 +1,8 @@
+package me.josecomparotto.contabilidade_pessoal.model.enums;
+
+public enum TipoRelatorio {
+    // Demonstração do resultado: receitas e despesas do período
+    DRE,
+    // Balanço patrimonial: ativo, passivo e patrimônio líquido na data
+    BALANCO
+}
@@ -0,0 +1,19 @@
+package me.josecomparotto.contabilidade_pessoal.model.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Linha do balancete: conta (com inferiores) e movimento efetivo do período.
+ * Saldo inicial contábil (créditos menos débitos antes do período), débitos e
+ * créditos do período. A linha de total geral tem conta nula.
+ */
+public interface BalanceteProjection {
+
+    Integer getIdConta();
+
+    BigDecimal getSaldoInicial();
+
+    BigDecimal getDebitos();
+
+    BigDecimal getCreditos();
+}
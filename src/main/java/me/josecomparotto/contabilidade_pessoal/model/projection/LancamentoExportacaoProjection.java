@@ -0,0 +1,24 @@
+package me.josecomparotto.contabilidade_pessoal.model.projection;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Linha de tb_lancamentos lida na exportação do livro (sem entidades gerenciadas).
+ */
+public interface LancamentoExportacaoProjection {
+
+    Long getId();
+
+    Date getData();
+
+    String getDescricao();
+
+    BigDecimal getValor();
+
+    String getStatus();
+
+    Integer getIdContaDebito();
+
+    Integer getIdContaCredito();
+}
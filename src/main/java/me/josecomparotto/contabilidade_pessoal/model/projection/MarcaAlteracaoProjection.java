@@ -0,0 +1,12 @@
+package me.josecomparotto.contabilidade_pessoal.model.projection;
+
+/**
+ * Marcas de alteração de tb_contas e tb_lancamentos: contadores incrementados a
+ * cada comando de escrita na tabela, na ordem de commit (ver V23).
+ */
+public interface MarcaAlteracaoProjection {
+
+    Long getContas();
+
+    Long getLancamentos();
+}
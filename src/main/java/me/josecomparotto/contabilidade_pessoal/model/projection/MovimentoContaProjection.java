@@ -0,0 +1,33 @@
+package me.josecomparotto.contabilidade_pessoal.model.projection;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Linha do extrato de uma conta, com saldos calculados no banco.
+ * <p>
+ * Valores e saldos são contábeis (créditos positivos, débitos negativos).
+ */
+public interface MovimentoContaProjection {
+
+    Long getIdLancamento();
+
+    Date getData();
+
+    String getDescricao();
+
+    BigDecimal getValor();
+
+    Integer getIdContaContrapartida();
+
+    String getSentidoContabil();
+
+    // Saldo após o lançamento
+    BigDecimal getSaldo();
+
+    // Movimento líquido do dia (todos os lançamentos do dia, não apenas os da página)
+    BigDecimal getTotalDia();
+
+    // Saldo ao final do dia
+    BigDecimal getSaldoFimDia();
+}
@@ -0,0 +1,21 @@
+package me.josecomparotto.contabilidade_pessoal.model.projection;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Movimento de um dia em uma conta (com inferiores), lido de vw_movimento_diario.
+ * <p>
+ * Créditos e débitos são totais positivos; o saldo é contábil.
+ */
+public interface MovimentoDiarioProjection {
+
+    Date getData();
+
+    BigDecimal getCredito();
+
+    BigDecimal getDebito();
+
+    // Saldo ao final do dia
+    BigDecimal getSaldoFimDia();
+}
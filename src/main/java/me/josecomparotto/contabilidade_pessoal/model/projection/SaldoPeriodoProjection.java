@@ -0,0 +1,17 @@
+package me.josecomparotto.contabilidade_pessoal.model.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Movimento de uma conta (apenas lançamentos próprios, sem inferiores) em um
+ * status, somado em um intervalo de datas. O saldo é contábil (créditos menos
+ * débitos).
+ */
+public interface SaldoPeriodoProjection {
+
+    Integer getIdConta();
+
+    String getStatus();
+
+    BigDecimal getSaldo();
+}
@@ -0,0 +1,17 @@
+package me.josecomparotto.contabilidade_pessoal.model.projection;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * Totais de créditos e débitos de um dia em uma conta (com inferiores), sem
+ * saldo: o acumulado é calculado pelo chamador.
+ */
+public interface TotalDiarioProjection {
+
+    Date getData();
+
+    BigDecimal getCredito();
+
+    BigDecimal getDebito();
+}
@@ -0,0 +1,242 @@
+package me.josecomparotto.contabilidade_pessoal.model.valueobject;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Valor monetário imutável em centavos (escala fixa de 2 casas, como as
+ * colunas {@code numeric(14,2)} e {@code numeric(18,2)} do banco).
+ * <p>
+ * A aritmética é feita em {@code long}: somas e saldos acumulados são exatos e
+ * não sofrem o arredondamento de {@code double}. Na fronteira com o banco e
+ * com JSON o valor é convertido para {@link BigDecimal}.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0L ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Converte arredondando para centavos (HALF_EVEN). Uso interno, para
+     * resultados de cálculos e somas lidos do banco; valores recebidos de fora
+     * passam por {@link #ofExato(BigDecimal)} ou {@link #parse(String)}.
+     */
+    public static Money of(BigDecimal valor) {
+        if (valor == null) {
+            return null;
+        }
+        return ofCentavos(valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Converte sem arredondar, recusando mais de duas casas decimais. É o
+     * criador usado pelo Jackson: {@code 10.005} em um JSON é recusado (400),
+     * e não gravado como {@code 10.00}.
+     */
+    @JsonCreator
+    public static Money ofExato(BigDecimal valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return ofCentavos(valor.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor com mais de duas casas decimais: " + valor.toPlainString(), e);
+        }
+    }
+
+    /**
+     * Interpreta um valor digitado, aceitando ponto ou vírgula como separador
+     * decimal. Com os dois presentes, o último é o decimal e o outro separa
+     * milhares ({@code 1.234,56} ou {@code 1,234.56}); um separador repetido é
+     * de milhar ({@code 1.234.567}). Um único separador seguido de exatamente
+     * três dígitos ({@code 1.234}, {@code 1,234}) é ambíguo e recusado, assim
+     * como mais de duas casas decimais: nada é arredondado. Negativos levam um
+     * único {@code -} no início ou ficam entre parênteses.
+     */
+    public static Money parse(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+        String s = texto.trim().replace("R$", "").replace(" ", "").replace("\u00A0", "");
+        // Sinal só como um único "-" no início ou com o valor inteiro entre parênteses
+        boolean negativo = false;
+        if (s.length() > 1 && s.startsWith("(") && s.endsWith(")")) {
+            negativo = true;
+            s = s.substring(1, s.length() - 1);
+        } else if (s.startsWith("-")) {
+            negativo = true;
+            s = s.substring(1);
+        }
+        if (s.indexOf('-') >= 0 || s.indexOf('(') >= 0 || s.indexOf(')') >= 0) {
+            throw new IllegalArgumentException("Valor inválido: " + texto);
+        }
+
+        int virgula = s.lastIndexOf(',');
+        int ponto = s.lastIndexOf('.');
+        char milhar;
+        int decimal;
+        if (virgula >= 0 && ponto >= 0) {
+            decimal = Math.max(virgula, ponto);
+            milhar = decimal == virgula ? '.' : ',';
+        } else if (virgula >= 0 || ponto >= 0) {
+            char separador = virgula >= 0 ? ',' : '.';
+            int ultimo = Math.max(virgula, ponto);
+            if (s.indexOf(separador) != ultimo) {
+                decimal = -1; // repetido: só milhares
+                milhar = separador;
+            } else if (s.length() - ultimo - 1 == 3) {
+                throw new IllegalArgumentException("Valor ambíguo: " + texto
+                        + " (informe as casas decimais, ex.: 1.234,00)");
+            } else {
+                decimal = ultimo;
+                milhar = 0;
+            }
+        } else {
+            decimal = -1;
+            milhar = 0;
+        }
+
+        String inteiro = decimal >= 0 ? s.substring(0, decimal) : s;
+        String fracao = decimal >= 0 ? s.substring(decimal + 1) : "";
+        if (fracao.indexOf(',') >= 0 || fracao.indexOf('.') >= 0 || (decimal >= 0 && fracao.isEmpty())) {
+            throw new IllegalArgumentException("Valor inválido: " + texto);
+        }
+        if (fracao.length() > 2) {
+            throw new IllegalArgumentException("Valor com mais de duas casas decimais: " + texto);
+        }
+        inteiro = semMilhar(inteiro, milhar, texto);
+        if (inteiro.isEmpty() && fracao.isEmpty()) {
+            throw new IllegalArgumentException("Valor inválido: " + texto);
+        }
+        try {
+            BigDecimal valor = new BigDecimal((inteiro.isEmpty() ? "0" : inteiro)
+                    + (fracao.isEmpty() ? "" : "." + fracao));
+            return ofExato(negativo ? valor.negate() : valor);
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Valor inválido: " + texto, e);
+        }
+    }
+
+    // Parte inteira sem os separadores de milhar, que devem separar grupos de três dígitos
+    private static String semMilhar(String inteiro, char milhar, String texto) {
+        if (milhar == 0 || inteiro.indexOf(milhar) < 0) {
+            if (inteiro.indexOf(',') >= 0 || inteiro.indexOf('.') >= 0) {
+                throw new IllegalArgumentException("Valor inválido: " + texto);
+            }
+            return inteiro;
+        }
+        String[] grupos = inteiro.split(milhar == '.' ? "\\." : ",", -1);
+        for (int i = 0; i < grupos.length; i++) {
+            int tamanho = grupos[i].length();
+            if (i == 0 ? tamanho < 1 || tamanho > 3 : tamanho != 3) {
+                throw new IllegalArgumentException("Separador de milhar inválido: " + texto);
+            }
+        }
+        return String.join("", grupos);
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    public Money plus(Money outro) {
+        return outro == null || outro.centavos == 0L ? this : ofCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money minus(Money outro) {
+        return outro == null || outro.centavos == 0L ? this : ofCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Money negate() {
+        return centavos == 0L ? this : ofCentavos(Math.negateExact(centavos));
+    }
+
+    public Money abs() {
+        return centavos >= 0L ? this : negate();
+    }
+
+    public int signum() {
+        return Long.signum(centavos);
+    }
+
+    public boolean isZero() {
+        return centavos == 0L;
+    }
+
+    public boolean isPositive() {
+        return centavos > 0L;
+    }
+
+    public boolean isNegative() {
+        return centavos < 0L;
+    }
+
+    /**
+     * Formato contábil pt-BR ({@code 1.234,56}; negativos entre parênteses).
+     */
+    public String formatar() {
+        long abs = Math.abs(centavos);
+        long reais = abs / 100;
+        int cents = (int) (abs % 100);
+
+        String digitos = Long.toString(reais);
+        StringBuilder sb = new StringBuilder(digitos.length() + digitos.length() / 3 + 5);
+        if (centavos < 0L) {
+            sb.append('(');
+        }
+        int primeiro = digitos.length() % 3;
+        for (int i = 0; i < digitos.length(); i++) {
+            if (i > 0 && (i - primeiro) % 3 == 0) {
+                sb.append('.');
+            }
+            sb.append(digitos.charAt(i));
+        }
+        sb.append(',').append((char) ('0' + cents / 10)).append((char) ('0' + cents % 10));
+        if (centavos < 0L) {
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money m && m.centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    // Valor sem formatação (ex.: 1234.56), usado em formulários
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -1,6 +1,5 @@
 package me.josecomparotto.contabilidade_pessoal.repository;
 
-import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,15 +7,23 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.projection.MarcaAlteracaoProjection;
 
 import org.springframework.data.repository.query.Param;
 
 @Repository
 public interface ContaRepository extends JpaRepository<Conta, Integer> {
 
-	@Query("select c from Conta c left join fetch c.superior")
-	List<Conta> findAllWithSuperior();
-
 	@Query("select c from Conta c left join fetch c.superior where c.id = :id")
 	Optional<Conta> findByIdWithSuperior(@Param("id") Integer id);
+
+	// Marcas de alteração usadas no ETag da API: contadores por tabela incrementados por
+	// gatilho a cada comando de escrita (V23), em uma leitura pela chave primária
+	@Query(value = """
+			SELECT max(m.versao) FILTER (WHERE m.tabela = 'tb_contas') AS "contas",
+			       max(m.versao) FILTER (WHERE m.tabela = 'tb_lancamentos') AS "lancamentos"
+			  FROM public.tb_marcas_alteracao m
+			 WHERE m.tabela IN ('tb_contas', 'tb_lancamentos')
+			""", nativeQuery = true)
+	MarcaAlteracaoProjection obterMarcaAlteracao();
 }
@@ -1,17 +1,193 @@
 package me.josecomparotto.contabilidade_pessoal.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import me.josecomparotto.contabilidade_pessoal.model.entity.Lancamento;
+import me.josecomparotto.contabilidade_pessoal.model.projection.BalanceteProjection;
+import me.josecomparotto.contabilidade_pessoal.model.projection.LancamentoExportacaoProjection;
+import me.josecomparotto.contabilidade_pessoal.model.projection.MovimentoContaProjection;
+import me.josecomparotto.contabilidade_pessoal.model.projection.MovimentoDiarioProjection;
+import me.josecomparotto.contabilidade_pessoal.model.projection.SaldoPeriodoProjection;
+import me.josecomparotto.contabilidade_pessoal.model.projection.TotalDiarioProjection;
 
 @Repository
 public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
 
+    // Linhas trazidas do servidor por ida ao banco na exportação do livro
+    String FETCH_EXPORTACAO = "1000";
+
     List<Lancamento> findByContaCreditoId(Integer contaCreditoId);
 
     List<Lancamento> findByContaDebitoId(Integer contaDebitoId);
 
+    // Lançamento com as duas contas na mesma consulta (regras de edição/exclusão)
+    @EntityGraph(Lancamento.GRAFO_CONTAS)
+    Optional<Lancamento> findWithContasById(Long id);
+
+    // Página do extrato de uma conta analítica, decrescente ou crescente, com cursor
+    // exclusivo (data, id) (fn_extrato_conta, V26/V27). No dia, entradas vêm antes das
+    // saídas e depois a ordem é por id, como no extrato original. Os saldos partem de
+    // fn_saldo_anterior no dia mais antigo da página (fechamento mensal + delta) somado a
+    // :saldoInicial; os dias da página são lidos por inteiro apenas para os totais diários.
+    // O custo independe do tamanho do histórico da conta.
+    @Query(value = """
+            SELECT e.id_lancamento AS "idLancamento",
+                   e.data_competencia AS "data",
+                   e.descricao AS "descricao",
+                   e.valor AS "valor",
+                   e.id_contrapartida AS "idContaContrapartida",
+                   e.sentido AS "sentidoContabil",
+                   e.saldo AS "saldo",
+                   e.total_dia AS "totalDia",
+                   e.saldo_fim_dia AS "saldoFimDia"
+              FROM public.fn_extrato_conta(:idConta, :status, :dataInicial, :dataFinal,
+                                           :cursorData, :cursorId, :limite, :saldoInicial, :crescente) e
+            """, nativeQuery = true)
+    List<MovimentoContaProjection> listarExtrato(@Param("idConta") Integer idConta,
+            @Param("status") String status,
+            @Param("dataInicial") LocalDate dataInicial,
+            @Param("dataFinal") LocalDate dataFinal,
+            @Param("cursorData") LocalDate cursorData,
+            @Param("cursorId") Long cursorId,
+            @Param("limite") int limite,
+            @Param("saldoInicial") BigDecimal saldoInicial,
+            @Param("crescente") boolean crescente);
+
+    // Movimento diário de uma conta (com inferiores) em ordem de data, decrescente ou
+    // crescente, com cursor exclusivo (fn_movimento_diario_conta, V26). Conta, status e datas
+    // chegam até tb_lancamentos pela view (V18); o saldo parte de fn_saldo_anterior no dia
+    // mais antigo da página.
+    @Query(value = """
+            SELECT m.data_competencia AS "data",
+                   m.credito AS "credito",
+                   m.debito AS "debito",
+                   m.saldo_fim_dia AS "saldoFimDia"
+              FROM public.fn_movimento_diario_conta(:idConta, :status, :dataInicial, :dataFinal,
+                                                    :cursorData, :limite, :saldoInicial, :crescente) m
+            """, nativeQuery = true)
+    List<MovimentoDiarioProjection> listarMovimentoDiario(@Param("idConta") Integer idConta,
+            @Param("status") String status,
+            @Param("dataInicial") LocalDate dataInicial,
+            @Param("dataFinal") LocalDate dataFinal,
+            @Param("cursorData") LocalDate cursorData,
+            @Param("limite") int limite,
+            @Param("saldoInicial") BigDecimal saldoInicial,
+            @Param("crescente") boolean crescente);
+
+    // Totais por dia da conta (com inferiores) até :dataFinal, em ordem de data; os dias
+    // anteriores a :dataInicial saem somados em uma única linha com data :dataInicial.
+    // Uma linha por dia com movimento, qualquer que seja o número de lançamentos do dia
+    @Query(value = """
+            SELECT GREATEST(v.data_competencia, CAST(:dataInicial AS date)) AS "data",
+                   SUM(v.credito) AS "credito",
+                   SUM(v.debito) AS "debito"
+              FROM public.vw_movimento_diario v
+             WHERE v.id_conta = :idConta
+               AND v.status = :status
+               AND v.data_competencia <= :dataFinal
+             GROUP BY 1
+             ORDER BY 1
+            """, nativeQuery = true)
+    List<TotalDiarioProjection> somarMovimentoDiario(@Param("idConta") Integer idConta,
+            @Param("status") String status,
+            @Param("dataInicial") LocalDate dataInicial,
+            @Param("dataFinal") LocalDate dataFinal);
+
+    // Saldo contábil por conta (lançamentos próprios) e status no intervalo, em uma única
+    // leitura do livro: cada lançamento gera as linhas de crédito e débito via LATERAL.
+    // Cancelados ficam de fora; a consolidação nas superiores é feita pelo chamador
+    @Query(value = """
+            SELECT m.id_conta AS "idConta",
+                   l.status AS "status",
+                   SUM(m.valor) AS "saldo"
+              FROM public.tb_lancamentos l
+             CROSS JOIN LATERAL (VALUES (l.id_conta_credito, l.valor),
+                                        (l.id_conta_debito, -l.valor)) AS m(id_conta, valor)
+             WHERE l.data_competencia BETWEEN :dataInicial AND :dataFinal
+               AND l.status IN ('EFETIVO', 'PREVISTO')
+             GROUP BY m.id_conta, l.status
+            """, nativeQuery = true)
+    List<SaldoPeriodoProjection> somarPorContaEStatus(@Param("dataInicial") LocalDate dataInicial,
+            @Param("dataFinal") LocalDate dataFinal);
+
+    // Balancete efetivo em um único comando: saldo anterior, débitos e créditos por conta
+    // (lançamentos próprios), somados nas superiores pela hierarquia. GROUPING SETS acrescenta
+    // a linha de total geral (conta nula), que soma só a profundidade 0 para não repetir
+    // o movimento em cada ancestral
+    @Query(value = """
+            WITH por_conta AS (
+                SELECT m.id_conta,
+                       COALESCE(SUM(m.credito - m.debito) FILTER (WHERE l.data_competencia < :dataInicial), 0) AS saldo_inicial,
+                       COALESCE(SUM(m.debito) FILTER (WHERE l.data_competencia >= :dataInicial), 0) AS debitos,
+                       COALESCE(SUM(m.credito) FILTER (WHERE l.data_competencia >= :dataInicial), 0) AS creditos
+                  FROM public.tb_lancamentos l
+                 CROSS JOIN LATERAL (VALUES (l.id_conta_credito, l.valor, 0::numeric(14,2)),
+                                            (l.id_conta_debito, 0::numeric(14,2), l.valor)) AS m(id_conta, credito, debito)
+                 WHERE l.status = 'EFETIVO'
+                   AND l.data_competencia <= :dataFinal
+                 GROUP BY m.id_conta
+            )
+            SELECT h.id_superior AS "idConta",
+                   CASE WHEN GROUPING(h.id_superior) = 1
+                        THEN SUM(p.saldo_inicial) FILTER (WHERE h.profundidade = 0)
+                        ELSE SUM(p.saldo_inicial) END AS "saldoInicial",
+                   CASE WHEN GROUPING(h.id_superior) = 1
+                        THEN SUM(p.debitos) FILTER (WHERE h.profundidade = 0)
+                        ELSE SUM(p.debitos) END AS "debitos",
+                   CASE WHEN GROUPING(h.id_superior) = 1
+                        THEN SUM(p.creditos) FILTER (WHERE h.profundidade = 0)
+                        ELSE SUM(p.creditos) END AS "creditos"
+              FROM por_conta p
+              JOIN public.tb_contas_hierarquia h ON h.id_inferior = p.id_conta
+             GROUP BY GROUPING SETS ((h.id_superior), ())
+            """, nativeQuery = true)
+    List<BalanceteProjection> somarBalancete(@Param("dataInicial") LocalDate dataInicial,
+            @Param("dataFinal") LocalDate dataFinal);
+
+    // Livro inteiro em ordem de (data, id) para exportação, lido por cursor em blocos de
+    // FETCH_EXPORTACAO linhas (exige transação aberta enquanto o Stream é consumido).
+    // Com :filtrarConta, apenas lançamentos com débito ou crédito em :idConta ou em
+    // qualquer uma de suas inferiores (tb_contas_hierarquia inclui a própria conta).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_EXPORTACAO),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query(value = """
+            SELECT l.id AS "id",
+                   l.data_competencia AS "data",
+                   l.descricao AS "descricao",
+                   l.valor AS "valor",
+                   l.status AS "status",
+                   l.id_conta_debito AS "idContaDebito",
+                   l.id_conta_credito AS "idContaCredito"
+              FROM public.tb_lancamentos l
+             WHERE l.data_competencia BETWEEN :dataInicial AND :dataFinal
+               AND l.status IN (:status)
+               AND (NOT :filtrarConta OR EXISTS (
+                        SELECT 1
+                          FROM public.tb_contas_hierarquia h
+                         WHERE h.id_superior = :idConta
+                           AND h.id_inferior IN (l.id_conta_debito, l.id_conta_credito)))
+             ORDER BY l.data_competencia ASC, l.id ASC
+            """, nativeQuery = true)
+    Stream<LancamentoExportacaoProjection> streamParaExportacao(@Param("dataInicial") LocalDate dataInicial,
+            @Param("dataFinal") LocalDate dataFinal,
+            @Param("status") List<String> status,
+            @Param("filtrarConta") boolean filtrarConta,
+            @Param("idConta") Integer idConta);
+
 }
@@ -0,0 +1,27 @@
+package me.josecomparotto.contabilidade_pessoal.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.model.entity.Recorrencia;
+
+@Repository
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Integer> {
+
+    // Gera, em um único INSERT, os lançamentos PREVISTO pendentes de todas as regras ativas
+    // até o horizonte; retorna a quantidade inserida (as já existentes são ignoradas)
+    @Transactional
+    @Query(value = "SELECT public.fn_gerar_lancamentos_recorrentes(:horizonte)", nativeQuery = true)
+    Integer gerarLancamentos(@Param("horizonte") LocalDate horizonte);
+
+    // Remove os PREVISTO futuros da regra e gera de novo conforme a regra atual
+    @Transactional
+    @Query(value = "SELECT public.fn_regerar_lancamentos_recorrentes(:idRecorrencia, :horizonte)", nativeQuery = true)
+    Integer regerarLancamentos(@Param("idRecorrencia") Integer idRecorrencia,
+            @Param("horizonte") LocalDate horizonte);
+}
@@ -0,0 +1,23 @@
+package me.josecomparotto.contabilidade_pessoal.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.model.entity.Saldo;
+import me.josecomparotto.contabilidade_pessoal.model.entity.SaldoId;
+
+@Repository
+public interface SaldoRepository extends JpaRepository<Saldo, SaldoId> {
+
+    List<Saldo> findByIdContaIn(Collection<Integer> idsContas);
+
+    // Grava os fechamentos dos meses encerrados ainda ausentes; retorna as linhas gravadas
+    @Transactional
+    @Query(value = "SELECT public.fn_gerar_saldos_mensais()", nativeQuery = true)
+    Integer gerarSaldosMensais();
+}
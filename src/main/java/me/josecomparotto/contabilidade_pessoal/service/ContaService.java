@@ -1,119 +1,155 @@
 package me.josecomparotto.contabilidade_pessoal.service;
 
 import java.beans.PropertyDescriptor;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.Objects;
+import java.util.function.IntPredicate;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import me.josecomparotto.contabilidade_pessoal.application.cache.IndiceBuscaContas;
+import me.josecomparotto.contabilidade_pessoal.application.cache.IndiceBuscaContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasAlteradoEvent;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
 import me.josecomparotto.contabilidade_pessoal.application.mapper.ContaMapper;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaEditDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.SaldoContaDto;
 import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
 import me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta;
 import me.josecomparotto.contabilidade_pessoal.repository.ContaRepository;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
 
 @Service
+@Timed(value = "contabilidade.servico.contas", histogram = true)
 public class ContaService {
 
+    public static final int LIMITE_PADRAO_BUSCA = 20;
+    public static final int LIMITE_MAXIMO_BUSCA = 100;
+
     @Autowired
     private ContaRepository contaRepository;
 
-    public List<ContaViewDto> listarContas() {
-        List<Conta> all = contaRepository.findAllWithSuperior();
-        List<ContaViewDto> list = ContaMapper.toViewList(all);
+    @Autowired
+    private SaldoService saldoService;
 
-        // Map para navegar a cadeia de superiores sem novas consultas
-        Map<Integer, Conta> byId = new HashMap<>();
-        for (Conta c : all) {
-            byId.put(c.getId(), c);
-        }
+    @Autowired
+    private PlanoContasCache planoContasCache;
 
-        // Preencher o campo 'path' de cada conta
-        Map<Integer, List<Integer>> pathMap = new HashMap<>();
-        for (Conta c : all) {
-            pathMap.put(c.getId(), c.getPath());
-        }
+    @Autowired
+    private IndiceBuscaContasCache indiceBuscaContasCache;
 
-        // Ordenar lexicograficamente por caminho de sequencias (ex.: [1], [1,1], [1,2],
-        // [2])
-        list.sort((a, b) -> comparePaths(
-                pathMap.get(a.getId()),
-                pathMap.get(b.getId())));
-        return list;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<ContaViewDto> listarContas() {
+        return listarContas(planoContasCache.obter(), i -> true);
     }
 
+    @Transactional(readOnly = true)
     public List<ContaViewDto> listarContasSinteticas() {
-        return listarContas().stream()
-                .filter(c -> c.getTipo() == TipoConta.SINTETICA)
-                .toList();
+        PlanoContasSnapshot snapshot = planoContasCache.obter();
+        return listarContas(snapshot, i -> snapshot.getTipo(i) == TipoConta.SINTETICA);
     }
 
+    @Transactional(readOnly = true)
     public List<ContaViewDto> listarContasAnaliticas() {
-        return listarContas().stream()
-                .filter(c -> c.getTipo() == TipoConta.ANALITICA)
-                .toList();
+        PlanoContasSnapshot snapshot = planoContasCache.obter();
+        return listarContas(snapshot, i -> snapshot.getTipo(i) == TipoConta.ANALITICA);
     }
 
+    @Transactional(readOnly = true)
     public List<ContaViewDto> listarContasAnaliticasPorSentidoAceito(SentidoContabil aceitaSentido) {
+        PlanoContasSnapshot snapshot = planoContasCache.obter();
+        return listarContas(snapshot, i -> snapshot.getTipo(i) == TipoConta.ANALITICA
+                && snapshot.isAceitaSentido(i, aceitaSentido));
+    }
 
-        return listarContas().stream()
-                .filter(c -> c.getTipo() == TipoConta.ANALITICA)
-                .filter(c -> c.getAceitaSentido(aceitaSentido))
-                .toList();
+    /**
+     * Busca de contas para os campos de seleção: termos sem distinção de acentos
+     * ou maiúsculas, casados como prefixo do código ou de palavras da descrição,
+     * em ordem de relevância. Usa apenas o índice em memória (sem saldos).
+     *
+     * @param tipo    restringe a contas sintéticas ou analíticas; {@code null} para ambas
+     * @param sentido restringe a contas que aceitam o sentido; {@code null} para todas
+     */
+    public List<ContaRefDto> buscarContas(String termo, TipoConta tipo, SentidoContabil sentido, Integer limite) {
+        IndiceBuscaContas indice = indiceBuscaContasCache.obter();
+        PlanoContasSnapshot snapshot = indice.getPlano();
+        int quantidade = limite == null ? LIMITE_PADRAO_BUSCA : Math.max(1, Math.min(limite, LIMITE_MAXIMO_BUSCA));
+        IntPredicate filtro = i -> (tipo == null || snapshot.getTipo(i) == tipo)
+                && (sentido == null || snapshot.isAceitaSentido(i, sentido));
+
+        return Arrays.stream(indice.buscar(termo, filtro, quantidade))
+                .mapToObj(i -> ContaMapper.toRefDto(snapshot, i))
+                .collect(Collectors.toList());
     }
 
-    public ContaViewDto obterContaPorId(Integer id) {
-        Optional<Conta> opt = contaRepository.findByIdWithSuperior(id);
-        if (opt.isEmpty())
-            return null;
-        Conta c = opt.get();
-        ContaViewDto dto = ContaMapper.toViewDto(c);
-        return dto;
+    // Texto de exibição da conta (ex.: valor inicial de um campo de seleção); nulo se não existir
+    public String obterDisplayText(Integer id) {
+        PlanoContasSnapshot snapshot = planoContasCache.obter();
+        int i = snapshot.indiceDe(id);
+        return i >= 0 ? snapshot.getDisplayText(i) : null;
     }
 
-    // Compara dois caminhos lexicograficamente
-    private int comparePaths(List<Integer> a, List<Integer> b) {
-        if (a == b)
-            return 0;
-        if (a == null)
-            return -1;
-        if (b == null)
-            return 1;
-        int size = Math.min(a.size(), b.size());
-        for (int i = 0; i < size; i++) {
-            int cmp = Integer.compare(a.get(i), b.get(i));
-            if (cmp != 0)
-                return cmp;
+    // A fotografia já está na ordem do plano (ex.: 1, 1.1, 1.2, 2)
+    private List<ContaViewDto> listarContas(PlanoContasSnapshot snapshot, IntPredicate filtro) {
+        Map<Integer, SaldoContaDto> saldos = saldoService.obterSaldos();
+        List<ContaViewDto> list = new ArrayList<>();
+        for (int i = 0; i < snapshot.tamanho(); i++) {
+            if (filtro.test(i)) {
+                list.add(ContaMapper.toViewDto(snapshot, i, saldos.get(snapshot.getId(i))));
+            }
         }
-        return Integer.compare(a.size(), b.size());
+        return list;
+    }
+
+    @Transactional(readOnly = true)
+    public ContaViewDto obterContaPorId(Integer id) {
+        PlanoContasSnapshot snapshot = planoContasCache.obter();
+        int i = snapshot.indiceDe(id);
+        if (i < 0)
+            return null;
+        return ContaMapper.toViewDto(snapshot, i, saldoService.obterSaldo(id));
     }
 
+    @Transactional
     public boolean deletarContaPorId(Integer id) {
         Optional<Conta> opt = contaRepository.findById(id);
         if (opt.isEmpty())
             return false;
         Conta c = opt.get();
 
-        if (!c.isDeletable()) {
+        // Regra da fotografia do plano e existência de lançamentos por vw_saldos, sem
+        // inicializar as coleções de lançamentos da entidade
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        int i = plano.indiceDe(id);
+        if (i < 0 || !plano.isDeletavel(i, saldoService.obterSaldo(id).isPossuiLancamentos())) {
             throw new IllegalStateException("Conta não pode ser deletada");
         }
 
         contaRepository.delete(c);
+        eventPublisher.publishEvent(new PlanoContasAlteradoEvent(id));
         return true;
     }
 
+    @Transactional
     public ContaViewDto criarConta(ContaNewDto contaDto) {
 
         // Validar dados iniciais da conta
@@ -162,27 +198,32 @@ public class ContaService {
 
         // Salvar para gerar ID e código
         conta = contaRepository.save(conta);
+        eventPublisher.publishEvent(new PlanoContasAlteradoEvent(conta.getId()));
 
-        return ContaMapper.toViewDto(conta);
+        // Conta recém-criada ainda não possui lançamentos
+        return ContaMapper.toViewDto(conta, new SaldoContaDto(conta.getId()));
     }
 
+    @Transactional
     public ContaViewDto atualizarConta(Integer id, ContaEditDto contaDto) {
         Optional<Conta> opt = contaRepository.findById(id);
         if (opt.isEmpty()) {
             throw new IllegalArgumentException("Conta não encontrada: " + id);
         }
         Conta conta = opt.get();
-        List<Conta> inferiores = conta.getInferiores();
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        int i = plano.indiceDe(id);
+        SaldoContaDto saldo = saldoService.obterSaldo(id);
 
         // Verificar se a conta pode ser editada
-        if (!conta.isEditable()) {
+        if (i < 0 || !plano.isEditavel(i)) {
             throw new IllegalStateException("Conta não pode ser editada");
         }
 
         // Verificar se os campos que foram alterados são editáveis (via propriedades
         // Spring/JavaBean)
         {
-            Set<String> editaveis = conta.getEditableProperties();
+            Set<String> editaveis = plano.getPropriedadesEditaveis(i, saldo.isPossuiLancamentos());
             BeanWrapper dtoBw = new BeanWrapperImpl(contaDto);
             BeanWrapper entBw = new BeanWrapperImpl(conta);
 
@@ -212,7 +253,7 @@ public class ContaService {
         if (contaDto.getTipo() == null) {
             throw new IllegalArgumentException("Tipo da conta é obrigatório");
         }
-        if (contaDto.isRedutora() && !inferiores.stream().allMatch(Conta::isRedutora)) {
+        if (contaDto.isRedutora() && !Arrays.stream(plano.getInferiores(i)).allMatch(plano::isRedutora)) {
             throw new IllegalArgumentException(
                     "Conta não pode ser redutora se possuir contas inferiores não redutoras");
         }
@@ -224,35 +265,40 @@ public class ContaService {
 
         // Salvar alterações
         conta = contaRepository.save(conta);
-        return ContaMapper.toViewDto(conta);
+        eventPublisher.publishEvent(new PlanoContasAlteradoEvent(conta.getId()));
+        return ContaMapper.toViewDto(conta, saldo);
     }
 
+    @Transactional(readOnly = true)
     public List<ContaViewDto> listarInferioresPorConta(Integer id) {
-        Optional<Conta> opt = contaRepository.findById(id);
-        if (opt.isEmpty()) {
-            return List.of();
-        }
-        Conta conta = opt.get();
-        if (conta.getInferiores() == null) {
+        PlanoContasSnapshot snapshot = planoContasCache.obter();
+        int i = snapshot.indiceDe(id);
+        if (i < 0) {
             return List.of();
         }
+        int[] inferiores = snapshot.getInferiores(i);
+
+        Map<Integer, SaldoContaDto> saldos = saldoService.obterSaldos(Arrays.stream(inferiores)
+                .mapToObj(snapshot::getId)
+                .toList());
 
-        return conta.getInferiores().stream()
-                .sorted(Comparator.comparing(Conta::getSequencia))
-                .map(ContaMapper::toViewDto)
+        // Inferiores já ordenadas por sequência
+        return Arrays.stream(inferiores)
+                .mapToObj(inf -> ContaMapper.toViewDto(snapshot, inf, saldos.get(snapshot.getId(inf))))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ContaViewDto obterSuperiorPorConta(Integer id) {
-        Optional<Conta> opt = contaRepository.findById(id);
-        if (opt.isEmpty()) {
+        PlanoContasSnapshot snapshot = planoContasCache.obter();
+        int i = snapshot.indiceDe(id);
+        if (i < 0) {
             return null;
         }
-        Conta c = opt.get();
-        Conta sup = c.getSuperior();
-        if (sup == null) return null;
-        
-        return ContaMapper.toViewDto(sup);
+        int sup = snapshot.getSuperior(i);
+        if (sup < 0) return null;
+
+        return ContaMapper.toViewDto(snapshot, sup, saldoService.obterSaldo(snapshot.getId(sup)));
     }
 
 }
@@ -0,0 +1,169 @@
+package me.josecomparotto.contabilidade_pessoal.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.model.enums.FormatoExportacao;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.projection.LancamentoExportacaoProjection;
+import me.josecomparotto.contabilidade_pessoal.repository.LancamentoRepository;
+
+/**
+ * Exportação do livro de lançamentos em CSV ou JSON Lines.
+ * <p>
+ * Os lançamentos são lidos por cursor (ver
+ * {@link LancamentoRepository#streamParaExportacao}) e escritos linha a linha
+ * na saída, sem montar listas nem entidades: o consumo de memória é o mesmo
+ * para mil ou dez milhões de linhas. Os códigos das contas vêm da fotografia do
+ * plano de contas, sem junção com tb_contas.
+ */
+@Service
+@Timed(value = "contabilidade.servico.exportacao", histogram = true)
+public class ExportacaoService {
+
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1900, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final String CABECALHO_CSV =
+            "id,data,descricao,valor,status,id_conta_debito,conta_debito,id_conta_credito,conta_credito";
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private PlanoContasCache planoContasCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Permite ao chamador validar os filtros antes de começar a escrever a resposta
+    public void validarFiltros(LocalDate dataInicial, LocalDate dataFinal, Integer contaId) {
+        if (dataInicial != null && dataFinal != null && dataInicial.isAfter(dataFinal))
+            throw new IllegalArgumentException("Data inicial posterior à data final");
+        if (contaId != null && planoContasCache.obter().indiceDe(contaId) < 0)
+            throw new IllegalArgumentException("Conta não encontrada");
+    }
+
+    /**
+     * Escreve os lançamentos filtrados em {@code saida}, em ordem de (data, id).
+     *
+     * @param status  {@code null} para todos os status
+     * @param contaId conta cujos lançamentos (dela e das inferiores) serão
+     *                exportados; {@code null} para todas
+     * @return quantidade de lançamentos exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportar(FormatoExportacao formato, LocalDate dataInicial, LocalDate dataFinal,
+            StatusLancamento status, Integer contaId, OutputStream saida) throws IOException {
+        validarFiltros(dataInicial, dataFinal, contaId);
+
+        List<String> statusFiltro = status != null
+                ? List.of(status.name())
+                : Arrays.stream(StatusLancamento.values()).map(Enum::name).toList();
+        PlanoContasSnapshot plano = planoContasCache.obter();
+
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        long linhas = 0;
+        try (Stream<LancamentoExportacaoProjection> lancamentos = lancamentoRepository.streamParaExportacao(
+                dataInicial != null ? dataInicial : DATA_MINIMA,
+                dataFinal != null ? dataFinal : DATA_MAXIMA,
+                statusFiltro,
+                contaId != null,
+                contaId != null ? contaId : 0)) {
+            Iterator<LancamentoExportacaoProjection> it = lancamentos.iterator();
+            if (formato == FormatoExportacao.JSONL) {
+                JsonGenerator json = objectMapper.getFactory().createGenerator(escritor);
+                json.setRootValueSeparator(null); // uma linha por objeto, sem o espaço padrão
+                while (it.hasNext()) {
+                    escreverJson(json, it.next(), plano);
+                    linhas++;
+                }
+                json.flush();
+            } else {
+                escritor.write(CABECALHO_CSV);
+                escritor.write('\n');
+                while (it.hasNext()) {
+                    escreverCsv(escritor, it.next(), plano);
+                    linhas++;
+                }
+            }
+        }
+        escritor.flush();
+        return linhas;
+    }
+
+    private static void escreverCsv(Writer escritor, LancamentoExportacaoProjection l, PlanoContasSnapshot plano)
+            throws IOException {
+        escritor.write(Long.toString(l.getId()));
+        escritor.write(',');
+        escritor.write(l.getData().toString());
+        escritor.write(',');
+        escritor.write(campoCsv(l.getDescricao()));
+        escritor.write(',');
+        escritor.write(l.getValor().toPlainString());
+        escritor.write(',');
+        escritor.write(l.getStatus());
+        escritor.write(',');
+        escritor.write(Integer.toString(l.getIdContaDebito()));
+        escritor.write(',');
+        escritor.write(campoCsv(codigo(plano, l.getIdContaDebito())));
+        escritor.write(',');
+        escritor.write(Integer.toString(l.getIdContaCredito()));
+        escritor.write(',');
+        escritor.write(campoCsv(codigo(plano, l.getIdContaCredito())));
+        escritor.write('\n');
+    }
+
+    private static void escreverJson(JsonGenerator json, LancamentoExportacaoProjection l, PlanoContasSnapshot plano)
+            throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", l.getId());
+        json.writeStringField("data", l.getData().toString());
+        json.writeStringField("descricao", l.getDescricao());
+        json.writeNumberField("valor", l.getValor());
+        json.writeStringField("status", l.getStatus());
+        json.writeNumberField("idContaDebito", l.getIdContaDebito());
+        json.writeStringField("contaDebito", codigo(plano, l.getIdContaDebito()));
+        json.writeNumberField("idContaCredito", l.getIdContaCredito());
+        json.writeStringField("contaCredito", codigo(plano, l.getIdContaCredito()));
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    // Código da conta no plano; vazio se a conta foi criada depois da fotografia
+    private static String codigo(PlanoContasSnapshot plano, Integer idConta) {
+        int i = plano.indiceDe(idConta);
+        return i >= 0 ? plano.getCodigo(i) : "";
+    }
+
+    // Aspas apenas quando necessário ("" representa uma aspa literal)
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
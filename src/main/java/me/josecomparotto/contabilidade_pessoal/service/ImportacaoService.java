@@ -0,0 +1,202 @@
+package me.josecomparotto.contabilidade_pessoal.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.application.importacao.LeitorExtrato;
+import me.josecomparotto.contabilidade_pessoal.application.importacao.LinhaExtrato;
+import me.josecomparotto.contabilidade_pessoal.application.mapper.LancamentoMapper;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.ImportacaoExtratoDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.ResultadoImportacaoDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Lancamento;
+import me.josecomparotto.contabilidade_pessoal.model.enums.FormatoExtrato;
+import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
+import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
+import me.josecomparotto.contabilidade_pessoal.repository.ContaRepository;
+import me.josecomparotto.contabilidade_pessoal.repository.LancamentoRepository;
+
+import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.CREDITO;
+import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.DEBITO;
+
+/**
+ * Importação de extratos bancários (CSV/OFX) em lote.
+ * <p>
+ * O arquivo é lido em fluxo: cada transação é validada em memória contra a
+ * fotografia do plano de contas (sem consultas por linha) e os lançamentos
+ * válidos são gravados em lotes de {@link Lancamento#TAMANHO_LOTE}, com ids
+ * reservados em bloco pela sequência. Linhas inválidas são rejeitadas e
+ * relatadas; as demais são gravadas na mesma transação.
+ */
+@Service
+@Timed(value = "contabilidade.servico.importacao", histogram = true)
+public class ImportacaoService {
+
+    // numeric(14,2) em tb_lancamentos.valor
+    private static final long LIMITE_CENTAVOS = 100_000_000_000_000L;
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private PlanoContasCache planoContasCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public ResultadoImportacaoDto importar(InputStream conteudo, String nomeArquivo, ImportacaoExtratoDto parametros) {
+        long inicio = System.nanoTime();
+
+        if (parametros == null)
+            throw new IllegalArgumentException("Parâmetros da importação obrigatórios");
+        if (parametros.getStatus() == null)
+            throw new IllegalArgumentException("Status dos lançamentos obrigatório");
+
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        int conta = plano.indiceDe(parametros.getContaId());
+        if (conta < 0)
+            throw new IllegalArgumentException("Conta do extrato não encontrada");
+        String erroConta = validarConta(plano, conta, null);
+        if (erroConta != null)
+            throw new IllegalArgumentException("Conta do extrato: " + erroConta);
+
+        int contrapartidaEntrada = contrapartidaPadrao(plano, parametros.getContrapartidaEntradaId(), "entradas");
+        int contrapartidaSaida = contrapartidaPadrao(plano, parametros.getContrapartidaSaidaId(), "saídas");
+
+        FormatoExtrato formato = FormatoExtrato.deNomeArquivo(nomeArquivo);
+        ResultadoImportacaoDto resultado = new ResultadoImportacaoDto();
+        resultado.setNomeArquivo(nomeArquivo);
+        resultado.setFormato(formato);
+
+        List<Lancamento> lote = new ArrayList<>(Lancamento.TAMANHO_LOTE);
+        try (BufferedReader leitor = new BufferedReader(
+                new InputStreamReader(conteudo, Charset.forName(parametros.getCodificacao())))) {
+            LeitorExtrato.para(formato).ler(leitor, linha -> {
+                String erro = linha.isValida() ? null : linha.getErro();
+                int contrapartida = -1;
+                if (erro == null) {
+                    contrapartida = resolverContrapartida(plano, linha, contrapartidaEntrada, contrapartidaSaida);
+                    erro = contrapartida < 0
+                            ? "Conta " + linha.getCodigoContrapartida() + " não encontrada no plano de contas"
+                            : validarLinha(plano, linha, conta, contrapartida);
+                }
+                if (erro != null) {
+                    resultado.adicionarErro(linha.getNumero(), erro);
+                    return;
+                }
+
+                lote.add(criarLancamento(plano, linha, conta, contrapartida, parametros));
+                resultado.adicionarImportado(linha.getValor());
+                if (lote.size() == Lancamento.TAMANHO_LOTE) {
+                    gravar(lote);
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao ler o arquivo: " + e.getMessage(), e);
+        }
+        gravar(lote);
+
+        resultado.setDuracaoMs((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    // Envia o lote (um INSERT multi-linha) e libera as entidades da sessão
+    private void gravar(List<Lancamento> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        lancamentoRepository.saveAll(lote);
+        entityManager.flush();
+        entityManager.clear();
+        lote.clear();
+    }
+
+    private Lancamento criarLancamento(PlanoContasSnapshot plano, LinhaExtrato linha, int conta, int contrapartida,
+            ImportacaoExtratoDto parametros) {
+        boolean debitaConta = sentidoDaConta(plano, linha, conta) == DEBITO;
+        int credito = debitaConta ? contrapartida : conta;
+        int debito = debitaConta ? conta : contrapartida;
+        // Referências sem SELECT: as contas já foram validadas pela fotografia do plano
+        return LancamentoMapper.fromLinhaExtrato(linha,
+                contaRepository.getReferenceById(plano.getId(credito)),
+                contaRepository.getReferenceById(plano.getId(debito)),
+                parametros.getStatus());
+    }
+
+    private int contrapartidaPadrao(PlanoContasSnapshot plano, Integer id, String descricao) {
+        if (id == null) {
+            return -1; // cada linha precisa informar a conta
+        }
+        int indice = plano.indiceDe(id);
+        if (indice < 0)
+            throw new IllegalArgumentException("Contrapartida de " + descricao + " não encontrada");
+        String erro = validarConta(plano, indice, null);
+        if (erro != null)
+            throw new IllegalArgumentException("Contrapartida de " + descricao + ": " + erro);
+        return indice;
+    }
+
+    // Índice da contrapartida da linha; -1 quando o código informado não existe
+    private static int resolverContrapartida(PlanoContasSnapshot plano, LinhaExtrato linha, int entrada, int saida) {
+        if (linha.getCodigoContrapartida() != null) {
+            return plano.indiceDeCodigo(linha.getCodigoContrapartida());
+        }
+        return linha.getValor() != null && linha.getValor().isPositive() ? entrada : saida;
+    }
+
+    private static String validarLinha(PlanoContasSnapshot plano, LinhaExtrato linha, int conta, int contrapartida) {
+        if (linha.getDescricao() == null || linha.getDescricao().isBlank())
+            return "Descrição obrigatória";
+        if (linha.getValor() == null || linha.getValor().isZero())
+            return "Valor deve ser diferente de zero";
+        if (linha.getValor().abs().getCentavos() >= LIMITE_CENTAVOS)
+            return "Valor excede o limite permitido";
+        if (contrapartida == conta)
+            return "Contrapartida deve ser diferente da conta do extrato";
+
+        SentidoContabil sentido = sentidoDaConta(plano, linha, conta);
+        String erro = validarConta(plano, conta, sentido);
+        if (erro != null)
+            return "Conta do extrato: " + erro;
+        erro = validarConta(plano, contrapartida, sentido == DEBITO ? CREDITO : DEBITO);
+        if (erro != null)
+            return "Contrapartida " + plano.getCodigo(contrapartida) + ": " + erro;
+        return null;
+    }
+
+    // Entrada aumenta o saldo natural da conta do extrato: débito se devedora, crédito se credora
+    private static SentidoContabil sentidoDaConta(PlanoContasSnapshot plano, LinhaExtrato linha, int conta) {
+        boolean devedora = plano.getNatureza(conta) == Natureza.DEVEDORA;
+        return linha.getValor().isPositive() == devedora ? DEBITO : CREDITO;
+    }
+
+    // Mesmas regras de LancamentoService.criarLancamento, pela fotografia do plano
+    private static String validarConta(PlanoContasSnapshot plano, int indice, SentidoContabil sentido) {
+        if (!plano.isAtiva(indice))
+            return "contas inativas não podem receber lançamentos";
+        if (!plano.isAnalitica(indice))
+            return "apenas contas analíticas podem receber lançamentos";
+        if (sentido != null && !plano.isAceitaSentido(indice, sentido))
+            return sentido == CREDITO
+                    ? "não aceita lançamentos a crédito"
+                    : "não aceita lançamentos a débito";
+        return null;
+    }
+}
@@ -1,39 +1,59 @@
 package me.josecomparotto.contabilidade_pessoal.service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.application.mapper.ContaMapper;
 import me.josecomparotto.contabilidade_pessoal.application.mapper.LancamentoMapper;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaRefDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ContaViewDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.SaldoContaDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoEditDto;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.LancamentoNewDto;
 import me.josecomparotto.contabilidade_pessoal.repository.ContaRepository;
 import me.josecomparotto.contabilidade_pessoal.repository.LancamentoRepository;
 import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.MovimentoDto;
-import me.josecomparotto.contabilidade_pessoal.model.entity.Conta;
+import me.josecomparotto.contabilidade_pessoal.model.dto.lancamento.PaginaMovimentosDto;
 import me.josecomparotto.contabilidade_pessoal.model.entity.Lancamento;
+import me.josecomparotto.contabilidade_pessoal.model.projection.MovimentoContaProjection;
+import me.josecomparotto.contabilidade_pessoal.model.projection.MovimentoDiarioProjection;
+import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil;
 import me.josecomparotto.contabilidade_pessoal.model.enums.SentidoNatural;
 import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
 
 import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.CREDITO;
 import static me.josecomparotto.contabilidade_pessoal.model.enums.SentidoContabil.DEBITO;
 import static me.josecomparotto.contabilidade_pessoal.model.enums.TipoConta.*;
 
 @Service
+@Timed(value = "contabilidade.servico.lancamentos", histogram = true)
 public class LancamentoService {
 
+    public static final int LIMITE_PADRAO_EXTRATO = 50;
+    public static final int LIMITE_MAXIMO_EXTRATO = 500;
+
+    public static final int LIMITE_PADRAO_LISTAGEM = 100;
+    public static final int LIMITE_MAXIMO_LISTAGEM = 1000;
+
+    // Limites usados quando não há filtro/cursor (mantêm as condições indexáveis)
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1900, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+
     @Autowired
     private LancamentoRepository lancamentoRepository;
 
@@ -43,125 +63,216 @@ public class LancamentoService {
     @Autowired
     private ContaService contaService;
 
-    public List<LancamentoDto> listarLancamentos() {
-        return LancamentoMapper.toDtoList(lancamentoRepository.findAll());
+    @Autowired
+    private PlanoContasCache planoContasCache;
+
+    // Página do livro, do lançamento mais recente para o mais antigo (o livro completo sai pela exportação)
+    @Transactional(readOnly = true)
+    public List<LancamentoDto> listarLancamentos(int pagina, Integer limite) {
+        if (pagina < 0)
+            throw new IllegalArgumentException("Página deve ser maior ou igual a zero");
+        int tamanho = limite == null ? LIMITE_PADRAO_LISTAGEM : Math.max(1, Math.min(limite, LIMITE_MAXIMO_LISTAGEM));
+        PageRequest pageRequest = PageRequest.of(pagina, tamanho,
+                Sort.by(Sort.Order.desc("dataCompetencia"), Sort.Order.desc("id")));
+        return LancamentoMapper.toDtoList(lancamentoRepository.findAll(pageRequest).getContent(),
+                planoContasCache.obter());
     }
 
+    @Transactional(readOnly = true)
     public LancamentoDto obterLancamentoPorId(Long id) {
         return LancamentoMapper.toDto(lancamentoRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Lançamento não encontrado")));
+                .orElseThrow(() -> new IllegalArgumentException("Lançamento não encontrado")),
+                planoContasCache.obter());
     }
 
-    public List<MovimentoDto> listarMovimentosPorConta(Integer idConta, boolean efetivo) {
+    /**
+     * Página do extrato de uma conta, paginada por cursor (data, id).
+     * <p>
+     * Efetivos são listados do mais recente para o mais antigo; previstos, do mais
+     * próximo para o mais distante (partindo do saldo efetivo atual). Os saldos
+     * acumulados e os totais diários são calculados no banco a partir do
+     * fechamento mensal anterior à página, sem ler o restante do histórico.
+     * <p>
+     * Contas sintéticas não têm lançamentos próprios: o extrato traz uma linha por
+     * dia com o movimento consolidado das inferiores (vw_movimento_diario), e o
+     * cursor usa apenas a data.
+     *
+     * @param cursorData  data do último lançamento (ou dia) da página anterior (exclusivo), ou nulo
+     * @param cursorId    id do último lançamento da página anterior, ou nulo (ignorado em sintéticas)
+     * @param dataInicial filtro opcional (inclusive)
+     * @param dataFinal   filtro opcional (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public PaginaMovimentosDto listarMovimentosPaginados(Integer idConta, boolean efetivo,
+            LocalDate dataInicial, LocalDate dataFinal, LocalDate cursorData, Long cursorId, Integer limite) {
         ContaViewDto conta = contaService.obterContaPorId(idConta);
         if (conta == null) {
             throw new IllegalArgumentException("Conta não encontrada");
         }
+        if (dataInicial != null && dataFinal != null && dataInicial.isAfter(dataFinal)) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior ou igual à data final");
+        }
 
-        List<MovimentoDto> movimentos = coletarMovimentosDaConta(idConta, efetivo);
-        Map<LocalDate, List<MovimentoDto>> movimentosPorData = agruparPorData(movimentos);
-        
-        return calcularSaldosAcumuladosEAgrupar(movimentosPorData, conta, efetivo);
-    }
+        int tamanho = limite == null ? LIMITE_PADRAO_EXTRATO : Math.max(1, Math.min(limite, LIMITE_MAXIMO_EXTRATO));
+        StatusLancamento status = efetivo ? StatusLancamento.EFETIVO : StatusLancamento.PREVISTO;
+        LocalDate inicio = dataInicial != null ? dataInicial : DATA_MINIMA;
+        LocalDate fim = dataFinal != null ? dataFinal : DATA_MAXIMA;
+
+        if (conta.getTipo() != ANALITICA) {
+            return comFiltros(listarMovimentoDiario(conta, status, inicio, fim, cursorData, tamanho),
+                    dataInicial, dataFinal, limite);
+        }
+
+        // Uma linha a mais indica se há próxima página
+        List<MovimentoContaProjection> linhas;
+        if (efetivo) {
+            linhas = lancamentoRepository.listarExtrato(idConta, status.name(), inicio, fim,
+                    cursorData != null ? cursorData : DATA_MAXIMA,
+                    cursorId != null ? cursorId : Long.MAX_VALUE,
+                    tamanho + 1, BigDecimal.ZERO, false);
+        } else {
+            // Previstos partem do saldo efetivo atual, já carregado com a conta
+            BigDecimal saldoEfetivo = saldoContabilEfetivo(conta);
+            linhas = lancamentoRepository.listarExtrato(idConta, status.name(), inicio, fim,
+                    cursorData != null ? cursorData : DATA_MINIMA,
+                    cursorId != null ? cursorId : Long.MIN_VALUE,
+                    tamanho + 1, saldoEfetivo, true);
+        }
+
+        boolean possuiMais = linhas.size() > tamanho;
+        if (possuiMais) {
+            linhas = linhas.subList(0, tamanho);
+        }
+
+        // Partida e contrapartidas vêm da fotografia do plano, sem consultar saldos
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        ContaRefDto partida = ContaMapper.toRefDto(plano, plano.indiceDe(idConta));
+
+        List<MovimentoDto> movimentos = new ArrayList<>();
+        LocalDate diaAtual = cursorData; // o dia do cursor já teve sua linha agregada na página anterior
+        for (MovimentoContaProjection linha : linhas) {
+            LocalDate data = linha.getData().toLocalDate();
+            if (!data.equals(diaAtual)) {
+                diaAtual = data;
+                Money saldoFimDia = toNatural(linha.getSaldoFimDia(), conta);
+                movimentos.add(criarMovimentoAgregado(data,
+                        saldoFimDia.minus(toNatural(linha.getTotalDia(), conta)), saldoFimDia));
+            }
+            movimentos.add(toMovimento(linha, conta, partida,
+                    ContaMapper.toRefDto(plano, plano.indiceDe(linha.getIdContaContrapartida())), status));
+        }
 
-    private List<MovimentoDto> coletarMovimentosDaConta(Integer idConta, boolean efetivo) {
-        List<Lancamento> lancamentosCredito = lancamentoRepository.findByContaCreditoId(idConta);
-        List<Lancamento> lancamentosDebito = lancamentoRepository.findByContaDebitoId(idConta);
-
-        return Stream.concat(
-                lancamentosCredito.stream().map(LancamentoMapper::toMovimentoCredito),
-                lancamentosDebito.stream().map(LancamentoMapper::toMovimentoDebito)
-        )
-        .filter(m -> efetivo ? StatusLancamento.EFETIVO.equals(m.getStatus())
-                : StatusLancamento.PREVISTO.equals(m.getStatus()))
-        .sorted(Comparator
-                .comparing(MovimentoDto::getData)
-                .thenComparing(this::compararPorNaturaEId))
-        .collect(Collectors.toList());
+        PaginaMovimentosDto pagina = new PaginaMovimentosDto();
+        pagina.setIdConta(idConta);
+        pagina.setStatus(status);
+        pagina.setMovimentos(movimentos);
+        pagina.setPossuiMais(possuiMais);
+        if (possuiMais) {
+            MovimentoContaProjection ultima = linhas.get(linhas.size() - 1);
+            pagina.setProximoCursorData(ultima.getData().toLocalDate());
+            pagina.setProximoCursorId(ultima.getIdLancamento());
+        }
+        return comFiltros(pagina, dataInicial, dataFinal, limite);
     }
 
-    private Map<LocalDate, List<MovimentoDto>> agruparPorData(List<MovimentoDto> movimentos) {
-        return movimentos.stream()
-                .collect(Collectors.groupingBy(MovimentoDto::getData, HashMap::new, Collectors.toList()));
+    // Filtros como recebidos, repassados na URL da próxima página
+    private static PaginaMovimentosDto comFiltros(PaginaMovimentosDto pagina, LocalDate dataInicial,
+            LocalDate dataFinal, Integer limite) {
+        pagina.setDataInicial(dataInicial);
+        pagina.setDataFinal(dataFinal);
+        pagina.setLimite(limite);
+        return pagina;
     }
 
-    private List<MovimentoDto> calcularSaldosAcumuladosEAgrupar(
-            Map<LocalDate, List<MovimentoDto>> movimentosPorData,
-            ContaViewDto conta,
-            boolean efetivo) {
-        
-        List<MovimentoDto> resultado = new ArrayList<>();
-        BigDecimal saldoAcumulado = efetivo ? BigDecimal.ZERO : conta.getSaldoAtual();
+    // Extrato diário de conta sintética: uma linha agregada por dia, cursor pela data
+    private PaginaMovimentosDto listarMovimentoDiario(ContaViewDto conta, StatusLancamento status,
+            LocalDate inicio, LocalDate fim, LocalDate cursorData, int tamanho) {
+        Integer idConta = conta.getId();
+
+        List<MovimentoDiarioProjection> linhas;
+        if (status == StatusLancamento.EFETIVO) {
+            linhas = lancamentoRepository.listarMovimentoDiario(idConta, status.name(), inicio, fim,
+                    cursorData != null ? cursorData : DATA_MAXIMA, tamanho + 1, BigDecimal.ZERO, false);
+        } else {
+            BigDecimal saldoEfetivo = saldoContabilEfetivo(conta);
+            linhas = lancamentoRepository.listarMovimentoDiario(idConta, status.name(), inicio, fim,
+                    cursorData != null ? cursorData : DATA_MINIMA, tamanho + 1, saldoEfetivo, true);
+        }
 
-        List<LocalDate> datasOrdenadas = movimentosPorData.keySet().stream()
-                .sorted(Comparator.naturalOrder())
-                .collect(Collectors.toList());
+        boolean possuiMais = linhas.size() > tamanho;
+        if (possuiMais) {
+            linhas = linhas.subList(0, tamanho);
+        }
 
-        for (LocalDate data : datasOrdenadas) {
-            BigDecimal saldoAnterior = saldoAcumulado;
-            
-            for (MovimentoDto movimento : movimentosPorData.get(data)) {
-                saldoAcumulado = saldoAcumulado.add(BigDecimal.valueOf(movimento.getValor()));
-                movimento.setSaldo(saldoAcumulado.doubleValue());
-                resultado.add(movimento);
-            }
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        ContaRefDto partida = ContaMapper.toRefDto(plano, plano.indiceDe(idConta));
+
+        List<MovimentoDto> movimentos = new ArrayList<>();
+        for (MovimentoDiarioProjection linha : linhas) {
+            Money saldoFimDia = toNatural(linha.getSaldoFimDia(), conta);
+            Money totalDia = toNatural(linha.getCredito(), conta).minus(toNatural(linha.getDebito(), conta));
+            MovimentoDto agregado = criarMovimentoAgregado(linha.getData().toLocalDate(),
+                    saldoFimDia.minus(totalDia), saldoFimDia);
+            agregado.setContaPartida(partida);
+            agregado.setStatus(status);
+            movimentos.add(agregado);
+        }
 
-            resultado.add(criarMovimentoAgregado(data, saldoAnterior, saldoAcumulado));
+        PaginaMovimentosDto pagina = new PaginaMovimentosDto();
+        pagina.setIdConta(idConta);
+        pagina.setStatus(status);
+        pagina.setMovimentos(movimentos);
+        pagina.setPossuiMais(possuiMais);
+        if (possuiMais) {
+            pagina.setProximoCursorData(linhas.get(linhas.size() - 1).getData().toLocalDate());
         }
+        return pagina;
+    }
 
-        ordenarResultadoFinal(resultado, efetivo);
-        return resultado;
+    private MovimentoDto toMovimento(MovimentoContaProjection linha, ContaViewDto conta,
+            ContaRefDto partida, ContaRefDto contrapartida, StatusLancamento status) {
+        Money valorNatural = toNatural(linha.getValor(), conta);
+
+        MovimentoDto dto = new MovimentoDto();
+        dto.setIdLancamento(linha.getIdLancamento());
+        dto.setDescricao(linha.getDescricao());
+        dto.setData(linha.getData().toLocalDate());
+        dto.setContaPartida(partida);
+        dto.setContaContrapartida(contrapartida);
+        dto.setSentidoContabil(SentidoContabil.valueOf(linha.getSentidoContabil()));
+        dto.setSentidoNatural(valorNatural.signum() >= 0 ? SentidoNatural.ENTRADA : SentidoNatural.SAIDA);
+        dto.setValor(valorNatural);
+        dto.setSaldo(toNatural(linha.getSaldo(), conta));
+        dto.setStatus(status);
+        return dto;
     }
 
-    private MovimentoDto criarMovimentoAgregado(LocalDate data, BigDecimal saldoAnterior, BigDecimal saldoAcumulado) {
+    // Valores das consultas nativas chegam como numeric; a aritmética segue em centavos
+    // Saldo efetivo atual da conta (com inferiores) em valor contábil, a partir do DTO
+    private static BigDecimal saldoContabilEfetivo(ContaViewDto conta) {
+        return SaldoContaDto.toContabil(conta.getSaldoAtual(), conta.getNatureza()).toBigDecimal();
+    }
+
+    private static Money toNatural(BigDecimal valorContabil, ContaViewDto conta) {
+        return SaldoContaDto.toNatural(valorContabil != null ? Money.of(valorContabil) : Money.ZERO, conta.getNatureza());
+    }
+
+    private MovimentoDto criarMovimentoAgregado(LocalDate data, Money saldoAnterior, Money saldoAcumulado) {
         MovimentoDto agregado = new MovimentoDto();
-        BigDecimal totalDia = saldoAcumulado.subtract(saldoAnterior);
+        Money totalDia = saldoAcumulado.minus(saldoAnterior);
         
         agregado.setAgregado(true);
         agregado.setData(data);
-        agregado.setValor(totalDia.doubleValue());
-        agregado.setSaldo(saldoAcumulado.doubleValue());
+        agregado.setValor(totalDia);
+        agregado.setSaldo(saldoAcumulado);
         agregado.setSentidoNatural(totalDia.signum() >= 0 ? SentidoNatural.ENTRADA : SentidoNatural.SAIDA);
         
         return agregado;
     }
 
-    private void ordenarResultadoFinal(List<MovimentoDto> movimentos, boolean efetivo) {
-        Comparator<MovimentoDto> comparador = Comparator
-                .comparing(MovimentoDto::getData, efetivo ? Comparator.reverseOrder() : Comparator.naturalOrder())
-                .thenComparing(MovimentoDto::isAgregado, Comparator.reverseOrder())
-                .thenComparing(efetivo ? this::compararPorNaturaEIdReversed : this::compararPorNaturaEId);
-        
-        movimentos.sort(comparador);
-    }
-
-    private int compararPorNaturaEId(MovimentoDto m1, MovimentoDto m2) {
-        // Lançamentos com valor positivo (ENTRADA) vêm antes dos negativos (SAIDA)
-        boolean isPositive1 = m1.getValor() >= 0;
-        boolean isPositive2 = m2.getValor() >= 0;
-        
-        if (isPositive1 != isPositive2) {
-            return Boolean.compare(isPositive2, isPositive1); // positivos primeiro
-        }
-        
-        // Se mesma natureza, ordenar por ID do lançamento
-        return m1.getIdLancamento().compareTo(m2.getIdLancamento());
-    }
-    private int compararPorNaturaEIdReversed(MovimentoDto m1, MovimentoDto m2) {
-        // Lançamentos com valor positivo (ENTRADA) vêm antes dos negativos (SAIDA)
-        boolean isPositive1 = m1.getValor() >= 0;
-        boolean isPositive2 = m2.getValor() >= 0;
-        
-        if (isPositive1 != isPositive2) {
-            return Boolean.compare(isPositive1, isPositive2); // negativos primeiro
-        }
-        
-        // Se mesma natureza, ordenar por ID do lançamento
-        return m2.getIdLancamento().compareTo(m1.getIdLancamento());
-    }
-
+    @Transactional
     public boolean deletarLancamentoPorId(Long id) {
-        Optional<Lancamento> opt = lancamentoRepository.findById(id);
+        Optional<Lancamento> opt = lancamentoRepository.findWithContasById(id);
         if (opt.isEmpty())
             return false;
         Lancamento l = opt.get();
@@ -174,12 +285,14 @@ public class LancamentoService {
         return true;
     }
 
+    @Transactional(readOnly = true)
     public List<ContaViewDto> obterContasDisponiveis() {
         return contaService.listarContasAnaliticas().stream()
                 .filter(ContaViewDto::isAtiva) // Filtra apenas contas ativas
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public LancamentoDto criarLancamento(LancamentoNewDto dto) {
 
         // Validações iniciais
@@ -193,39 +306,26 @@ public class LancamentoService {
             throw new IllegalArgumentException("Conta de destino (débito) obrigatória");
         if (dto.getContaDebitoId().equals(dto.getContaCreditoId()))
             throw new IllegalArgumentException("Conta de origem (crédito) e de destino (débito) devem ser diferentes");
-        if (dto.getValor() == null || dto.getValor() <= 0.0)
+        if (dto.getValor() == null || !dto.getValor().isPositive())
             throw new IllegalArgumentException("Valor deve ser positivo e diferente de zero");
 
-        Conta contaCredito = contaRepository.findById(dto.getContaCreditoId())
-                .orElse(null);
-        Conta contaDebito = contaRepository.findById(dto.getContaDebitoId())
-                .orElse(null);
-
-        // Validações das contas
-        if (contaCredito == null)
-            throw new IllegalArgumentException("Conta de origem (crédito) não encontrada");
-        if (contaDebito == null)
-            throw new IllegalArgumentException("Conta de destino (débito) não encontrada");
-        if (!contaCredito.isAtiva() || !contaDebito.isAtiva())
-            throw new IllegalArgumentException("Contas inativas não podem receber lançamentos");
-        if (contaCredito.getTipo() != ANALITICA || contaDebito.getTipo() != ANALITICA)
-            throw new IllegalArgumentException("Apenas contas analíticas podem receber lançamentos");
-        if (!contaCredito.getAceitaSentido(CREDITO))
-            throw new IllegalArgumentException("Conta de origem (crédito) não aceita lançamentos neste sentido");
-        if (!contaDebito.getAceitaSentido(DEBITO))
-            throw new IllegalArgumentException("Conta de destino (débito) não aceita lançamentos neste sentido");
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        validarContas(plano, dto.getContaCreditoId(), dto.getContaDebitoId());
 
-        // Mapear DTO para entidade
-        Lancamento lancamento = LancamentoMapper.fromNewDto(dto, contaCredito, contaDebito);
+        // Mapear DTO para entidade (contas por referência, sem SELECT)
+        Lancamento lancamento = LancamentoMapper.fromNewDto(dto,
+                contaRepository.getReferenceById(dto.getContaCreditoId()),
+                contaRepository.getReferenceById(dto.getContaDebitoId()));
         if (lancamento == null) {
             throw new IllegalArgumentException("Erro ao mapear DTO para entidade");
         }
 
         // Salvar entidade
         lancamentoRepository.save(lancamento);
-        return LancamentoMapper.toDto(lancamento);
+        return LancamentoMapper.toDto(lancamento, plano);
     }
 
+    @Transactional
     public void atualizarLancamento(Long id, LancamentoEditDto lancamentoDto) {
         if (lancamentoDto == null)
             throw new IllegalArgumentException("DTO não pode ser nulo");
@@ -237,43 +337,61 @@ public class LancamentoService {
             throw new IllegalArgumentException("Conta de destino (débito) obrigatória");
         if (lancamentoDto.getContaDebitoId().equals(lancamentoDto.getContaCreditoId()))
             throw new IllegalArgumentException("Conta de origem (crédito) e de destino (débito) devem ser diferentes");
-        if (lancamentoDto.getValor() == null || lancamentoDto.getValor() <= 0.0)
+        if (lancamentoDto.getValor() == null || !lancamentoDto.getValor().isPositive())
             throw new IllegalArgumentException("Valor deve ser positivo e diferente de zero");
 
+        // Contas do lançamento ficam como proxies: só os ids são lidos
         Lancamento lancamento = lancamentoRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Lançamento não encontrado"));
 
-        if (!lancamento.isEditable()) {
+        // Mesma regra de Lancamento.isEditable(), verificada na fotografia do plano
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        if (!isContaAtiva(plano, lancamento.getContaCredito().getId())
+                || !isContaAtiva(plano, lancamento.getContaDebito().getId())) {
             throw new IllegalStateException("Lançamento não pode ser editado");
         }
 
-        Conta contaCredito = contaRepository.findById(lancamentoDto.getContaCreditoId())
-                .orElse(null);
-        Conta contaDebito = contaRepository.findById(lancamentoDto.getContaDebitoId())
-                .orElse(null);
+        validarContas(plano, lancamentoDto.getContaCreditoId(), lancamentoDto.getContaDebitoId());
+
+        lancamento.setDescricao(lancamentoDto.getDescricao());
+        lancamento.setDataCompetencia(lancamentoDto.getDataCompetencia());
+        lancamento.setValor(lancamentoDto.getValor());
+        lancamento.setContaCredito(contaRepository.getReferenceById(lancamentoDto.getContaCreditoId()));
+        lancamento.setContaDebito(contaRepository.getReferenceById(lancamentoDto.getContaDebitoId()));
+        lancamento.setStatus(lancamentoDto.getStatus());
+
+        lancamentoRepository.save(lancamento);
+    }
 
-        // Validações das contas
-        if (contaCredito == null)
+    /**
+     * Regras das contas de um lançamento, verificadas na fotografia do plano
+     * (flags por índice, sem carregar entidades {@code Conta} na sessão), para
+     * responder com mensagens claras. A fotografia é local à instância e pode
+     * estar atrasada; a garantia fica com o gatilho de lançamentos no banco
+     * (V6, com a conta ativa desde V25), avaliado no commit com as contas
+     * travadas. Também usada pelas regras de recorrência
+     * ({@link RecorrenciaService}).
+     */
+    static void validarContas(PlanoContasSnapshot plano, Integer contaCreditoId, Integer contaDebitoId) {
+        int credito = plano.indiceDe(contaCreditoId);
+        int debito = plano.indiceDe(contaDebitoId);
+
+        if (credito < 0)
             throw new IllegalArgumentException("Conta de origem (crédito) não encontrada");
-        if (contaDebito == null)
+        if (debito < 0)
             throw new IllegalArgumentException("Conta de destino (débito) não encontrada");
-        if (!contaCredito.isAtiva() || !contaDebito.isAtiva())
+        if (!plano.isAtiva(credito) || !plano.isAtiva(debito))
             throw new IllegalArgumentException("Contas inativas não podem receber lançamentos");
-        if (contaCredito.getTipo() != ANALITICA || contaDebito.getTipo() != ANALITICA)
+        if (!plano.isAnalitica(credito) || !plano.isAnalitica(debito))
             throw new IllegalArgumentException("Apenas contas analíticas podem receber lançamentos");
-        if (!contaCredito.getAceitaSentido(CREDITO))
+        if (!plano.isAceitaSentido(credito, CREDITO))
             throw new IllegalArgumentException("Conta de origem (crédito) não aceita lançamentos neste sentido");
-        if (!contaDebito.getAceitaSentido(DEBITO))
+        if (!plano.isAceitaSentido(debito, DEBITO))
             throw new IllegalArgumentException("Conta de destino (débito) não aceita lançamentos neste sentido");
-
-        lancamento.setDescricao(lancamentoDto.getDescricao());
-        lancamento.setDataCompetencia(lancamentoDto.getDataCompetencia());
-        lancamento.setValor(BigDecimal.valueOf(lancamentoDto.getValor()));
-        lancamento.setContaCredito(contaCredito);
-        lancamento.setContaDebito(contaDebito);
-        lancamento.setStatus(lancamentoDto.getStatus());
-
-        lancamentoRepository.save(lancamento);
     }
 
+    private static boolean isContaAtiva(PlanoContasSnapshot plano, Integer idConta) {
+        int i = plano.indiceDe(idConta);
+        return i >= 0 && plano.isAtiva(i);
+    }
 }
@@ -0,0 +1,34 @@
+package me.josecomparotto.contabilidade_pessoal.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import me.josecomparotto.contabilidade_pessoal.model.projection.MarcaAlteracaoProjection;
+import me.josecomparotto.contabilidade_pessoal.repository.ContaRepository;
+
+/**
+ * ETag dos recursos da API, derivado das marcas de alteração de tb_contas e
+ * tb_lancamentos.
+ * <p>
+ * Contas carregam saldos (derivados dos lançamentos) e lançamentos carregam
+ * referências às contas, então as duas marcas compõem o mesmo ETag. Custa uma
+ * leitura pela chave primária, independente do tamanho das tabelas. Como os
+ * contadores são mantidos por gatilho, qualquer escrita confirmada muda o ETag,
+ * inclusive de outra instância ou direto no banco.
+ */
+@Service
+public class MarcaAlteracaoService {
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    public String obterEtag() {
+        MarcaAlteracaoProjection marca = contaRepository.obterMarcaAlteracao();
+        return "\"" + Long.toHexString(valor(marca.getContas())) + "-"
+                + Long.toHexString(valor(marca.getLancamentos())) + "\"";
+    }
+
+    private static long valor(Long marca) {
+        return marca != null ? marca : 0L;
+    }
+}
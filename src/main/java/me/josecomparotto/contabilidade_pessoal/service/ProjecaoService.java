@@ -0,0 +1,122 @@
+package me.josecomparotto.contabilidade_pessoal.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.application.mapper.ContaMapper;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.PontoProjecaoDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.ProjecaoSaldoDto;
+import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.projection.TotalDiarioProjection;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+import me.josecomparotto.contabilidade_pessoal.repository.LancamentoRepository;
+
+/**
+ * Projeção diária de saldo de uma conta (e inferiores) a partir dos
+ * lançamentos PREVISTO.
+ * <p>
+ * O banco devolve apenas os totais dos dias com movimento previsto
+ * (vw_movimento_diario, uma linha por dia); o saldo de cada dia do horizonte
+ * é a soma de prefixos desses totais sobre o saldo efetivo atual, em centavos.
+ * O custo é uma consulta agregada mais um laço linear no número de dias, sem
+ * ler lançamentos individuais.
+ */
+@Service
+@Timed(value = "contabilidade.servico.projecao", histogram = true)
+public class ProjecaoService {
+
+    public static final int DIAS_PADRAO = 90;
+    public static final int DIAS_MAXIMO = 3660;
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private SaldoService saldoService;
+
+    @Autowired
+    private PlanoContasCache planoContasCache;
+
+    /**
+     * Saldo natural ao final de cada dia, de hoje até {@code dias - 1} dias
+     * adiante. Previstos com data anterior a hoje (em atraso) entram no
+     * primeiro dia.
+     *
+     * @param dias horizonte em dias; nulo para {@link #DIAS_PADRAO}
+     */
+    @Transactional(readOnly = true)
+    public ProjecaoSaldoDto projetarSaldo(Integer idConta, Integer dias) {
+        int quantidadeDias = dias != null ? dias : DIAS_PADRAO;
+        if (quantidadeDias < 1 || quantidadeDias > DIAS_MAXIMO)
+            throw new IllegalArgumentException("Horizonte deve estar entre 1 e " + DIAS_MAXIMO + " dias");
+
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        int indice = plano.indiceDe(idConta);
+        if (indice < 0)
+            throw new IllegalArgumentException("Conta não encontrada");
+        boolean devedora = plano.getNatureza(indice) == Natureza.DEVEDORA;
+
+        LocalDate dataInicial = LocalDate.now();
+        LocalDate dataFinal = dataInicial.plusDays(quantidadeDias - 1L);
+
+        // Entradas e saídas naturais por dia do horizonte (crédito aumenta o saldo de conta credora)
+        long[] entradas = new long[quantidadeDias];
+        long[] saidas = new long[quantidadeDias];
+        for (TotalDiarioProjection total : lancamentoRepository.somarMovimentoDiario(idConta,
+                StatusLancamento.PREVISTO.name(), dataInicial, dataFinal)) {
+            int dia = (int) ChronoUnit.DAYS.between(dataInicial, total.getData().toLocalDate());
+            long credito = Money.of(total.getCredito()).getCentavos();
+            long debito = Money.of(total.getDebito()).getCentavos();
+            entradas[dia] += devedora ? debito : credito;
+            saidas[dia] += devedora ? credito : debito;
+        }
+
+        Money saldoEfetivo = saldoService.obterSaldo(idConta).getSaldoNaturalEfetivo(plano.getNatureza(indice));
+
+        ProjecaoSaldoDto projecao = new ProjecaoSaldoDto();
+        projecao.setConta(ContaMapper.toRefDto(plano, indice));
+        projecao.setDataInicial(dataInicial);
+        projecao.setDataFinal(dataFinal);
+        projecao.setSaldoEfetivo(saldoEfetivo);
+
+        List<PontoProjecaoDto> pontos = new ArrayList<>(quantidadeDias);
+        long saldo = saldoEfetivo.getCentavos();
+        long menorSaldo = Long.MAX_VALUE;
+        int diaMenorSaldo = 0;
+        int primeiroDiaNegativo = -1;
+        for (int dia = 0; dia < quantidadeDias; dia++) {
+            saldo += entradas[dia] - saidas[dia];
+            if (saldo < menorSaldo) {
+                menorSaldo = saldo;
+                diaMenorSaldo = dia;
+            }
+            if (saldo < 0 && primeiroDiaNegativo < 0) {
+                primeiroDiaNegativo = dia;
+            }
+
+            PontoProjecaoDto ponto = new PontoProjecaoDto();
+            ponto.setData(dataInicial.plusDays(dia));
+            ponto.setEntradas(Money.ofCentavos(entradas[dia]));
+            ponto.setSaidas(Money.ofCentavos(saidas[dia]));
+            ponto.setSaldo(Money.ofCentavos(saldo));
+            pontos.add(ponto);
+        }
+
+        projecao.setPontos(pontos);
+        projecao.setSaldoFinal(Money.ofCentavos(saldo));
+        projecao.setMenorSaldo(Money.ofCentavos(menorSaldo));
+        projecao.setDataMenorSaldo(dataInicial.plusDays(diaMenorSaldo));
+        projecao.setPrimeiroDiaNegativo(primeiroDiaNegativo >= 0 ? dataInicial.plusDays(primeiroDiaNegativo) : null);
+        return projecao;
+    }
+}
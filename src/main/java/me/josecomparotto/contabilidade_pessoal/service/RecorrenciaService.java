@@ -0,0 +1,170 @@
+package me.josecomparotto.contabilidade_pessoal.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.application.mapper.RecorrenciaMapper;
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaEditDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.recorrencia.RecorrenciaNewDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Recorrencia;
+import me.josecomparotto.contabilidade_pessoal.model.enums.FrequenciaRecorrencia;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+import me.josecomparotto.contabilidade_pessoal.repository.ContaRepository;
+import me.josecomparotto.contabilidade_pessoal.repository.RecorrenciaRepository;
+
+/**
+ * Regras de lançamentos recorrentes (tb_recorrencias).
+ * <p>
+ * Os lançamentos PREVISTO de cada regra são materializados no banco até o
+ * horizonte configurado ({@code app.recorrencias.horizonte-meses}), em um único
+ * INSERT ... SELECT por execução (fn_gerar_lancamentos_recorrentes, V22). A
+ * geração é idempotente: cada ocorrência tem um número único por regra, e
+ * rodar de novo só insere o que falta. Alterar uma regra refaz apenas os
+ * PREVISTO futuros dela.
+ */
+@Service
+@Timed(value = "contabilidade.servico.recorrencias", histogram = true)
+public class RecorrenciaService {
+
+    @Autowired
+    private RecorrenciaRepository recorrenciaRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private PlanoContasCache planoContasCache;
+
+    @Value("${app.recorrencias.horizonte-meses:12}")
+    private int horizonteMeses;
+
+    @Transactional(readOnly = true)
+    public List<RecorrenciaDto> listarRecorrencias() {
+        return RecorrenciaMapper.toDtoList(recorrenciaRepository.findAll(Sort.by("descricao", "id")),
+                planoContasCache.obter());
+    }
+
+    @Transactional(readOnly = true)
+    public RecorrenciaDto obterRecorrenciaPorId(Integer id) {
+        Recorrencia recorrencia = recorrenciaRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Recorrência não encontrada"));
+        return RecorrenciaMapper.toDto(recorrencia, planoContasCache.obter());
+    }
+
+    @Transactional
+    public RecorrenciaDto criarRecorrencia(RecorrenciaNewDto dto) {
+        if (dto == null)
+            throw new IllegalArgumentException("DTO não pode ser nulo");
+        validarRegra(dto.getDescricao(), dto.getValor(), dto.getContaCreditoId(), dto.getContaDebitoId(),
+                dto.getFrequencia(), dto.getIntervalo(), dto.getDia(), dto.getDataInicio(), dto.getDataFim(),
+                dto.getQuantidade());
+
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        LancamentoService.validarContas(plano, dto.getContaCreditoId(), dto.getContaDebitoId());
+
+        Recorrencia recorrencia = RecorrenciaMapper.fromNewDto(dto,
+                contaRepository.getReferenceById(dto.getContaCreditoId()),
+                contaRepository.getReferenceById(dto.getContaDebitoId()));
+        recorrenciaRepository.saveAndFlush(recorrencia);
+
+        recorrenciaRepository.regerarLancamentos(recorrencia.getId(), horizonte());
+        return RecorrenciaMapper.toDto(recorrencia, plano);
+    }
+
+    @Transactional
+    public void atualizarRecorrencia(Integer id, RecorrenciaEditDto dto) {
+        if (dto == null)
+            throw new IllegalArgumentException("DTO não pode ser nulo");
+        validarRegra(dto.getDescricao(), dto.getValor(), dto.getContaCreditoId(), dto.getContaDebitoId(),
+                dto.getFrequencia(), dto.getIntervalo(), dto.getDia(), dto.getDataInicio(), dto.getDataFim(),
+                dto.getQuantidade());
+
+        Recorrencia recorrencia = recorrenciaRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Recorrência não encontrada"));
+
+        boolean ativa = !Boolean.FALSE.equals(dto.getAtiva());
+        if (ativa) {
+            LancamentoService.validarContas(planoContasCache.obter(), dto.getContaCreditoId(),
+                    dto.getContaDebitoId());
+        }
+
+        recorrencia.setDescricao(dto.getDescricao());
+        recorrencia.setValor(dto.getValor());
+        recorrencia.setContaCredito(contaRepository.getReferenceById(dto.getContaCreditoId()));
+        recorrencia.setContaDebito(contaRepository.getReferenceById(dto.getContaDebitoId()));
+        recorrencia.setFrequencia(dto.getFrequencia());
+        recorrencia.setIntervalo(dto.getIntervalo() != null ? dto.getIntervalo() : 1);
+        recorrencia.setDia(dto.getDia());
+        recorrencia.setDataInicio(dto.getDataInicio());
+        recorrencia.setDataFim(dto.getDataFim());
+        recorrencia.setQuantidade(dto.getQuantidade());
+        recorrencia.setAtiva(ativa);
+        recorrenciaRepository.saveAndFlush(recorrencia);
+
+        // Inativa: só remove os PREVISTO futuros (a geração ignora regras inativas)
+        recorrenciaRepository.regerarLancamentos(id, horizonte());
+    }
+
+    // Avança todas as regras ativas até o horizonte (as já geradas custam só a leitura da regra)
+    @Scheduled(cron = "${app.recorrencias.cron:0 10 0 * * *}")
+    public void gerarLancamentosRecorrentes() {
+        recorrenciaRepository.gerarLancamentos(horizonte());
+    }
+
+    private LocalDate horizonte() {
+        return LocalDate.now().plusMonths(horizonteMeses);
+    }
+
+    // Mesmas regras dos CHECKs de tb_recorrencias, com mensagens para o usuário
+    private static void validarRegra(String descricao, Money valor, Integer contaCreditoId, Integer contaDebitoId,
+            FrequenciaRecorrencia frequencia, Integer intervalo, Integer dia, LocalDate dataInicio,
+            LocalDate dataFim, Integer quantidade) {
+        if (descricao == null || descricao.isBlank())
+            throw new IllegalArgumentException("Descrição obrigatória");
+        if (valor == null || !valor.isPositive())
+            throw new IllegalArgumentException("Valor deve ser positivo e diferente de zero");
+        if (contaCreditoId == null)
+            throw new IllegalArgumentException("Conta de origem (crédito) obrigatória");
+        if (contaDebitoId == null)
+            throw new IllegalArgumentException("Conta de destino (débito) obrigatória");
+        if (contaDebitoId.equals(contaCreditoId))
+            throw new IllegalArgumentException("Conta de origem (crédito) e de destino (débito) devem ser diferentes");
+        if (frequencia == null)
+            throw new IllegalArgumentException("Frequência obrigatória");
+        if (intervalo != null && intervalo < 1)
+            throw new IllegalArgumentException("Intervalo deve ser maior que zero");
+        if (dia == null)
+            throw new IllegalArgumentException("Dia obrigatório");
+        switch (frequencia) {
+            case MENSAL -> {
+                if (dia < 1 || dia > 31)
+                    throw new IllegalArgumentException("Dia do mês deve estar entre 1 e 31");
+            }
+            case SEMANAL -> {
+                if (dia < 1 || dia > 7)
+                    throw new IllegalArgumentException("Dia da semana deve estar entre 1 (segunda) e 7 (domingo)");
+            }
+            case DIA_UTIL -> {
+                if (dia < 1 || dia > 23)
+                    throw new IllegalArgumentException("Dia útil deve estar entre 1 e 23");
+            }
+        }
+        if (dataInicio == null)
+            throw new IllegalArgumentException("Data de início obrigatória");
+        if (dataFim != null && dataFim.isBefore(dataInicio))
+            throw new IllegalArgumentException("Data final anterior à data de início");
+        if (quantidade != null && quantidade < 1)
+            throw new IllegalArgumentException("Quantidade de ocorrências deve ser maior que zero");
+    }
+}
@@ -0,0 +1,289 @@
+package me.josecomparotto.contabilidade_pessoal.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasCache;
+import me.josecomparotto.contabilidade_pessoal.application.cache.PlanoContasSnapshot;
+import me.josecomparotto.contabilidade_pessoal.application.cache.RelatorioCache;
+import me.josecomparotto.contabilidade_pessoal.application.mapper.ContaMapper;
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.BalanceteDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.LinhaBalanceteDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.LinhaRelatorioDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.RelatorioDto;
+import me.josecomparotto.contabilidade_pessoal.model.dto.relatorio.SecaoRelatorioDto;
+import me.josecomparotto.contabilidade_pessoal.model.enums.Natureza;
+import me.josecomparotto.contabilidade_pessoal.model.enums.StatusLancamento;
+import me.josecomparotto.contabilidade_pessoal.model.enums.TipoRelatorio;
+import me.josecomparotto.contabilidade_pessoal.model.projection.BalanceteProjection;
+import me.josecomparotto.contabilidade_pessoal.model.projection.SaldoPeriodoProjection;
+import me.josecomparotto.contabilidade_pessoal.model.valueobject.Money;
+import me.josecomparotto.contabilidade_pessoal.repository.LancamentoRepository;
+
+/**
+ * Relatórios contábeis: DRE (receitas e despesas de um período) e balanço
+ * patrimonial (ativo, passivo e patrimônio líquido em uma data).
+ * <p>
+ * Cada relatório parte de uma única consulta agrupada por conta e status
+ * ({@link LancamentoRepository#somarPorContaEStatus}); a consolidação nas
+ * superiores é feita em memória sobre a fotografia do plano, em pré-ordem
+ * invertida (cada conta soma na superior depois de receber as inferiores).
+ * Os valores são apresentados no sentido natural da raiz: contas redutoras
+ * (ver {@code Conta.isRedutora}) aparecem negativas e reduzem o total. O
+ * resultado fica em {@link RelatorioCache} até a próxima alteração de contas
+ * ou lançamentos.
+ * <p>
+ * O balancete vem pronto do banco ({@link LancamentoRepository#somarBalancete}),
+ * já somado nas superiores; aqui apenas segue a ordem do plano.
+ */
+@Service
+@Timed(value = "contabilidade.servico.relatorios", histogram = true)
+public class RelatorioService {
+
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1900, 1, 1);
+
+    // Códigos das contas raiz criadas pelo sistema (V1)
+    private static final String CODIGO_ATIVO = "1";
+    private static final String CODIGO_PASSIVO = "2";
+    private static final String CODIGO_PATRIMONIO_LIQUIDO = "3";
+    private static final String CODIGO_RECEITAS = "4";
+    private static final String CODIGO_DESPESAS = "5";
+
+    @Autowired
+    private LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    private PlanoContasCache planoContasCache;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    @Autowired
+    private MarcaAlteracaoService marcaAlteracaoService;
+
+    @Transactional(readOnly = true)
+    public RelatorioDto gerarDre(LocalDate dataInicial, LocalDate dataFinal) {
+        if (dataInicial == null || dataFinal == null)
+            throw new IllegalArgumentException("Período obrigatório");
+        if (dataInicial.isAfter(dataFinal))
+            throw new IllegalArgumentException("Data inicial posterior à data final");
+
+        // Marca lida antes do cálculo: uma escrita confirmada durante o cálculo já eleva o
+        // contador, e a entrada gravada com a marca anterior é recalculada na próxima leitura
+        return relatorioCache.obter(TipoRelatorio.DRE, dataInicial, dataFinal, marcaAlteracaoService.obterEtag(),
+                () -> calcularDre(dataInicial, dataFinal));
+    }
+
+    @Transactional(readOnly = true)
+    public RelatorioDto gerarBalanco(LocalDate data) {
+        if (data == null)
+            throw new IllegalArgumentException("Data obrigatória");
+
+        return relatorioCache.obter(TipoRelatorio.BALANCO, null, data, marcaAlteracaoService.obterEtag(),
+                () -> calcularBalanco(data));
+    }
+
+    /**
+     * Balancete efetivo do período: saldo anterior, débitos, créditos e saldo
+     * final de cada conta com movimento até a data final, na ordem do plano.
+     */
+    @Transactional(readOnly = true)
+    public BalanceteDto gerarBalancete(LocalDate dataInicial, LocalDate dataFinal) {
+        if (dataInicial == null || dataFinal == null)
+            throw new IllegalArgumentException("Período obrigatório");
+        if (dataInicial.isAfter(dataFinal))
+            throw new IllegalArgumentException("Data inicial posterior à data final");
+
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        BalanceteProjection[] porIndice = new BalanceteProjection[plano.tamanho()];
+        BalanceteProjection total = null;
+        for (BalanceteProjection linha : lancamentoRepository.somarBalancete(dataInicial, dataFinal)) {
+            if (linha.getIdConta() == null) {
+                total = linha;
+                continue;
+            }
+            int i = plano.indiceDe(linha.getIdConta());
+            if (i >= 0) {
+                porIndice[i] = linha;
+            }
+        }
+
+        List<LinhaBalanceteDto> linhas = new ArrayList<>();
+        for (int i = 0; i < plano.tamanho(); i++) {
+            BalanceteProjection linha = porIndice[i];
+            if (linha == null) {
+                continue;
+            }
+            boolean devedora = plano.getNatureza(i) == Natureza.DEVEDORA;
+            long saldoInicial = centavos(linha.getSaldoInicial());
+            long debitos = centavos(linha.getDebitos());
+            long creditos = centavos(linha.getCreditos());
+
+            LinhaBalanceteDto dto = new LinhaBalanceteDto();
+            dto.setConta(ContaMapper.toRefDto(plano, i));
+            dto.setNivel(plano.getProfundidade(i));
+            dto.setSintetica(!plano.isAnalitica(i));
+            dto.setSaldoInicial(naturalDaRaiz(saldoInicial, devedora));
+            dto.setDebitos(Money.ofCentavos(debitos));
+            dto.setCreditos(Money.ofCentavos(creditos));
+            dto.setSaldoFinal(naturalDaRaiz(saldoInicial + creditos - debitos, devedora));
+            linhas.add(dto);
+        }
+
+        BalanceteDto balancete = new BalanceteDto();
+        balancete.setDataInicial(dataInicial);
+        balancete.setDataFinal(dataFinal);
+        balancete.setLinhas(linhas);
+        balancete.setTotalDebitos(Money.ofCentavos(total != null ? centavos(total.getDebitos()) : 0));
+        balancete.setTotalCreditos(Money.ofCentavos(total != null ? centavos(total.getCreditos()) : 0));
+        return balancete;
+    }
+
+    private RelatorioDto calcularDre(LocalDate dataInicial, LocalDate dataFinal) {
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        Saldos saldos = consolidar(plano, dataInicial, dataFinal);
+
+        RelatorioDto relatorio = new RelatorioDto();
+        relatorio.setTipo(TipoRelatorio.DRE);
+        relatorio.setDataInicial(dataInicial);
+        relatorio.setDataFinal(dataFinal);
+        relatorio.setSecoes(secoes(plano, saldos, CODIGO_RECEITAS, CODIGO_DESPESAS));
+        preencherResultado(relatorio, plano, saldos);
+        return relatorio;
+    }
+
+    private RelatorioDto calcularBalanco(LocalDate data) {
+        PlanoContasSnapshot plano = planoContasCache.obter();
+        Saldos saldos = consolidar(plano, DATA_MINIMA, data);
+
+        RelatorioDto relatorio = new RelatorioDto();
+        relatorio.setTipo(TipoRelatorio.BALANCO);
+        relatorio.setDataFinal(data);
+        List<SecaoRelatorioDto> secoes = secoes(plano, saldos, CODIGO_ATIVO, CODIGO_PASSIVO);
+        preencherResultado(relatorio, plano, saldos);
+
+        // Sem encerramento de exercício, o resultado acumulado compõe o patrimônio líquido
+        // (ativo = passivo + PL + resultado, pela partida dobrada)
+        int pl = plano.indiceDeCodigo(CODIGO_PATRIMONIO_LIQUIDO);
+        if (pl >= 0) {
+            SecaoRelatorioDto patrimonio = secao(plano, saldos, pl);
+            LinhaRelatorioDto resultado = new LinhaRelatorioDto();
+            resultado.setDescricao("Resultado acumulado");
+            resultado.setNivel(1);
+            resultado.setEfetivo(relatorio.getResultadoEfetivo());
+            resultado.setPrevisto(relatorio.getResultadoPrevisto());
+            patrimonio.getLinhas().add(resultado);
+            patrimonio.setTotalEfetivo(patrimonio.getTotalEfetivo().plus(relatorio.getResultadoEfetivo()));
+            patrimonio.setTotalPrevisto(patrimonio.getTotalPrevisto().plus(relatorio.getResultadoPrevisto()));
+            secoes.add(patrimonio);
+        }
+        relatorio.setSecoes(secoes);
+        return relatorio;
+    }
+
+    // Saldos contábeis em centavos por índice da fotografia, já somados nas superiores
+    private record Saldos(long[] efetivo, long[] previsto) {
+    }
+
+    private Saldos consolidar(PlanoContasSnapshot plano, LocalDate dataInicial, LocalDate dataFinal) {
+        int n = plano.tamanho();
+        long[] efetivo = new long[n];
+        long[] previsto = new long[n];
+        for (SaldoPeriodoProjection linha : lancamentoRepository.somarPorContaEStatus(dataInicial, dataFinal)) {
+            int i = plano.indiceDe(linha.getIdConta());
+            if (i < 0) {
+                continue; // conta criada depois da fotografia; a marca nova recalcula o relatório
+            }
+            long centavos = Money.of(linha.getSaldo()).getCentavos();
+            if (StatusLancamento.EFETIVO.name().equals(linha.getStatus())) {
+                efetivo[i] += centavos;
+            } else {
+                previsto[i] += centavos;
+            }
+        }
+
+        // Em pré-ordem a superior vem antes das inferiores: de trás para frente, cada conta
+        // já tem o total das inferiores quando é somada na sua superior
+        for (int i = n - 1; i >= 0; i--) {
+            int superior = plano.getSuperior(i);
+            if (superior >= 0) {
+                efetivo[superior] += efetivo[i];
+                previsto[superior] += previsto[i];
+            }
+        }
+        return new Saldos(efetivo, previsto);
+    }
+
+    private static List<SecaoRelatorioDto> secoes(PlanoContasSnapshot plano, Saldos saldos, String... codigosRaiz) {
+        List<SecaoRelatorioDto> secoes = new ArrayList<>();
+        for (String codigo : codigosRaiz) {
+            int raiz = plano.indiceDeCodigo(codigo);
+            if (raiz >= 0) {
+                secoes.add(secao(plano, saldos, raiz));
+            }
+        }
+        return secoes;
+    }
+
+    // A raiz e as inferiores com valor; em pré-ordem, a subárvore é contígua à raiz
+    private static SecaoRelatorioDto secao(PlanoContasSnapshot plano, Saldos saldos, int raiz) {
+        boolean devedora = plano.getNatureza(raiz) == Natureza.DEVEDORA;
+        int profundidadeRaiz = plano.getProfundidade(raiz);
+
+        List<LinhaRelatorioDto> linhas = new ArrayList<>();
+        for (int i = raiz; i < plano.tamanho() && (i == raiz || plano.getProfundidade(i) > profundidadeRaiz); i++) {
+            if (i != raiz && saldos.efetivo()[i] == 0 && saldos.previsto()[i] == 0) {
+                continue;
+            }
+            LinhaRelatorioDto linha = new LinhaRelatorioDto();
+            linha.setConta(ContaMapper.toRefDto(plano, i));
+            linha.setDescricao(plano.getDescricao(i));
+            linha.setNivel(plano.getProfundidade(i) - profundidadeRaiz);
+            linha.setSintetica(!plano.isAnalitica(i));
+            linha.setRedutora(plano.isRedutora(i));
+            linha.setEfetivo(naturalDaRaiz(saldos.efetivo()[i], devedora));
+            linha.setPrevisto(naturalDaRaiz(saldos.previsto()[i], devedora));
+            linhas.add(linha);
+        }
+
+        SecaoRelatorioDto secao = new SecaoRelatorioDto();
+        secao.setTitulo(plano.getDescricao(raiz));
+        secao.setLinhas(linhas);
+        secao.setTotalEfetivo(naturalDaRaiz(saldos.efetivo()[raiz], devedora));
+        secao.setTotalPrevisto(naturalDaRaiz(saldos.previsto()[raiz], devedora));
+        return secao;
+    }
+
+    // Receitas (credoras) menos despesas (devedoras) = soma dos saldos contábeis das duas raízes
+    private static void preencherResultado(RelatorioDto relatorio, PlanoContasSnapshot plano, Saldos saldos) {
+        long efetivo = 0;
+        long previsto = 0;
+        for (String codigo : new String[] { CODIGO_RECEITAS, CODIGO_DESPESAS }) {
+            int raiz = plano.indiceDeCodigo(codigo);
+            if (raiz >= 0) {
+                efetivo += saldos.efetivo()[raiz];
+                previsto += saldos.previsto()[raiz];
+            }
+        }
+        relatorio.setResultadoEfetivo(Money.ofCentavos(efetivo));
+        relatorio.setResultadoPrevisto(Money.ofCentavos(previsto));
+    }
+
+    // Sem movimento no período a soma chega nula (linha de total sem lançamentos)
+    private static long centavos(BigDecimal valor) {
+        return valor != null ? Money.of(valor).getCentavos() : 0;
+    }
+
+    // Mesma regra de SaldoContaDto.toNatural, aplicada com a natureza da raiz
+    // (no balancete, com a natureza da própria conta)
+    private static Money naturalDaRaiz(long centavosContabil, boolean raizDevedora) {
+        return Money.ofCentavos(raizDevedora ? -centavosContabil : centavosContabil);
+    }
+}
@@ -0,0 +1,76 @@
+package me.josecomparotto.contabilidade_pessoal.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import me.josecomparotto.contabilidade_pessoal.model.dto.conta.SaldoContaDto;
+import me.josecomparotto.contabilidade_pessoal.model.entity.Saldo;
+import me.josecomparotto.contabilidade_pessoal.repository.SaldoRepository;
+
+/**
+ * Consulta de saldos consolidados por conta, lidos de {@code vw_saldos}: os
+ * saldos próprios de {@code tb_saldos} (mantida por gatilhos a cada lançamento
+ * inserido, alterado ou excluído) somados das inferiores na leitura.
+ */
+@Service
+public class SaldoService {
+
+    @Autowired
+    private SaldoRepository saldoRepository;
+
+    // Saldos de todas as contas que possuem movimento (diretamente ou nas inferiores)
+    @Transactional(readOnly = true)
+    public Map<Integer, SaldoContaDto> obterSaldos() {
+        return agruparPorConta(saldoRepository.findAll());
+    }
+
+    // Saldos apenas das contas informadas
+    @Transactional(readOnly = true)
+    public Map<Integer, SaldoContaDto> obterSaldos(Collection<Integer> idsContas) {
+        if (idsContas == null || idsContas.isEmpty()) {
+            return Map.of();
+        }
+        return agruparPorConta(saldoRepository.findByIdContaIn(idsContas));
+    }
+
+    @Transactional(readOnly = true)
+    public SaldoContaDto obterSaldo(Integer idConta) {
+        return obterSaldos(List.of(idConta)).getOrDefault(idConta, new SaldoContaDto(idConta));
+    }
+
+    // Fechamentos de meses recém-encerrados (os retroativos são ajustados por gatilho)
+    @Scheduled(cron = "${app.saldos-mensais.cron:0 5 0 * * *}")
+    public void gerarSaldosMensais() {
+        saldoRepository.gerarSaldosMensais();
+    }
+
+    private Map<Integer, SaldoContaDto> agruparPorConta(List<Saldo> linhas) {
+        Map<Integer, SaldoContaDto> saldos = new HashMap<>();
+        for (Saldo linha : linhas) {
+            SaldoContaDto saldo = saldos.computeIfAbsent(linha.getIdConta(), SaldoContaDto::new);
+            saldo.setQuantidadeLancamentos(saldo.getQuantidadeLancamentos()
+                    + (linha.getQuantidade() != null ? linha.getQuantidade() : 0L));
+
+            switch (linha.getStatus()) {
+                // O saldo efetivo também compõe o saldo previsto
+                case EFETIVO:
+                    saldo.setSaldoContabilEfetivo(saldo.getSaldoContabilEfetivo().plus(linha.getSaldo()));
+                    saldo.setSaldoContabilPrevisto(saldo.getSaldoContabilPrevisto().plus(linha.getSaldo()));
+                    break;
+                case PREVISTO:
+                    saldo.setSaldoContabilPrevisto(saldo.getSaldoContabilPrevisto().plus(linha.getSaldo()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return saldos;
+    }
+}
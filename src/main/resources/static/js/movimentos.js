@@ -0,0 +1,26 @@
+(function(){
+  // Extrato paginado: "Carregar mais" busca as linhas da próxima página (cursor na URL do botão)
+  // e as acrescenta à tabela, trocando o botão pelo da página seguinte.
+  document.addEventListener('click', async function(e){
+    const btn = e.target.closest('.movimentos-mais button[data-url]');
+    if (!btn) return;
+    const wrap = btn.closest('.movimentos');
+    const tbody = wrap && wrap.querySelector('table tbody');
+    if (!tbody) return;
+    e.preventDefault();
+    btn.disabled = true;
+    try {
+      const resp = await fetch(btn.getAttribute('data-url'), { headers: { 'Accept': 'text/html' } });
+      if (!resp.ok) throw new Error('HTTP ' + resp.status);
+      const doc = new DOMParser().parseFromString(await resp.text(), 'text/html');
+      doc.querySelectorAll('tbody > tr').forEach(function(tr){ tbody.appendChild(document.importNode(tr, true)); });
+      const proximo = doc.querySelector('.movimentos-mais');
+      const atual = btn.closest('.movimentos-mais');
+      if (proximo) atual.replaceWith(document.importNode(proximo, true));
+      else atual.remove();
+    } catch (err) {
+      btn.disabled = false;
+      if (window.Toast) window.Toast.create('Não foi possível carregar mais lançamentos.', 'error');
+    }
+  });
+})();
@@ -33,31 +33,72 @@
     wrapper.appendChild(list);
     wrapper.appendChild(hiddenLive);
 
-    function buildOptions(filter){
+    // Remote mode (data-remote="/api/...?..."): options come from the server as the user types;
+    // the native select only keeps the chosen option, so the form still submits the value.
+    var remoteUrl = sel.dataset.remote;
+    var remoteTimer = null, remoteRequest = null;
+
+    function ensureOption(value, text){
+      for(var i=0;i<sel.options.length;i++){ if(sel.options[i].value===value) return; }
+      var o = document.createElement('option'); o.value=value; o.text=text; sel.appendChild(o);
+    }
+
+    function render(items){
       list.innerHTML='';
-      var q = (filter||'').trim().toLowerCase();
-      var count=0;
-      Array.prototype.slice.call(sel.options).forEach(function(o){
-        if(o.disabled) return; // skip placeholder
-        if(q && o.text.toLowerCase().indexOf(q)===-1) return;
+      items.forEach(function(item){
         var opt = document.createElement('div');
         opt.className='ss-option';
-        opt.textContent=o.text; opt.dataset.value=o.value;
+        opt.textContent=item.text; opt.dataset.value=item.value;
         opt.setAttribute('role','option');
-        if(sel.value===o.value) opt.classList.add('selected');
+        if(sel.value===item.value) opt.classList.add('selected');
         opt.onclick=function(){
-          sel.value=o.value; sel.dispatchEvent(new Event('change', {bubbles:true}));
-          input.value=o.text; close();
+          ensureOption(item.value, item.text);
+          sel.value=item.value; sel.dispatchEvent(new Event('change', {bubbles:true}));
+          input.value=item.text; close();
         };
-        list.appendChild(opt); count++;
+        list.appendChild(opt);
       });
+      var count = items.length;
       hiddenLive.textContent = count + ' opção' + (count!==1?'es':'');
       if(count===0){
         var empty=document.createElement('div'); empty.className='ss-empty'; empty.textContent='Nenhuma opção'; list.appendChild(empty);
       }
     }
 
-    function open(){ if(disabled) return; wrapper.classList.add('open'); buildOptions(input.value); }
+    function buildOptions(filter){
+      if(remoteUrl){
+        clearTimeout(remoteTimer);
+        remoteTimer = setTimeout(function(){ fetchOptions(filter); }, 150);
+        return;
+      }
+      var q = (filter||'').trim().toLowerCase();
+      var items = [];
+      Array.prototype.slice.call(sel.options).forEach(function(o){
+        if(o.disabled) return; // skip placeholder
+        if(q && o.text.toLowerCase().indexOf(q)===-1) return;
+        items.push({ value: o.value, text: o.text });
+      });
+      render(items);
+    }
+
+    function fetchOptions(filter){
+      if(remoteRequest) remoteRequest.abort(); // only the latest query matters
+      remoteRequest = new AbortController();
+      var url = remoteUrl + (remoteUrl.indexOf('?')===-1 ? '?' : '&') + 'q=' + encodeURIComponent((filter||'').trim());
+      fetch(url, { signal: remoteRequest.signal, headers: { 'Accept': 'application/json' } })
+        .then(function(r){ if(!r.ok) throw new Error(r.status); return r.json(); })
+        .then(function(contas){
+          render(contas.map(function(c){ return { value: String(c.id), text: c.displayText }; }));
+        })
+        .catch(function(e){ if(e.name!=='AbortError') render([]); });
+    }
+
+    function open(){
+      if(disabled) return; wrapper.classList.add('open');
+      // Remote: the current selection's label is not a query, list the first matches instead
+      var selected = sel.options[sel.selectedIndex];
+      buildOptions(remoteUrl && selected && input.value===selected.text ? '' : input.value);
+    }
     function close(){ wrapper.classList.remove('open'); }
 
     input.addEventListener('focus', open);
@@ -0,0 +1,120 @@
+package me.josecomparotto.contabilidade_pessoal.model.valueobject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MoneyTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "1234,56       | 123456",
+            "1.234,56      | 123456",
+            "1,234.56      | 123456",
+            "1.234.567     | 123456700",
+            "1.234.567,89  | 123456789",
+            "1,234,567.89  | 123456789",
+            "12.34         | 1234",
+            "12,3          | 1230",
+            "1234          | 123400",
+            ",5            | 50",
+            "R$ 1.234,56   | 123456",
+            "-10,00        | -1000",
+            "(10,00)       | -1000",
+            "R$ -1.234,56  | -123456",
+            "-0,50         | -50",
+            "0,01          | 1" })
+    void parseAceitaFormatosComuns(String texto, long centavos) {
+        assertThat(Money.parse(texto).getCentavos()).isEqualTo(centavos);
+    }
+
+    @Test
+    void parseDeVazioEhNulo() {
+        assertThat(Money.parse(null)).isNull();
+        assertThat(Money.parse("  ")).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1.234", "1,234", "-1.234" })
+    void parseRecusaSeparadorUnicoComTresDigitos(String texto) {
+        assertThatThrownBy(() -> Money.parse(texto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ambíguo");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "12-", "1-2", "--10", "-(10,00)", "(10,00", "10,00)", "1(0)", "R$ 1.234,56-" })
+    void parseAceitaSinalSomenteNoInicio(String texto) {
+        assertThatThrownBy(() -> Money.parse(texto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("inválido");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1,2345", "0.001", "1.234,567", "1,234.5678" })
+    void parseRecusaMaisDeDuasCasasDecimais(String texto) {
+        assertThatThrownBy(() -> Money.parse(texto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("casas decimais");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "abc", "1.2.3,45", "12.34.567,00", "1234.", "1,23,4", "-", "1.234,56,7" })
+    void parseRecusaValoresMalFormados(String texto) {
+        assertThatThrownBy(() -> Money.parse(texto)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "0          | 0,00",
+            "5          | 0,05",
+            "123456     | 1.234,56",
+            "100000000  | 1.000.000,00",
+            "-123456    | (1.234,56)" })
+    void formatarUsaPadraoContabil(long centavos, String esperado) {
+        assertThat(Money.ofCentavos(centavos).formatar()).isEqualTo(esperado);
+    }
+
+    @Test
+    void formatarEParseSaoInversos() {
+        for (long centavos : new long[] { 1, 99, 100, 123456, 987654321, -4200 }) {
+            Money valor = Money.ofCentavos(centavos);
+            assertThat(Money.parse(valor.formatar())).isEqualTo(valor);
+        }
+    }
+
+    @Test
+    void ofArredondaParaCentavos() {
+        assertThat(Money.of(new BigDecimal("10.005")).getCentavos()).isEqualTo(1000);
+        assertThat(Money.of(null)).isNull();
+    }
+
+    @Test
+    void ofExatoRecusaMaisDeDuasCasasDecimais() {
+        assertThat(Money.ofExato(new BigDecimal("10.5")).getCentavos()).isEqualTo(1050);
+        assertThat(Money.ofExato(new BigDecimal("10.500")).getCentavos()).isEqualTo(1050);
+        assertThat(Money.ofExato(null)).isNull();
+        assertThatThrownBy(() -> Money.ofExato(new BigDecimal("10.005")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("casas decimais");
+    }
+
+    @Test
+    void jsonRecusaMaisDeDuasCasasDecimais() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(mapper.readValue("10.05", Money.class)).isEqualTo(Money.ofCentavos(1005));
+        assertThat(mapper.writeValueAsString(Money.ofCentavos(1005))).isEqualTo("10.05");
+        assertThatThrownBy(() -> mapper.readValue("10.005", Money.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("casas decimais");
+    }
+}